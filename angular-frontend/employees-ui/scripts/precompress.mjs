@@ -0,0 +1,47 @@
+// Writes a gzip (.gz) and a brotli (.br) copy next to each compressible file of the build output,
+// so the backend serves them as they are instead of compressing on every request.
+// Usage: node scripts/precompress.mjs dist/browser  (run by npm after "build", see package.json)
+import { readdirSync, readFileSync, statSync, writeFileSync } from 'node:fs';
+import { extname, join } from 'node:path';
+import { brotliCompressSync, constants, gzipSync } from 'node:zlib';
+
+const COMPRESSIBLE = new Set(['.html', '.js', '.mjs', '.css', '.json', '.svg', '.txt', '.xml', '.ico', '.webmanifest']);
+// below that, compression saves too little to be worth a Content-Encoding (same as the backend)
+const MIN_SIZE = 1024;
+
+const root = process.argv[2] ?? 'dist/browser';
+let written = 0;
+
+function walk(dir) {
+  for (const name of readdirSync(dir)) {
+    const path = join(dir, name);
+    if (statSync(path).isDirectory()) {
+      walk(path);
+    } else if (COMPRESSIBLE.has(extname(name)) && statSync(path).size >= MIN_SIZE) {
+      compress(path);
+    }
+  }
+}
+
+function compress(path) {
+  const content = readFileSync(path);
+  const gzip = gzipSync(content, { level: 9 });
+  const brotli = brotliCompressSync(content, {
+    params: {
+      [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY,
+      [constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+    },
+  });
+  // a copy that is not smaller is not worth serving
+  if (gzip.length < content.length) {
+    writeFileSync(path + '.gz', gzip);
+    written++;
+  }
+  if (brotli.length < content.length) {
+    writeFileSync(path + '.br', brotli);
+    written++;
+  }
+}
+
+walk(root);
+console.log(`Precompressed ${written} files in ${root}`);
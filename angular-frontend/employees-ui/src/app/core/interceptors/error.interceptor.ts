@@ -3,6 +3,7 @@ import { catchError, throwError } from 'rxjs';
 import { buildProblemDetailLines, toProblemDetail } from '@shared/utils/error.util';
 import { inject } from '@angular/core';
 import { NotificationService } from '@core/services/notification.service';
+import { NOT_FOUND_EXPECTED } from '@core/services/employee-api.service';
 
 export const errorInterceptor: HttpInterceptorFn = (req, next) => {
 
@@ -19,6 +20,16 @@ export const errorInterceptor: HttpInterceptorFn = (req, next) => {
                     return throwError(() => err);
                 }
 
+                if (err.status === 304) {
+                    // Expected: a conditional GET whose cached copy is still valid (see EmployeeApiService)
+                    return throwError(() => err);
+                }
+
+                if (err.status === 404 && req.context.get(NOT_FOUND_EXPECTED)) {
+                    // Expected: an employee of the change feed deleted meanwhile (see EmployeeApiService)
+                    return throwError(() => err);
+                }
+
                 const problemDetail = toProblemDetail(err);
 
                 const wrapped = new HttpErrorResponse({
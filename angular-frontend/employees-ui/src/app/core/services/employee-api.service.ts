@@ -1,25 +1,41 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
-import { Employee } from '@shared/models/employee.model';
+import { HttpClient, HttpContext, HttpContextToken, HttpErrorResponse, HttpHeaders, HttpParams } from '@angular/common/http';
+import { catchError, from, map, mergeMap, Observable, of, throwError } from 'rxjs';
+import { Employee, EmployeeChange, EmployeePage, EmployeePageQuery, EmployeeStats } from '@shared/models/employee.model';
 import { environment } from '@env/environment';
+import { decodeCbor } from '@shared/utils/cbor.util';
+
+// Set on a request whose 404 is an expected answer, not an error to show (see errorInterceptor)
+export const NOT_FOUND_EXPECTED = new HttpContextToken<boolean>(() => false);
 
 @Injectable({ providedIn: 'root' })
 export class EmployeeApiService {
+    private static readonly MAX_VALIDATED_RESPONSES = 100;
+
     private readonly baseUrl = environment.apiBaseUrl;
 
+    // Last body received per URL with its ETag, replayed when the backend answers 304 Not Modified
+    private readonly validatedResponses = new Map<string, { etag: string; body: unknown }>();
+
     constructor(private readonly httpClient: HttpClient) {}
 
-    getAll() {
-        return this.httpClient.get<Employee[]>(
-            `${this.baseUrl}/employees`,
-            { withCredentials: true } // required in CORS mode so browser sends JSESSIONID cookie
-        );
+    getPage(query: EmployeePageQuery = {}) {
+        let params = new HttpParams();
+        if (query.after) params = params.set('after', query.after);
+        if (query.limit) params = params.set('limit', query.limit);
+        if (query.sort) params = params.set('sort', query.sort);
+        if (query.direction) params = params.set('direction', query.direction);
+        if (query.role) params = params.set('role', query.role);
+
+        return this.getConditional<EmployeePage>(`${this.baseUrl}/employees`, params);
+    }
+
+    getStats() {
+        return this.httpClient.get<EmployeeStats>(`${this.baseUrl}/employees/stats`, { withCredentials: true });
     }
 
     getById(id: number) {
-        return this.httpClient.get<Employee>(
-            `${this.baseUrl}/employees/${id}`,
-            { withCredentials: true });
+        return this.getConditional<Employee>(`${this.baseUrl}/employees/${id}`);
     }
 
     create(payload: Omit<Employee, 'id'>) {
@@ -42,4 +58,130 @@ export class EmployeeApiService {
             { withCredentials: true }
         );
     }
+
+    /**
+     * The writes of every user, pushed by the backend as server-sent events, so the list never has to be polled.
+     * EventSource reconnects by itself and the backend resumes after the last event received (Last-Event-ID).
+     * Employees written on another backend node arrive as ids only: they are fetched here, a 404 meaning deleted.
+     */
+    changes(): Observable<EmployeeChange> {
+        return new Observable<MessageEvent>(subscriber => {
+            const source = new EventSource(`${this.baseUrl}/employees/changes`, { withCredentials: true });
+            const emit = (event: Event) => subscriber.next(event as MessageEvent);
+            ['created', 'updated', 'deleted', 'stale', 'reset'].forEach(type => source.addEventListener(type, emit));
+            return () => source.close();
+        }).pipe(
+            mergeMap(event => {
+                const data = JSON.parse(event.data);
+                switch (event.type) {
+                    case 'created':
+                    case 'updated':
+                        return of<EmployeeChange>({ type: event.type as 'created' | 'updated', employee: data as Employee });
+                    case 'deleted':
+                        return of<EmployeeChange>({ type: 'deleted', id: data.id });
+                    case 'stale':
+                        return from(data.ids as number[]).pipe(mergeMap(id => this.refetch(id)));
+                    default:
+                        return of<EmployeeChange>({ type: 'reset' });
+                }
+            })
+        );
+    }
+
+    /**
+     * Applies a change to a loaded list kept in `compare` order. While more pages remain (`complete` false),
+     * an employee sorting after the last loaded row is left out: it belongs to a page not fetched yet.
+     * A 'reset' cannot be applied locally: the list is returned as is, and the caller reloads it.
+     */
+    applyChange(employees: Employee[], change: EmployeeChange,
+                compare: (a: Employee, b: Employee) => number, complete: boolean): Employee[] {
+        switch (change.type) {
+            case 'deleted':
+                return employees.filter(employee => employee.id !== change.id);
+            case 'created':
+            case 'updated': {
+                const others = employees.filter(employee => employee.id !== change.employee.id);
+                const last = others[others.length - 1];
+                if (!complete && last && compare(change.employee, last) > 0) {
+                    return others;
+                }
+                const index = others.findIndex(employee => compare(change.employee, employee) < 0);
+                return index < 0
+                    ? [...others, change.employee]
+                    : [...others.slice(0, index), change.employee, ...others.slice(index)];
+            }
+            default:
+                return employees;
+        }
+    }
+
+    // Any other failure must not end the stream: the list is reloaded instead
+    private refetch(id: number): Observable<EmployeeChange> {
+        const context = new HttpContext().set(NOT_FOUND_EXPECTED, true);
+        return this.getConditional<Employee>(`${this.baseUrl}/employees/${id}`, new HttpParams(), context).pipe(
+            map((employee): EmployeeChange => ({ type: 'updated', employee })),
+            catchError((err: unknown) => of<EmployeeChange>(err instanceof HttpErrorResponse && err.status === 404
+                ? { type: 'deleted', id }
+                : { type: 'reset' }))
+        );
+    }
+
+    /**
+     * GET sending the ETag of the last body received for this URL as If-None-Match:
+     * on 304 Not Modified that body is reused, so unchanged data never crosses the wire twice.
+     * With environment.cborPayloads, the body is asked for as CBOR, smaller and quicker to parse than JSON.
+     */
+    private getConditional<T>(url: string, params = new HttpParams(), context?: HttpContext): Observable<T> {
+        const key = params.keys().length ? `${url}?${params.toString()}` : url;
+        const validated = this.validatedResponses.get(key);
+        let headers = new HttpHeaders();
+        if (validated) headers = headers.set('If-None-Match', validated.etag);
+
+        const response$ = environment.cborPayloads
+            ? this.httpClient.get(url, {
+                params,
+                headers: headers.set('Accept', 'application/cbor, application/json;q=0.9'),
+                context,
+                observe: 'response',
+                responseType: 'arraybuffer',
+                withCredentials: true
+            }).pipe(map(response => response.clone({ body: EmployeeApiService.decode(response.headers, response.body) })))
+            : this.httpClient.get<unknown>(url, {
+                params,
+                headers,
+                context,
+                observe: 'response',
+                withCredentials: true // required in CORS mode so browser sends JSESSIONID cookie
+            });
+
+        return response$.pipe(
+            map(response => {
+                const etag = response.headers.get('ETag');
+                if (etag) {
+                    this.remember(key, etag, response.body);
+                }
+                return response.body as T;
+            }),
+            catchError((err: unknown) => err instanceof HttpErrorResponse && err.status === 304 && validated
+                ? of(validated.body as T)
+                : throwError(() => err))
+        );
+    }
+
+    // JSON when the backend sends it anyway (e.g. an older node)
+    private static decode(headers: HttpHeaders, body: ArrayBuffer | null): unknown {
+        if (!body) return body;
+        return headers.get('Content-Type')?.startsWith('application/cbor')
+            ? decodeCbor(body)
+            : JSON.parse(new TextDecoder().decode(body));
+    }
+
+    private remember(key: string, etag: string, body: unknown) {
+        this.validatedResponses.delete(key); // re-inserted last: the map iterates oldest first
+        this.validatedResponses.set(key, { etag, body });
+        if (this.validatedResponses.size > EmployeeApiService.MAX_VALIDATED_RESPONSES) {
+            const oldest = this.validatedResponses.keys().next().value as string;
+            this.validatedResponses.delete(oldest);
+        }
+    }
 }
@@ -1,4 +1,4 @@
-import { Component, inject, OnInit } from '@angular/core';
+import { Component, inject, OnDestroy, OnInit } from '@angular/core';
 import { RouterLink } from '@angular/router';
 import { EmployeeListStore } from '@features/employee/pages/list/employee-list.store';
 import { TranslatePipe } from '@ngx-translate/core';
@@ -8,6 +8,7 @@ import { MatTableModule } from '@angular/material/table';
 import { MatButtonModule } from '@angular/material/button';
 import { MatSortModule, Sort } from '@angular/material/sort';
 import { MatCard } from '@angular/material/card';
+import { EmployeeSortField } from '@shared/models/employee.model';
 
 @Component({
     selector: 'app-employees-list',
@@ -21,35 +22,34 @@ import { MatCard } from '@angular/material/card';
         MatCard
     ]
 })
-export class EmployeeListPage implements OnInit {
+export class EmployeeListPage implements OnInit, OnDestroy {
     public readonly employeeListStore = inject(EmployeeListStore);
     private readonly employeeApiService = inject(EmployeeApiService);
 
     public readonly tableColumnNames = ['id', 'firstName', 'lastName', 'role', 'actions'];
 
-    ngOnInit() { this.employeeListStore.loadAll(); }
+    ngOnInit() {
+        this.employeeListStore.followChanges(); // opened first, so no write falls between the load and the stream
+        this.employeeListStore.loadFirstPage();
+    }
 
-    applySort(sort: Sort) {
-        const data = [...this.employeeListStore.employees()];
+    ngOnDestroy() { this.employeeListStore.stopFollowingChanges(); }
 
+    applySort(sort: Sort) {
         if (!sort.active || sort.direction === '') {
+            this.employeeListStore.loadFirstPage({}); // back to the default order (by id)
             return;
         }
 
-        data.sort((rowA, rowB) => {
-            const valueA = (rowA as any)[sort.active];
-            const valueB = (rowB as any)[sort.active];
-
-            const comparison = valueA < valueB ? -1 : valueA > valueB ? 1 : 0;
-            return sort.direction === 'asc' ? comparison : -comparison;
+        // The backend sorts and paginates, so a new sort restarts from the first page
+        this.employeeListStore.loadFirstPage({
+            sort: sort.active as EmployeeSortField,
+            direction: sort.direction === 'asc' ? 'ASC' : 'DESC'
         });
-
-        // Update your signal
-        this.employeeListStore.employees.set(data);
     }
 
     async delete(id: number) {
         await firstValueFrom(this.employeeApiService.delete(id));
-        await this.employeeListStore.loadAll();
+        await this.employeeListStore.loadFirstPage();
     }
 }
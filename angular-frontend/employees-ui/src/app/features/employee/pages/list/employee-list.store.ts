@@ -1,28 +1,83 @@
 import { Injectable, signal } from '@angular/core';
-import { Employee } from '@shared/models/employee.model';
-import { firstValueFrom } from 'rxjs';
+import { Employee, EmployeeChange, EmployeePageQuery } from '@shared/models/employee.model';
+import { firstValueFrom, Subscription } from 'rxjs';
 import { EmployeeApiService } from '@core/services/employee-api.service';
 import { getProblemDetailFromError } from '@shared/utils/error.util';
 
+const PAGE_SIZE = 50;
+
 @Injectable()
 export class EmployeeListStore {
     // Signals for list local state
     public readonly employees = signal<Employee[]>([]);
+    public readonly nextCursor = signal<string | null>(null);
     public readonly loading = signal(false);
     public readonly error = signal<string | null>(null);
 
+    // Sorting is done server-side (keyset pagination), so it is part of the query
+    private sort: Pick<EmployeePageQuery, 'sort' | 'direction'> = {};
+
+    private changesSubscription: Subscription | null = null;
+
     constructor(private readonly employeeApiService: EmployeeApiService) {}
 
-    public async loadAll(): Promise<void> {
+    public async loadFirstPage(sort: Pick<EmployeePageQuery, 'sort' | 'direction'> = this.sort): Promise<void> {
+        this.sort = sort;
+        await this.loadPage(null);
+    }
+
+    public async loadNextPage(): Promise<void> {
+        const after = this.nextCursor();
+        if (after) {
+            await this.loadPage(after);
+        }
+    }
+
+    /**
+     * Keeps the loaded rows current with the writes of every user, pushed by the backend, instead of polling.
+     */
+    public followChanges(): void {
+        this.changesSubscription ??= this.employeeApiService.changes()
+            .subscribe(change => this.applyChange(change));
+    }
+
+    public stopFollowingChanges(): void {
+        this.changesSubscription?.unsubscribe();
+        this.changesSubscription = null;
+    }
+
+    private applyChange(change: EmployeeChange): void {
+        if (change.type === 'reset') {
+            this.loadFirstPage();
+            return;
+        }
+        this.employees.set(this.employeeApiService.applyChange(
+            this.employees(), change, (a, b) => this.compare(a, b), this.nextCursor() === null));
+    }
+
+    // The order of the backend's keyset pagination: the sort field, then the id
+    private compare(a: Employee, b: Employee): number {
+        const field = this.sort.sort ?? 'id';
+        const sign = this.sort.direction === 'DESC' ? -1 : 1;
+        const byField = field === 'id'
+            ? (a.id ?? 0) - (b.id ?? 0)
+            : a[field] < b[field] ? -1 : a[field] > b[field] ? 1 : 0;
+        return sign * (byField || (a.id ?? 0) - (b.id ?? 0));
+    }
+
+    private async loadPage(after: string | null): Promise<void> {
         if (this.loading()) return; // prevent overlapping calls
 
         this.loading.set(true);
         this.error.set(null);
         try {
-            const employeeList = await firstValueFrom(this.employeeApiService.getAll());
-            this.employees.set(employeeList);
+            const page = await firstValueFrom(
+                this.employeeApiService.getPage({ ...this.sort, after, limit: PAGE_SIZE })
+            );
+            this.employees.set(after ? [...this.employees(), ...page.items] : page.items);
+            this.nextCursor.set(page.nextCursor);
         } catch (err) {
-            console.error('[EmployeeListStore.loadAll]', err);
+            console.error('[EmployeeListStore.loadPage]', err);
             this.error.set(this.toMessage(err));
         } finally {
             this.loading.set(false);
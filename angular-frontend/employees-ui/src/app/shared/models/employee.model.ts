@@ -4,3 +4,32 @@ export interface Employee {
     lastName: string;
     role: string;
 }
+
+export type EmployeeSortField = 'id' | 'firstName' | 'lastName' | 'role';
+
+export interface EmployeePageQuery {
+    after?: string | null;
+    limit?: number;
+    sort?: EmployeeSortField;
+    direction?: 'ASC' | 'DESC';
+    role?: string | null;
+}
+
+// Employee counts, most common roles first
+export interface EmployeeStats {
+    total: number;
+    roles: { role: string; count: number }[];
+}
+
+// One keyset page: pass nextCursor back as `after` to get the following page (null on the last page)
+export interface EmployeePage {
+    items: Employee[];
+    nextCursor: string | null;
+    next: string | null;
+}
+
+// A committed write, from the change feed (server-sent events); 'reset' means the list must be reloaded
+export type EmployeeChange =
+    | { type: 'created' | 'updated'; employee: Employee }
+    | { type: 'deleted'; id: number }
+    | { type: 'reset' };
@@ -0,0 +1,90 @@
+// Minimal CBOR (RFC 8949) decoder for the employee payloads the backend sends as application/cbor:
+// maps (definite or indefinite length, as Jackson writes them), arrays, strings, numbers, booleans and null
+export function decodeCbor(buffer: ArrayBuffer): unknown {
+    const view = new DataView(buffer);
+    const utf8 = new TextDecoder();
+    let offset = 0;
+
+    const BREAK = Symbol('break');
+
+    function readLength(info: number): number {
+        if (info < 24) return info;
+        switch (info) {
+            case 24: return view.getUint8(offset++);
+            case 25: offset += 2; return view.getUint16(offset - 2);
+            case 26: offset += 4; return view.getUint32(offset - 4);
+            case 27: offset += 8; return Number(view.getBigUint64(offset - 8)); // ids stay below 2^53
+            case 31: return -1; // indefinite length
+            default: throw new Error(`Invalid CBOR length ${info} at ${offset}`);
+        }
+    }
+
+    function readHalf(): number {
+        const half = view.getUint16(offset);
+        offset += 2;
+        const exponent = (half >> 10) & 0x1f;
+        const fraction = half & 0x3ff;
+        const value = exponent === 0 ? fraction * 2 ** -24
+            : exponent === 31 ? (fraction ? NaN : Infinity)
+            : (1024 + fraction) * 2 ** (exponent - 25);
+        return half & 0x8000 ? -value : value;
+    }
+
+    function readString(length: number, major: number): string | Uint8Array {
+        if (length < 0) {
+            let chunks = '';
+            for (let chunk = read(); chunk !== BREAK; chunk = read()) chunks += chunk as string;
+            return chunks;
+        }
+        const bytes = new Uint8Array(buffer, offset, length);
+        offset += length;
+        return major === 3 ? utf8.decode(bytes) : bytes.slice();
+    }
+
+    function read(): unknown {
+        const initial = view.getUint8(offset++);
+        const major = initial >> 5;
+        const info = initial & 0x1f;
+        if (major === 7) {
+            switch (info) {
+                case 20: return false;
+                case 21: return true;
+                case 22:
+                case 23: return null;
+                case 25: return readHalf();
+                case 26: offset += 4; return view.getFloat32(offset - 4);
+                case 27: offset += 8; return view.getFloat64(offset - 8);
+                case 31: return BREAK;
+                default: return undefined;
+            }
+        }
+        const length = readLength(info);
+        switch (major) {
+            case 0: return length;
+            case 1: return -1 - length;
+            case 2:
+            case 3: return readString(length, major);
+            case 4: {
+                const array: unknown[] = [];
+                for (let i = 0; length < 0 || i < length; i++) {
+                    const item = read();
+                    if (item === BREAK) break;
+                    array.push(item);
+                }
+                return array;
+            }
+            case 5: {
+                const map: Record<string, unknown> = {};
+                for (let i = 0; length < 0 || i < length; i++) {
+                    const key = read();
+                    if (key === BREAK) break;
+                    map[String(key)] = read();
+                }
+                return map;
+            }
+            default: return read(); // tag: its content as is
+        }
+    }
+
+    return read();
+}
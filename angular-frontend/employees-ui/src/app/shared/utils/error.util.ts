@@ -22,7 +22,8 @@ const isProblemDetail = (value: unknown): value is ProblemDetail => {
  * Guarantees that UI components always receive a safe, predictable object.
  */
 export function toProblemDetail(err: HttpErrorResponse): ProblemDetail {
-    const raw = isProblemDetail(err.error) ? err.error : null;
+    const body = err.error instanceof ArrayBuffer ? parseJson(err.error) : err.error;
+    const raw = isProblemDetail(body) ? body : null;
 
     const fieldErrors =
         raw && typeof raw['fieldErrors'] === 'object'
@@ -44,6 +45,15 @@ export function toProblemDetail(err: HttpErrorResponse): ProblemDetail {
     };
 }
 
+// The body of a request made for binary payloads (see EmployeeApiService): errors still come as JSON
+function parseJson(buffer: ArrayBuffer): unknown {
+    try {
+        return JSON.parse(new TextDecoder().decode(buffer));
+    } catch {
+        return null;
+    }
+}
+
 export function getProblemDetailFromError(err: unknown): ProblemDetail | null {
     if (err instanceof HttpErrorResponse) {
         return err.error as ProblemDetail; // already normalized by interceptor
@@ -1,4 +1,6 @@
 export const environment = {
     production: true,
+    // employee reads as CBOR instead of JSON (see EmployeeApiService)
+    cborPayloads: false,
     apiBaseUrl: '/api'
 };
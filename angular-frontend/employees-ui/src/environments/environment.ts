@@ -1,4 +1,6 @@
 export const environment = {
     production: false,
+    // employee reads as CBOR instead of JSON (see EmployeeApiService)
+    cborPayloads: false,
     apiBaseUrl: 'http://localhost:8090/api'  // direct backend (triggers CORS)
 };
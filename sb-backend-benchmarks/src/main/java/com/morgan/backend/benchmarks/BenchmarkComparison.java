@@ -0,0 +1,80 @@
+package com.morgan.backend.benchmarks;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two reports written by {@link BenchmarkRunner}, e.g. before and after a change:
+ * <pre>java -cp ... com.morgan.backend.benchmarks.BenchmarkComparison jmh-results/1a2b3c4.json jmh-results/5d6e7f8.json</pre>
+ * For each benchmark and parameter set found in both: the score and the bytes allocated per operation
+ * ({@code gc.alloc.rate.norm}), then the change in percent. Differences within the score errors are noise.
+ */
+public final class BenchmarkComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private BenchmarkComparison() {
+    }
+
+    record Measure(double score, double error, String unit, double allocatedBytes) {}
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkComparison <before.json> <after.json>");
+            System.exit(2);
+        }
+        Map<String, Measure> before = read(Path.of(args[0]));
+        Map<String, Measure> after = read(Path.of(args[1]));
+
+        System.out.printf("%-70s %24s %24s %9s %14s %14s %9s%n",
+            "Benchmark", "Before", "After", "Change", "Before B/op", "After B/op", "Change");
+        before.forEach((name, old) -> {
+            Measure current = after.get(name);
+            if (current != null) {
+                System.out.printf("%-70s %24s %24s %8.1f%% %14.0f %14.0f %8.1f%%%n",
+                    name,
+                    "%.3f +- %.3f %s".formatted(old.score(), old.error(), old.unit()),
+                    "%.3f +- %.3f %s".formatted(current.score(), current.error(), current.unit()),
+                    change(old.score(), current.score()),
+                    old.allocatedBytes(), current.allocatedBytes(),
+                    change(old.allocatedBytes(), current.allocatedBytes()));
+            }
+        });
+    }
+
+    // benchmark[param=value,...] -> measure
+    private static Map<String, Measure> read(Path report) {
+        Map<String, Measure> measures = new LinkedHashMap<>();
+        for (JsonNode run : JsonMapper.builder().build().readTree(report.toFile())) {
+            StringBuilder name = new StringBuilder(run.get("benchmark").asString()
+                .replace("com.morgan.backend.benchmarks.", ""));
+            JsonNode params = run.get("params");
+            if (params != null) {
+                name.append(params.properties().stream()
+                    .map(param -> param.getKey() + "=" + param.getValue().asString())
+                    .toList());
+            }
+            JsonNode primary = run.get("primaryMetric");
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION);
+            measures.put(name.toString(), new Measure(
+                number(primary.get("score")),
+                number(primary.get("scoreError")),
+                primary.get("scoreUnit").asString(),
+                allocation.isMissingNode() ? Double.NaN : number(allocation.get("score"))));
+        }
+        return measures;
+    }
+
+    // JMH writes "NaN" as a string, e.g. the error of a single iteration
+    private static double number(JsonNode node) {
+        return node.isNumber() ? node.asDouble() : Double.parseDouble(node.asString());
+    }
+
+    private static double change(double before, double after) {
+        return (after - before) / before * 100;
+    }
+}
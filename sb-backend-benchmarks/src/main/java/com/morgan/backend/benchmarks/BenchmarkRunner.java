@@ -0,0 +1,78 @@
+package com.morgan.backend.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the benchmarks selected by the JMH command line in {@code args} (all of them by default), always with
+ * the allocation profiler ({@code -prof gc}), and writes the results to {@code jmh-results/<git commit>.json}
+ * (outside of target, so that a clean build keeps them):
+ * one report per commit, to compare with {@link BenchmarkComparison}. A working tree with uncommitted changes
+ * gets {@code <commit>-dirty.json}.
+ * <p>The measurement JVMs get the options of the {@code jmh.jvm.args} system property, unless {@code -jvmArgs} is given;
+ * {@code compare <before.json> <after.json>} runs {@link BenchmarkComparison} instead.</p>
+ */
+public final class BenchmarkRunner {
+
+    static final Path RESULTS_DIR = Path.of("jmh-results");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("compare")) {
+            BenchmarkComparison.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        Files.createDirectories(RESULTS_DIR);
+        Path result = RESULTS_DIR.resolve(revision() + ".json");
+
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .parent(commandLine)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(result.toString());
+        String jvmArgs = System.getProperty("jmh.jvm.args", "").trim();
+        if (!commandLine.getJvmArgs().hasValue() && !jvmArgs.isEmpty()) {
+            options.jvmArgs(jvmArgs.split("\\s+"));
+        }
+        new Runner(options.build()).run();
+        System.out.println("Results written to " + result.toAbsolutePath());
+    }
+
+    // short hash of HEAD, or "local" outside of a git checkout
+    private static String revision() throws InterruptedException {
+        try {
+            String commit = git("rev-parse", "--short", "HEAD");
+            if (commit.isEmpty()) {
+                return "local";
+            }
+            return git("status", "--porcelain", "--untracked-files=no").isEmpty() ? commit : commit + "-dirty";
+        } catch (IOException ex) {
+            return "local";
+        }
+    }
+
+    private static String git(String... args) throws IOException, InterruptedException {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes()).trim();
+        if (!process.waitFor(10, TimeUnit.SECONDS) || process.exitValue() != 0) {
+            return "";
+        }
+        return output;
+    }
+}
@@ -0,0 +1,47 @@
+package com.morgan.backend.benchmarks;
+
+import com.morgan.backend.dtos.EmployeeDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of DTO lists to bytes, as ResponseEncoder does for JSON on a cache miss:
+ * a default page (50), the largest page allowed (500) and a big export-sized list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJsonBenchmark {
+
+    @Param({"50", "500", "100000"})
+    int size;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private List<EmployeeDto> dtos;
+
+    @Setup
+    public void setUp() {
+        dtos = Employees.dtos(size);
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() {
+        return jsonMapper.writeValueAsBytes(dtos);
+    }
+}
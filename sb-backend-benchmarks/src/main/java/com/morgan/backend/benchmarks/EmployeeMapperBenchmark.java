@@ -0,0 +1,48 @@
+package com.morgan.backend.benchmarks;
+
+import com.morgan.backend.dtos.EmployeeDto;
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.mappers.EmployeeMapper;
+import com.morgan.backend.mappers.EmployeeMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping of a whole list, as done for every uncached page and export.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeMapperBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private final EmployeeMapper employeeMapper = new EmployeeMapperImpl();
+    private List<Employee> employees;
+
+    @Setup
+    public void setUp() {
+        employees = Employees.entities(size);
+    }
+
+    @Benchmark
+    public List<EmployeeDto> toDtoList() {
+        return employeeMapper.toDtoList(employees);
+    }
+}
@@ -0,0 +1,69 @@
+package com.morgan.backend.benchmarks;
+
+import com.morgan.backend.dtos.EmployeePageDto;
+import com.morgan.backend.encoding.ContentCoding;
+import com.morgan.backend.encoding.EncodedResponse;
+import com.morgan.backend.encoding.PayloadFormat;
+import com.morgan.backend.encoding.ResponseCompressor;
+import com.morgan.backend.encoding.ResponseEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of an employee page as ResponseEncoder does on a cache miss, in each format and coding:
+ * the time is that of a miss, the bytes per employee (printed at the end of each run) what a client downloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeePayloadBenchmark {
+
+    @Param({"50", "500"})
+    int size;
+
+    @Param({"JSON", "CBOR", "SMILE", "PROTOBUF"})
+    PayloadFormat format;
+
+    @Param({"IDENTITY", "GZIP", "ZSTD"})
+    ContentCoding coding;
+
+    // no threshold: every size is compressed, to compare
+    private final ResponseEncoder responseEncoder = new ResponseEncoder(JsonMapper.builder().build(), new ResponseCompressor(0, 6, 3, 4));
+    private EmployeePageDto page;
+    private int encodedSize;
+
+    @Setup
+    public void setUp() {
+        page = new EmployeePageDto(Employees.dtos(size), "cursor", "http://localhost:8090/api/employees?after=cursor");
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        // a new response each time, as the cached one would only be encoded once
+        byte[] body = responseEncoder.encode(new EncodedResponse("\"1\"", page), format, coding).body();
+        encodedSize = body.length;
+        return body;
+    }
+
+    @TearDown
+    public void printSize() {
+        System.out.printf("%n%s %s, %d employees: %d bytes, %.1f bytes per employee%n",
+            format, coding, size, encodedSize, (double) encodedSize / size);
+    }
+}
@@ -0,0 +1,128 @@
+package com.morgan.backend.benchmarks;
+
+import com.morgan.backend.SbBackendApplication;
+import com.morgan.backend.repositories.EmployeeRepository.EmployeeView;
+import com.morgan.backend.services.EmployeeService;
+import com.morgan.backend.services.EmployeeService.EmployeePage;
+import com.morgan.backend.services.EmployeeService.PageQuery;
+import com.morgan.backend.services.EmployeeService.SortField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static com.morgan.backend.services.EmployeeService.CACHE_EMPLOYEES_BY_ID;
+import static com.morgan.backend.services.EmployeeService.CACHE_EMPLOYEES_PAGES;
+import static com.morgan.backend.services.EmployeeService.DEFAULT_PAGE_SIZE;
+
+/**
+ * EmployeeService reads through the whole application (Spring proxies, Caffeine, Hibernate) against an in-memory H2
+ * holding {@value #EMPLOYEES} employees: each read served by its cache (cycling through {@value #HOT_EMPLOYEES} of them),
+ * and the same read with its entry evicted first, so it reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    static final int EMPLOYEES = 10_000;
+    // read by the cached benchmarks: well within the caches' maximumSize (see application.yml)
+    static final int HOT_EMPLOYEES = 500;
+
+    private static final PageQuery FIRST_PAGE =
+        new PageQuery(SortField.LAST_NAME, Sort.Direction.ASC, null, DEFAULT_PAGE_SIZE);
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private Cache employeesById;
+    private Cache employeesPages;
+    private long firstId;
+    private long nextId;
+    private long nextHotId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SbBackendApplication.class)
+            .profiles("test")
+            // as arguments, to take precedence over application.yml; logging each DB hit would be measured too
+            .run("--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                "--server.port=0",
+                "--management.server.port=0",
+                "--logging-level.root=WARN",
+                "--logging-level.cache=WARN",
+                "--logging-level.sql=WARN",
+                "--logging.level.com.morgan.backend=WARN");
+        employeeService = context.getBean(EmployeeService.class);
+        CacheManager cacheManager = context.getBean(CacheManager.class);
+        employeesById = Objects.requireNonNull(cacheManager.getCache(CACHE_EMPLOYEES_BY_ID));
+        employeesPages = Objects.requireNonNull(cacheManager.getCache(CACHE_EMPLOYEES_PAGES));
+
+        employeeService.createAll(Employees.newEntities(EMPLOYEES));
+        firstId = employeeService.findPage(new PageQuery(SortField.ID, Sort.Direction.ASC, null, 1))
+            .employees().getFirst().id();
+        nextId = firstId;
+        nextHotId = firstId;
+        for (int i = 0; i < HOT_EMPLOYEES; i++) {
+            employeeService.findById(nextHotId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // cycles through every employee, so the uncached reads are not all served by the same DB pages
+    private long nextId() {
+        long id = nextId;
+        nextId = id + 1 < firstId + EMPLOYEES ? id + 1 : firstId;
+        return id;
+    }
+
+    private long nextHotId() {
+        long id = nextHotId;
+        nextHotId = id + 1 < firstId + HOT_EMPLOYEES ? id + 1 : firstId;
+        return id;
+    }
+
+    @Benchmark
+    public EmployeeView findByIdCached() {
+        return employeeService.findById(nextHotId());
+    }
+
+    @Benchmark
+    public EmployeeView findByIdUncached() {
+        long id = nextId();
+        employeesById.evict(id);
+        return employeeService.findById(id);
+    }
+
+    @Benchmark
+    public EmployeePage findPageCached() {
+        return employeeService.findPage(FIRST_PAGE);
+    }
+
+    @Benchmark
+    public EmployeePage findPageUncached() {
+        employeesPages.clear();
+        return employeeService.findPage(FIRST_PAGE);
+    }
+}
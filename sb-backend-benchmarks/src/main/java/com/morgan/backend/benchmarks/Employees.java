@@ -0,0 +1,50 @@
+package com.morgan.backend.benchmarks;
+
+import com.morgan.backend.dtos.EmployeeDto;
+import com.morgan.backend.entities.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Made-up employees, the same for every run so that the results compare.
+ */
+final class Employees {
+
+    private static final String[] FIRST_NAMES = {"Morgan", "Alex", "Emily", "Sarah", "Michael", "Laura", "Jean", "Zoé"};
+    private static final String[] LAST_NAMES = {"Shirley", "Martin", "Carter", "Thompson", "Reed", "Bennett", "Dupont"};
+    private static final String[] ROLES = {"Backend developer", "Frontend developer", "Business analyst", "Product owner"};
+
+    private Employees() {
+    }
+
+    // without ids: to be saved
+    static List<Employee> newEntities(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(new Employee(
+                FIRST_NAMES[i % FIRST_NAMES.length],
+                LAST_NAMES[i % LAST_NAMES.length] + i,
+                ROLES[i % ROLES.length]));
+        }
+        return employees;
+    }
+
+    // as loaded from the database
+    static List<Employee> entities(int count) {
+        List<Employee> employees = newEntities(count);
+        for (int i = 0; i < count; i++) {
+            employees.get(i).setId(i + 1L);
+            employees.get(i).setVersion(0L);
+        }
+        return employees;
+    }
+
+    static List<EmployeeDto> dtos(int count) {
+        List<EmployeeDto> dtos = new ArrayList<>(count);
+        for (Employee employee : entities(count)) {
+            dtos.add(new EmployeeDto(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getRole()));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,114 @@
+package com.morgan.backend.benchmarks;
+
+import com.morgan.backend.cache.StaticAssetCache;
+import com.morgan.backend.filters.CsrfCookieFilter;
+import com.morgan.backend.filters.MdcRequestIdFilter;
+import com.morgan.backend.filters.RequestTimingFilter;
+import com.morgan.backend.filters.StaticAssetFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The servlet filters every request goes through, outside of Spring Security's own: in their application order,
+ * around a servlet doing nothing. An API call goes through all of them; the frontend's files and SPA routes
+ * (formerly forwarded by SpaForwardFilter) are answered by StaticAssetFilter.
+ * The mock request and response are built in each invocation: their cost is part of every score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterChainBenchmark {
+
+    private static final HttpServlet NO_OP = new HttpServlet() {};
+
+    private Path assetsDir;
+    private List<Filter> filters;
+
+    @Setup
+    public void setUp() throws IOException {
+        assetsDir = Files.createTempDirectory("benchmark-assets");
+        Files.writeString(assetsDir.resolve("index.html"),
+            "<!doctype html><html><body><app-root></app-root><script src=\"main-ABCD2345.js\"></script></body></html>");
+        byte[] bundle = "console.log('employees');\n".repeat(8_000).getBytes();
+        Files.write(assetsDir.resolve("main-ABCD2345.js"), bundle);
+        Files.write(assetsDir.resolve("main-ABCD2345.js.gz"), gzip(bundle));
+
+        StaticAssetCache staticAssetCache = new StaticAssetCache(new PathMatchingResourcePatternResolver(),
+            List.of(assetsDir.toUri().toString()));
+        filters = List.of(
+            new RequestTimingFilter(new SimpleMeterRegistry(), false),
+            new StaticAssetFilter(staticAssetCache),
+            new CsrfCookieFilter(),
+            new MdcRequestIdFilter(() -> UUID.randomUUID().toString()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(assetsDir);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse apiCall() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.setAttribute(CsrfToken.class.getName(), new DefaultCsrfToken("X-XSRF-TOKEN", "_csrf", "token"));
+        return serve(request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse spaRoute() throws Exception {
+        return serve(new MockHttpServletRequest("GET", "/employees/123"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse hashedBundleGzipped() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/main-ABCD2345.js");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        return serve(request);
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(NO_OP, filters.toArray(Filter[]::new)).doFilter(request, response);
+        return response;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(content);
+        }
+        return gzip.toByteArray();
+    }
+}
@@ -0,0 +1,88 @@
+package com.morgan.backend.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * One user of the API, as the Angular client behaves: its own cookies (JSESSIONID, XSRF-TOKEN),
+ * and the XSRF-TOKEN cookie sent back in the X-XSRF-TOKEN header of every write.
+ */
+class ApiSession implements AutoCloseable {
+
+    static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final URI baseUri;
+    private final CookieManager cookies = new CookieManager();
+    private final HttpClient client;
+
+    ApiSession(URI baseUri) {
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1) // what Tomcat serves without TLS
+            .cookieHandler(cookies)
+            .connectTimeout(TIMEOUT)
+            .build();
+    }
+
+    HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return send(request(path).GET());
+    }
+
+    HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        return send(write(path).POST(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    HttpResponse<String> put(String path, String json) throws IOException, InterruptedException {
+        return send(write(path).PUT(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    HttpResponse<String> delete(String path) throws IOException, InterruptedException {
+        return send(write(path).DELETE());
+    }
+
+    /**
+     * Logs in, then fetches the CSRF token, as the Angular client does after its login.
+     */
+    void logIn(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> login = post("/api/auth/login", loginJson(username, password));
+        HttpResponse<String> csrf = get("/api/auth/csrf");
+        if (login.statusCode() != 200 || csrf.statusCode() != 200) {
+            throw new IllegalStateException("Cannot log in as " + username + ": " + login.statusCode() + "/" + csrf.statusCode());
+        }
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    static String loginJson(String username, String password) {
+        return "{\"username\":\"%s\",\"password\":\"%s\"}".formatted(username, password);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+            .timeout(TIMEOUT)
+            .header("Accept", "application/json");
+    }
+
+    private HttpRequest.Builder write(String path) {
+        HttpRequest.Builder request = request(path).header("Content-Type", "application/json");
+        cookies.getCookieStore().getCookies().stream()
+            .filter(cookie -> cookie.getName().equals("XSRF-TOKEN"))
+            .map(HttpCookie::getValue)
+            .findFirst()
+            .ifPresent(token -> request.header("X-XSRF-TOKEN", token));
+        return request;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
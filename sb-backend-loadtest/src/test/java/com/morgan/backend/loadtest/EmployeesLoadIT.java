@@ -0,0 +1,191 @@
+package com.morgan.backend.loadtest;
+
+import com.morgan.backend.SbBackendApplication;
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.loadtest.OpenModelLoadGenerator.Scenario;
+import com.morgan.backend.services.EmployeeService;
+import com.morgan.backend.services.EmployeeService.BatchItemResult;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.morgan.backend.services.EmployeeService.MAX_BATCH_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays the workload of loadtest.properties against the real application (Tomcat, Spring Security,
+ * caches, Hibernate, H2) and fails when an SLO is missed. See sb-backend-loadtest/pom.xml to run it.
+ */
+class EmployeesLoadIT {
+
+    private static final String[][] USERS = {{"Morgan", "pwd1"}, {"Mark", "pwd2"}};
+
+    static ConfigurableApplicationContext context;
+    static URI baseUri;
+    static List<Long> employeeIds;
+
+    final LoadTestSettings settings = LoadTestSettings.load();
+    final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @BeforeAll
+    static void startApplication() {
+        context = new SpringApplicationBuilder(SbBackendApplication.class)
+            .profiles("test")
+            // as arguments, to take precedence over application.yml; per-request logs as in production
+            .run("--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--server.port=0",
+                "--management.server.port=0",
+                "--logging-level.root=WARN",
+                "--logging-level.cache=WARN",
+                "--logging-level.sql=WARN");
+        baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        context.close();
+    }
+
+    @Test
+    void testWorkload_meetsTheSlos() throws Exception {
+        // Given
+        employeeIds = seed(settings.seedEmployees());
+        // platform threads: virtual ones would compete for the carriers of the server's virtual threads
+        try (ExecutorService executor = Executors.newCachedThreadPool()) {
+            List<ApiSession> sessions = logIn(settings.sessions());
+            long startAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+            long measuredFrom = startAt + settings.warmup().toNanos();
+            long endAt = measuredFrom + settings.duration().toNanos();
+            LatencyRecorder recorder = new LatencyRecorder(measuredFrom, endAt);
+            AtomicInteger turn = new AtomicInteger();
+
+            // When
+            new OpenModelLoadGenerator(executor).run(List.of(
+                new Scenario("list", settings.rate("list"), dueAt ->
+                    list(next(sessions, turn), recorder, dueAt)),
+                new Scenario("get-by-id", settings.rate("get-by-id"), dueAt ->
+                    getById(next(sessions, turn), recorder, dueAt)),
+                new Scenario("edit", settings.rate("edit"), dueAt ->
+                    edit(next(sessions, turn), recorder, dueAt)),
+                new Scenario("login", settings.rate("login"), dueAt ->
+                    login(recorder, dueAt))
+            ), startAt, endAt);
+            executor.shutdown();
+            assertThat(executor.awaitTermination(ApiSession.TIMEOUT.toSeconds() * 3, TimeUnit.SECONDS)).isTrue();
+            sessions.forEach(ApiSession::close);
+
+            // Then
+            LoadReport report = LoadReport.of(recorder, settings);
+            System.out.println(report.text());
+            Path reportFile = Path.of("target", "loadtest-report.txt");
+            Files.createDirectories(reportFile.getParent());
+            Files.writeString(reportFile, report.text() + String.join(System.lineSeparator(), report.violations()));
+            assertThat(report.violations()).as(report.text()).isEmpty();
+        }
+    }
+
+    private void list(ApiSession session, LatencyRecorder recorder, long dueAt) {
+        String sort = ThreadLocalRandom.current().nextBoolean() ? "lastName" : "firstName";
+        call(recorder, "list", dueAt, () -> session.get("/api/employees?sort=" + sort + "&limit=50"));
+    }
+
+    private void getById(ApiSession session, LatencyRecorder recorder, long dueAt) {
+        Long id = employeeIds.get(ThreadLocalRandom.current().nextInt(employeeIds.size()));
+        call(recorder, "get-by-id", dueAt, () -> session.get("/api/employees/" + id));
+    }
+
+    // each step is due when the previous one answered
+    private void edit(ApiSession session, LatencyRecorder recorder, long dueAt) {
+        HttpResponse<String> created = call(recorder, "create", dueAt, () ->
+            session.post("/api/employees", employeeJson(null, "Load", "Test", "Tester")));
+        if (created == null) {
+            return;
+        }
+        long id = jsonMapper.readTree(created.body()).get("id").asLong();
+        HttpResponse<String> updated = call(recorder, "update", System.nanoTime(), () ->
+            session.put("/api/employees/" + id, employeeJson(id, "Load", "Tested", "Tester")));
+        if (updated != null) {
+            call(recorder, "delete", System.nanoTime(), () -> session.delete("/api/employees/" + id));
+        }
+    }
+
+    // a new user each time, with no cookies yet
+    private void login(LatencyRecorder recorder, long dueAt) {
+        String[] user = USERS[ThreadLocalRandom.current().nextInt(USERS.length)];
+        try (ApiSession session = new ApiSession(baseUri)) {
+            if (call(recorder, "login", dueAt, () -> session.post("/api/auth/login", ApiSession.loginJson(user[0], user[1]))) != null) {
+                call(recorder, "csrf", System.nanoTime(), () -> session.get("/api/auth/csrf"));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        HttpResponse<String> send() throws IOException, InterruptedException;
+    }
+
+    // the response, or null when the call failed
+    private static HttpResponse<String> call(LatencyRecorder recorder, String operation, long dueAt, Call call) {
+        long sentAt = System.nanoTime();
+        try {
+            HttpResponse<String> response = call.send();
+            if (response.statusCode() >= 400) {
+                recorder.error(operation, dueAt);
+                return null;
+            }
+            recorder.success(operation, dueAt, sentAt, System.nanoTime());
+            return response;
+        } catch (IOException | InterruptedException ex) {
+            recorder.error(operation, dueAt);
+            return null;
+        }
+    }
+
+    private static String employeeJson(Long id, String firstName, String lastName, String role) {
+        return "{\"id\":%s,\"firstName\":\"%s\",\"lastName\":\"%s\",\"role\":\"%s\"}".formatted(id, firstName, lastName, role);
+    }
+
+    private static ApiSession next(List<ApiSession> sessions, AtomicInteger turn) {
+        return sessions.get(Math.floorMod(turn.getAndIncrement(), sessions.size()));
+    }
+
+    private static List<Long> seed(int count) {
+        EmployeeService employeeService = context.getBean(EmployeeService.class);
+        String[] roles = {"Backend developer", "Frontend developer", "Business analyst", "Product owner"};
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += MAX_BATCH_SIZE) {
+            List<Employee> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(count, from + MAX_BATCH_SIZE); i++) {
+                batch.add(new Employee("First" + i, "Last" + i, roles[i % roles.length]));
+            }
+            employeeService.createAll(batch).stream().map(BatchItemResult::id).forEach(ids::add);
+        }
+        return ids;
+    }
+
+    private static List<ApiSession> logIn(int count) throws IOException, InterruptedException {
+        List<ApiSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ApiSession session = new ApiSession(baseUri);
+            session.logIn(USERS[i % USERS.length][0], USERS[i % USERS.length][1]);
+            sessions.add(session);
+        }
+        return sessions;
+    }
+}
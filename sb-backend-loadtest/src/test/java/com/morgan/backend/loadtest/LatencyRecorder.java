@@ -0,0 +1,87 @@
+package com.morgan.backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of every operation (login, list, create...), each in two histograms:
+ * <ul>
+ *   <li>response time: from when the request was due by the arrival schedule to its response. A server that stalls
+ *   also delays the requests queued behind it, and this is the time their users wait: the coordinated omission
+ *   corrected latency, the one the SLOs are about.</li>
+ *   <li>service time: from when the request was actually sent. It hides the queueing, and is kept to show how much
+ *   of the response time that is.</li>
+ * </ul>
+ * Only the operations due within the measured window are recorded: the warmup is left out.
+ */
+class LatencyRecorder {
+
+    private static final long MAX_LATENCY = TimeUnit.MINUTES.toNanos(1);
+
+    private final long measuredFrom;
+    private final long measuredUntil;
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    static final class Operation {
+        final Histogram responseTimes = new ConcurrentHistogram(MAX_LATENCY, 3);
+        final Histogram serviceTimes = new ConcurrentHistogram(MAX_LATENCY, 3);
+        final LongAdder errors = new LongAdder();
+
+        long count() {
+            return responseTimes.getTotalCount() + errors.sum();
+        }
+
+        Duration responseTimeAt(double percentile) {
+            return Duration.ofNanos(responseTimes.getValueAtPercentile(percentile));
+        }
+
+        Duration serviceTimeAt(double percentile) {
+            return Duration.ofNanos(serviceTimes.getValueAtPercentile(percentile));
+        }
+    }
+
+    /**
+     * @param measuredFrom  {@link System#nanoTime()} from which the operations due are recorded (end of the warmup)
+     * @param measuredUntil {@code System.nanoTime()} from which they are not anymore
+     */
+    LatencyRecorder(long measuredFrom, long measuredUntil) {
+        this.measuredFrom = measuredFrom;
+        this.measuredUntil = measuredUntil;
+    }
+
+    /**
+     * @param dueAt  when the operation was due by the arrival schedule
+     * @param sentAt when its request was actually sent, {@code dueAt} or later
+     */
+    void success(String operation, long dueAt, long sentAt, long receivedAt) {
+        if (measured(dueAt)) {
+            Operation stats = operation(operation);
+            stats.responseTimes.recordValue(Math.min(receivedAt - dueAt, MAX_LATENCY));
+            stats.serviceTimes.recordValue(Math.min(receivedAt - sentAt, MAX_LATENCY));
+        }
+    }
+
+    void error(String operation, long dueAt) {
+        if (measured(dueAt)) {
+            operation(operation).errors.increment();
+        }
+    }
+
+    Map<String, Operation> operations() {
+        return operations;
+    }
+
+    private boolean measured(long dueAt) {
+        return dueAt - measuredFrom >= 0 && dueAt - measuredUntil < 0;
+    }
+
+    private Operation operation(String name) {
+        return operations.computeIfAbsent(name, n -> new Operation());
+    }
+}
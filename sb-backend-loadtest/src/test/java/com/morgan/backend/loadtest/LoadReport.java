@@ -0,0 +1,69 @@
+package com.morgan.backend.loadtest;
+
+import com.morgan.backend.loadtest.LatencyRecorder.Operation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * What a load test run measured, per operation, and the SLOs it missed.
+ */
+record LoadReport(String text, List<String> violations) {
+
+    static LoadReport of(LatencyRecorder recorder, LoadTestSettings settings) {
+        double seconds = settings.duration().toNanos() / 1e9;
+        Map<String, Operation> operations = new TreeMap<>(recorder.operations());
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "Measured over %ss after a %ss warmup; response time = from when the request was due%n",
+            settings.duration().toSeconds(), settings.warmup().toSeconds()));
+        text.append(String.format(Locale.ROOT, "%-10s %8s %9s %7s %11s %11s %11s %11s %11s %13s%n",
+            "operation", "count", "req/s", "errors", "p50", "p99", "p99.9", "max", "p99 SLO", "p99 service"));
+
+        List<String> violations = new ArrayList<>();
+        long total = 0;
+        long errors = 0;
+        for (Map.Entry<String, Operation> entry : operations.entrySet()) {
+            String name = entry.getKey();
+            Operation operation = entry.getValue();
+            Duration p99 = operation.responseTimeAt(99);
+            Duration slo = settings.p99Slos().get(name);
+            text.append(String.format(Locale.ROOT, "%-10s %8d %9.1f %7d %11s %11s %11s %11s %11s %13s%n",
+                name, operation.count(), operation.count() / seconds, operation.errors.sum(),
+                millis(operation.responseTimeAt(50)), millis(p99), millis(operation.responseTimeAt(99.9)),
+                millis(Duration.ofNanos(operation.responseTimes.getMaxValue())),
+                slo == null ? "-" : millis(slo), millis(operation.serviceTimeAt(99))));
+            if (slo != null && p99.compareTo(slo) > 0) {
+                violations.add("%s p99 %s > SLO %s".formatted(name, millis(p99), millis(slo)));
+            }
+            total += operation.count();
+            errors += operation.errors.sum();
+        }
+        double errorRate = total == 0 ? 0 : (double) errors / total;
+        text.append(String.format(Locale.ROOT, "total      %8d %9.1f %7d   error rate %.4f (SLO %.4f)%n",
+            total, total / seconds, errors, errorRate, settings.errorRateSlo()));
+        if (errorRate > settings.errorRateSlo()) {
+            violations.add(String.format(Locale.ROOT, "error rate %.4f > SLO %.4f", errorRate, settings.errorRateSlo()));
+        }
+        settings.p99Slos().keySet().stream()
+            .filter(name -> !operations.containsKey(name) && settings.rate(scenarioOf(name)) > 0)
+            .forEach(name -> violations.add(name + " has an SLO but was never measured"));
+        return new LoadReport(text.toString(), violations);
+    }
+
+    // the scenario running an operation, e.g. edit for create/update/delete
+    static String scenarioOf(String operation) {
+        return switch (operation) {
+            case "create", "update", "delete" -> "edit";
+            case "csrf" -> "login";
+            default -> operation;
+        };
+    }
+
+    private static String millis(Duration duration) {
+        return String.format(Locale.ROOT, "%.2fms", duration.toNanos() / 1e6);
+    }
+}
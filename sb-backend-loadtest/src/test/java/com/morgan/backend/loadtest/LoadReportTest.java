@@ -0,0 +1,81 @@
+package com.morgan.backend.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadReportTest {
+
+    static final long SECOND = Duration.ofSeconds(1).toNanos();
+    static final long MS = Duration.ofMillis(1).toNanos();
+
+    final LoadTestSettings settings = new LoadTestSettings(Duration.ofSeconds(1), Duration.ofSeconds(10), 0, 1,
+        Map.of("get-by-id", 10.0, "list", 10.0), Map.of("get-by-id", Duration.ofMillis(50), "list", Duration.ofMillis(50)), 0.01);
+
+    @Test
+    void testResponseTime_includesTheQueueingBehindAStall() {
+        // Given
+        LatencyRecorder recorder = new LatencyRecorder(SECOND, 11 * SECOND);
+
+        // When: due at 2s, sent at 2.5s once the previous request answered, served in 5 ms
+        recorder.success("get-by-id", 2 * SECOND, 2 * SECOND + 500 * MS, 2 * SECOND + 505 * MS);
+
+        // Then
+        LatencyRecorder.Operation operation = recorder.operations().get("get-by-id");
+        assertThat(operation.responseTimeAt(99)).isBetween(Duration.ofMillis(504), Duration.ofMillis(506));
+        assertThat(operation.serviceTimeAt(99)).isBetween(Duration.ofMillis(4), Duration.ofMillis(6));
+    }
+
+    @Test
+    void testRecorder_leavesOutTheWarmup() {
+        // Given
+        LatencyRecorder recorder = new LatencyRecorder(SECOND, 11 * SECOND);
+
+        // When
+        recorder.success("list", SECOND / 2, SECOND / 2, SECOND);
+        recorder.error("list", SECOND / 2);
+        recorder.success("list", 3 * SECOND, 3 * SECOND, 3 * SECOND + MS);
+
+        // Then
+        assertThat(recorder.operations().get("list").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testReport_listsTheMissedSlos() {
+        // Given
+        LatencyRecorder recorder = new LatencyRecorder(SECOND, 11 * SECOND);
+        for (int i = 0; i < 100; i++) {
+            long dueAt = 2 * SECOND + i * MS;
+            recorder.success("get-by-id", dueAt, dueAt, dueAt + (i < 95 ? 5 * MS : 80 * MS));
+        }
+        recorder.error("get-by-id", 3 * SECOND);
+        recorder.error("get-by-id", 3 * SECOND);
+
+        // When
+        LoadReport report = LoadReport.of(recorder, settings);
+
+        // Then
+        assertThat(report.violations()).hasSize(3);
+        assertThat(report.violations().get(0)).startsWith("get-by-id p99 80");
+        assertThat(report.violations().get(1)).startsWith("error rate 0.0196");
+        assertThat(report.violations().get(2)).isEqualTo("list has an SLO but was never measured");
+        assertThat(report.text()).contains("get-by-id").contains("error rate");
+    }
+
+    @Test
+    void testReport_noViolationWithinTheSlos() {
+        // Given
+        LatencyRecorder recorder = new LatencyRecorder(SECOND, 11 * SECOND);
+        recorder.success("get-by-id", 2 * SECOND, 2 * SECOND, 2 * SECOND + 10 * MS);
+        recorder.success("list", 2 * SECOND, 2 * SECOND, 2 * SECOND + 40 * MS);
+
+        // When
+        LoadReport report = LoadReport.of(recorder, settings);
+
+        // Then
+        assertThat(report.violations()).isEmpty();
+    }
+}
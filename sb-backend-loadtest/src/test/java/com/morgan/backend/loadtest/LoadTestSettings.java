@@ -0,0 +1,67 @@
+package com.morgan.backend.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Workload and SLOs of the load test: {@code loadtest.properties}, overridden by the system properties of the same
+ * name (passed with -D on the Maven command line).
+ */
+record LoadTestSettings(Duration warmup,
+                        Duration duration,
+                        int seedEmployees,
+                        int sessions,
+                        Map<String, Double> ratesPerSecond,
+                        Map<String, Duration> p99Slos,
+                        double errorRateSlo) {
+
+    private static final String PREFIX = "loadtest.";
+    private static final String RATE = PREFIX + "rate.";
+    private static final String SLO = PREFIX + "slo.";
+    private static final String P99 = ".p99";
+
+    static LoadTestSettings load() {
+        Properties properties = new Properties();
+        try (InputStream in = LoadTestSettings.class.getResourceAsStream("/loadtest.properties")) {
+            properties.load(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        System.getProperties().stringPropertyNames().stream()
+            .filter(name -> name.startsWith(PREFIX))
+            .forEach(name -> properties.setProperty(name, System.getProperty(name)));
+        return of(properties);
+    }
+
+    static LoadTestSettings of(Properties properties) {
+        Map<String, Double> rates = new TreeMap<>();
+        Map<String, Duration> slos = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            String value = properties.getProperty(name).trim();
+            if (name.startsWith(RATE)) {
+                rates.put(name.substring(RATE.length()), Double.parseDouble(value));
+            } else if (name.startsWith(SLO) && name.endsWith(P99)) {
+                slos.put(name.substring(SLO.length(), name.length() - P99.length()), DurationStyle.detectAndParse(value));
+            }
+        }
+        return new LoadTestSettings(
+            DurationStyle.detectAndParse(properties.getProperty(PREFIX + "warmup")),
+            DurationStyle.detectAndParse(properties.getProperty(PREFIX + "duration")),
+            Integer.parseInt(properties.getProperty(PREFIX + "seed-employees")),
+            Integer.parseInt(properties.getProperty(PREFIX + "sessions")),
+            rates,
+            slos,
+            Double.parseDouble(properties.getProperty(SLO + "error-rate")));
+    }
+
+    double rate(String scenario) {
+        return ratesPerSecond.getOrDefault(scenario, 0.0);
+    }
+}
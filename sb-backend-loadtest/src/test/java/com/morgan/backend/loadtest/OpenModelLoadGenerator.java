@@ -0,0 +1,65 @@
+package com.morgan.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: each scenario starts at a constant arrival rate, on schedule, whatever the number of them
+ * still waiting for the server. One pacing thread per scenario starts each run on its own virtual thread,
+ * handing it the time it was due: the runs measure their latency from it (see {@link LatencyRecorder}),
+ * so a pacer falling behind (GC pause, saturated machine) does not hide the delay either.
+ */
+class OpenModelLoadGenerator {
+
+    /**
+     * Runs one iteration of the scenario, due at {@code dueAt} ({@link System#nanoTime()}), recording its operations.
+     */
+    @FunctionalInterface
+    interface ScenarioRun {
+        void run(long dueAt);
+    }
+
+    record Scenario(String name, double ratePerSecond, ScenarioRun run) {}
+
+    private final ExecutorService executor;
+
+    /**
+     * @param executor runs the scenario iterations, never queueing them: a thread per iteration in flight
+     */
+    OpenModelLoadGenerator(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Starts the scenarios from {@code startAt} until {@code endAt}, then waits for the pacers to be done;
+     * iterations still running go on in the executor.
+     */
+    void run(List<Scenario> scenarios, long startAt, long endAt) throws InterruptedException {
+        List<Thread> pacers = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            if (scenario.ratePerSecond() > 0) {
+                pacers.add(Thread.ofPlatform().name("pacer-" + scenario.name()).start(() -> pace(scenario, startAt, endAt)));
+            }
+        }
+        for (Thread pacer : pacers) {
+            pacer.join();
+        }
+    }
+
+    private void pace(Scenario scenario, long startAt, long endAt) {
+        double interval = 1e9 / scenario.ratePerSecond();
+        for (long i = 0; ; i++) {
+            long dueAt = startAt + Math.round(i * interval);
+            if (dueAt - endAt >= 0) {
+                return;
+            }
+            long wait;
+            while ((wait = dueAt - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            executor.execute(() -> scenario.run().run(dueAt));
+        }
+    }
+}
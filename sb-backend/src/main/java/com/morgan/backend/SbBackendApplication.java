@@ -3,8 +3,10 @@ package com.morgan.backend;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableCaching
+@EnableScheduling // the periodic tasks, on the task scheduler of Spring Boot (virtual threads)
 @SpringBootApplication
 public class SbBackendApplication {
     static void main(String[] args) {
@@ -0,0 +1,192 @@
+package com.morgan.backend.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Encodes outgoing invalidations and applies incoming ones to the local {@link CacheManager},
+ * ignoring the messages this node sent itself. Subclasses only provide the transport.
+ */
+@Slf4j
+public abstract class AbstractCacheInvalidationBus implements CacheInvalidationBus {
+
+    // Above this many keys, peers are told to clear the cache instead (Postgres caps a NOTIFY payload at 8000 bytes)
+    static final int MAX_KEYS_PER_MESSAGE = 200;
+    // A counter adjustment this long is sent as "unknown" instead, and peers recount; an eviction, as a clear
+    static final int MAX_PAYLOAD_BYTES = 8000;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheManager cacheManager;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    protected AbstractCacheInvalidationBus(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    protected abstract void send(String payload);
+
+    @Override
+    public void evict(Collection<Long> keys, String... cacheNames) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (keys.size() > MAX_KEYS_PER_MESSAGE) {
+            clear(cacheNames);
+            return;
+        }
+        publish(new CacheInvalidationMessage(nodeId, List.of(cacheNames), List.copyOf(keys)));
+    }
+
+    @Override
+    public void clear(String... cacheNames) {
+        publish(CacheInvalidationMessage.clear(nodeId, List.of(cacheNames)));
+    }
+
+    @Override
+    public void evictStringKeys(Collection<String> keys, String... cacheNames) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        StringKeyEvictionMessage message = new StringKeyEvictionMessage(nodeId, List.of(cacheNames), List.copyOf(keys));
+        String payload = message.encode();
+        if (keys.size() > MAX_KEYS_PER_MESSAGE || payload.getBytes(StandardCharsets.UTF_8).length >= MAX_PAYLOAD_BYTES) {
+            clear(cacheNames);
+            return;
+        }
+        publish(payload, message);
+    }
+
+    @Override
+    public void adjust(String counterName, Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        CounterAdjustmentMessage message = new CounterAdjustmentMessage(nodeId, counterName, Map.copyOf(deltas));
+        if (message.encode().getBytes(StandardCharsets.UTF_8).length >= MAX_PAYLOAD_BYTES) {
+            message = CounterAdjustmentMessage.unknown(nodeId, counterName);
+        }
+        publish(message.encode(), message);
+    }
+
+    @Override
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    // A lost invalidation only means stale entries until they expire, so it must never fail the write that triggered it
+    private void publish(CacheInvalidationMessage message) {
+        publish(message.encode(), message);
+    }
+
+    private void publish(String payload, Record message) {
+        try {
+            send(payload);
+        } catch (RuntimeException ex) {
+            log.warn("Could not publish cache invalidation [{}]", message, ex);
+        }
+    }
+
+    protected void receive(String payload) {
+        if (CounterAdjustmentMessage.matches(payload)) {
+            receiveAdjustment(payload);
+            return;
+        }
+        if (StringKeyEvictionMessage.matches(payload)) {
+            receiveStringKeyEviction(payload);
+            return;
+        }
+        CacheInvalidationMessage message;
+        try {
+            message = CacheInvalidationMessage.decode(payload);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Ignoring malformed cache invalidation [{}]", payload);
+            return;
+        }
+        if (nodeId.equals(message.nodeId())) {
+            return; // our own write, the local caches are already up to date
+        }
+        log.debug("Applying cache invalidation from node [{}]: {}", message.nodeId(), message);
+        for (String cacheName : message.cacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                if (message.isClear()) {
+                    cache.clear();
+                } else {
+                    message.keys().forEach(cache::evict);
+                }
+            }
+            notifyListeners(cacheName, message.keys());
+        }
+    }
+
+    // Listeners are not told: they follow the caches keyed by id
+    private void receiveStringKeyEviction(String payload) {
+        StringKeyEvictionMessage message;
+        try {
+            message = StringKeyEvictionMessage.decode(payload);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Ignoring malformed cache eviction [{}]", payload);
+            return;
+        }
+        if (nodeId.equals(message.nodeId())) {
+            return; // our own write, the local caches are already up to date
+        }
+        log.debug("Applying cache eviction from node [{}]: {}", message.nodeId(), message);
+        for (String cacheName : message.cacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                message.keys().forEach(cache::evict);
+            }
+        }
+    }
+
+    private void receiveAdjustment(String payload) {
+        CounterAdjustmentMessage message;
+        try {
+            message = CounterAdjustmentMessage.decode(payload);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Ignoring malformed counter adjustment [{}]", payload);
+            return;
+        }
+        if (nodeId.equals(message.nodeId())) {
+            return; // our own write, the local counters are already up to date
+        }
+        log.debug("Applying counter adjustment from node [{}]: {}", message.nodeId(), message);
+        for (Listener listener : listeners) {
+            try {
+                listener.adjusted(message.counterName(), message.deltas());
+            } catch (RuntimeException ex) {
+                log.warn("Counter adjustment listener failed on [{}]", message.counterName(), ex);
+            }
+        }
+    }
+
+    // After a gap in delivery (e.g. a reconnect), nothing cached locally can be trusted
+    protected void clearAllLocalCaches() {
+        cacheManager.getCacheNames().forEach(name -> {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+            notifyListeners(name, List.of());
+        });
+    }
+
+    private void notifyListeners(String cacheName, List<Long> keys) {
+        for (Listener listener : listeners) {
+            try {
+                listener.invalidated(cacheName, keys);
+            } catch (RuntimeException ex) {
+                log.warn("Cache invalidation listener failed on [{}]", cacheName, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.morgan.backend.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Broadcasts cache invalidations to the other nodes of the cluster.
+ * <p>Each node keeps its own Caffeine caches (a near-cache); the node that writes maintains its own
+ * caches directly and only uses the bus to tell its peers which entries went stale.</p>
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Asks the other nodes to evict {@code keys} from each of {@code cacheNames}.
+     */
+    void evict(Collection<Long> keys, String... cacheNames);
+
+    /**
+     * Asks the other nodes to evict {@code keys} from each of {@code cacheNames}, for the caches keyed by text
+     * (e.g. the user accounts, by username). Listeners are not told.
+     */
+    void evictStringKeys(Collection<String> keys, String... cacheNames);
+
+    /**
+     * Asks the other nodes to drop every entry of {@code cacheNames}.
+     */
+    void clear(String... cacheNames);
+
+    /**
+     * Tells the other nodes that the counters {@code counterName} moved by {@code deltas} (delta by counter key),
+     * for node-local aggregates that an eviction by id cannot keep right (e.g. the employees per role).
+     */
+    void adjust(String counterName, Map<String, Long> deltas);
+
+    /**
+     * Registers {@code listener} to hear about the invalidations received from the other nodes,
+     * for node-local state kept outside the Spring caches (e.g. the in-memory search index).
+     */
+    void addListener(Listener listener);
+
+    @FunctionalInterface
+    interface Listener {
+        /**
+         * {@code keys} were invalidated in {@code cacheName} on another node; empty when the whole cache was.
+         */
+        void invalidated(String cacheName, List<Long> keys);
+
+        /**
+         * The counters {@code counterName} moved by {@code deltas} on another node; empty when by an unknown amount.
+         */
+        default void adjusted(String counterName, Map<String, Long> deltas) {
+        }
+    }
+}
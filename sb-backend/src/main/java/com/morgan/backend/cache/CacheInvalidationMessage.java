@@ -0,0 +1,42 @@
+package com.morgan.backend.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Wire format of an invalidation: {@code nodeId;cacheName1,cacheName2;key1,key2,...}, or
+ * {@code nodeId;cacheName1,cacheName2;*} to clear the whole caches.
+ */
+record CacheInvalidationMessage(String nodeId, List<String> cacheNames, List<Long> keys) {
+
+    private static final String SEPARATOR = ";";
+    private static final String LIST_SEPARATOR = ",";
+    private static final String ALL_KEYS = "*";
+
+    static CacheInvalidationMessage clear(String nodeId, List<String> cacheNames) {
+        return new CacheInvalidationMessage(nodeId, cacheNames, List.of());
+    }
+
+    boolean isClear() {
+        return keys.isEmpty();
+    }
+
+    String encode() {
+        String encodedKeys = isClear()
+            ? ALL_KEYS
+            : keys.stream().map(String::valueOf).collect(Collectors.joining(LIST_SEPARATOR));
+        return nodeId + SEPARATOR + String.join(LIST_SEPARATOR, cacheNames) + SEPARATOR + encodedKeys;
+    }
+
+    static CacheInvalidationMessage decode(String payload) {
+        String[] parts = payload.split(SEPARATOR, 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cache invalidation message: " + payload);
+        }
+        List<Long> keys = ALL_KEYS.equals(parts[2])
+            ? List.of()
+            : Arrays.stream(parts[2].split(LIST_SEPARATOR)).map(Long::valueOf).toList();
+        return new CacheInvalidationMessage(parts[0], List.of(parts[1].split(LIST_SEPARATOR)), keys);
+    }
+}
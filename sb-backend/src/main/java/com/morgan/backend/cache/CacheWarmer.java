@@ -0,0 +1,53 @@
+package com.morgan.backend.cache;
+
+import com.morgan.backend.services.EmployeeService;
+import com.morgan.backend.services.EmployeeService.EmployeePage;
+import com.morgan.backend.services.EmployeeService.PageQuery;
+import com.morgan.backend.services.EmployeeService.SortField;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.morgan.backend.services.EmployeeService.CACHE_EMPLOYEES_BY_ID;
+import static com.morgan.backend.services.EmployeeService.DEFAULT_PAGE_SIZE;
+
+/**
+ * Fills the employee caches once the application is ready (after {@code initDatabase}), before the first readers
+ * all miss them at once: the first page of the list in each sort order, and the employees on those pages.
+ * Best effort: on failure the caches fill as they are read, as they would without it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CacheWarmer {
+
+    private final EmployeeService employeeService;
+    private final CacheManager cacheManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        try {
+            Cache byId = cacheManager.getCache(CACHE_EMPLOYEES_BY_ID);
+            Set<Long> ids = new HashSet<>();
+            for (SortField sortField : SortField.values()) {
+                // through the service proxy, so the page lands in its cache
+                EmployeePage page = employeeService.findPage(new PageQuery(sortField, Sort.Direction.ASC, null, DEFAULT_PAGE_SIZE));
+                page.employees().forEach(employee -> {
+                    if (ids.add(employee.id()) && byId != null) {
+                        byId.putIfAbsent(employee.id(), employee);
+                    }
+                });
+            }
+            log.info("Caches warmed: {} pages, {} employees in {} ms", SortField.values().length, ids.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.warn("Cache warm-up failed, the caches will fill as they are read", ex);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.morgan.backend.cache;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Wire format of a counter adjustment: {@code nodeId;#counterName;key1=delta1,key2=delta2,...}, the keys
+ * URL-encoded, or {@code nodeId;#counterName;*} when the counters moved by an unknown amount.
+ * The {@code #} tells it apart from a {@link CacheInvalidationMessage}.
+ */
+record CounterAdjustmentMessage(String nodeId, String counterName, Map<String, Long> deltas) {
+
+    private static final String SEPARATOR = ";";
+    private static final String COUNTER_PREFIX = "#";
+    private static final String LIST_SEPARATOR = ",";
+    private static final String DELTA_SEPARATOR = "=";
+    private static final String UNKNOWN = "*";
+
+    static CounterAdjustmentMessage unknown(String nodeId, String counterName) {
+        return new CounterAdjustmentMessage(nodeId, counterName, Map.of());
+    }
+
+    boolean isUnknown() {
+        return deltas.isEmpty();
+    }
+
+    String encode() {
+        String encodedDeltas = isUnknown()
+            ? UNKNOWN
+            : deltas.entrySet().stream()
+                .map(entry -> URLEncoder.encode(entry.getKey(), UTF_8) + DELTA_SEPARATOR + entry.getValue())
+                .collect(Collectors.joining(LIST_SEPARATOR));
+        return nodeId + SEPARATOR + COUNTER_PREFIX + counterName + SEPARATOR + encodedDeltas;
+    }
+
+    static boolean matches(String payload) {
+        int separator = payload.indexOf(SEPARATOR);
+        return separator >= 0 && payload.startsWith(COUNTER_PREFIX, separator + 1);
+    }
+
+    static CounterAdjustmentMessage decode(String payload) {
+        String[] parts = payload.split(SEPARATOR, 3);
+        if (parts.length != 3 || !parts[1].startsWith(COUNTER_PREFIX)) {
+            throw new IllegalArgumentException("Malformed counter adjustment message: " + payload);
+        }
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        if (!UNKNOWN.equals(parts[2])) {
+            for (String delta : parts[2].split(LIST_SEPARATOR)) {
+                String[] keyAndDelta = delta.split(DELTA_SEPARATOR, 2);
+                if (keyAndDelta.length != 2) {
+                    throw new IllegalArgumentException("Malformed counter adjustment message: " + payload);
+                }
+                deltas.merge(URLDecoder.decode(keyAndDelta[0], UTF_8), Long.valueOf(keyAndDelta[1]), Long::sum);
+            }
+        }
+        return new CounterAdjustmentMessage(parts[0], parts[1].substring(COUNTER_PREFIX.length()), deltas);
+    }
+}
@@ -0,0 +1,68 @@
+package com.morgan.backend.cache;
+
+import com.morgan.backend.dtos.EmployeeDto;
+import com.morgan.backend.dtos.EmployeePageDto;
+import com.morgan.backend.encoding.EncodedResponse;
+import com.morgan.backend.encoding.ResponseEncoder;
+import com.morgan.backend.mappers.EmployeeMapper;
+import com.morgan.backend.metrics.RequestTimings;
+import com.morgan.backend.repositories.EmployeeRepository.EmployeeView;
+import com.morgan.backend.services.EmployeeService;
+import com.morgan.backend.services.EmployeeService.EmployeePage;
+import com.morgan.backend.services.EmployeeService.PageQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+
+import static com.morgan.backend.metrics.RequestTimings.Phase.MAPPING;
+import static com.morgan.backend.services.EmployeeService.CACHE_EMPLOYEES_BY_ID_JSON;
+import static com.morgan.backend.services.EmployeeService.CACHE_EMPLOYEES_PAGES_JSON;
+
+/**
+ * Caches the read responses ready to be sent: the DTO and, once a client has asked for them, its encodings
+ * (JSON, CBOR, Smile or Protobuf, compressed or not, see {@link ResponseEncoder}), so a hit is a plain byte copy
+ * to the response: no entity-to-DTO mapping, no serialization, no compression on the hot path.
+ * Entries are dropped by {@link EmployeeService} writes, like the entity caches they are built from.
+ */
+@RequiredArgsConstructor
+@Component
+public class EmployeeJsonCache {
+
+    private final EmployeeService employeeService;
+    private final EmployeeMapper employeeMapper;
+
+    public static String employeeETag(EmployeeView employee) {
+        return "\"" + employee.id() + "-" + employee.version() + "\"";
+    }
+
+    public static String pageETag(EmployeePage page) {
+        return "\"" + page.version() + "\"";
+    }
+
+    public long getPagesVersion() {
+        return employeeService.getPagesVersion();
+    }
+
+    @Cacheable(cacheNames = CACHE_EMPLOYEES_BY_ID_JSON, key = "#id", sync = true)
+    public EncodedResponse employee(Long id) {
+        EmployeeView employee = employeeService.findById(id);
+        return new EncodedResponse(employeeETag(employee), RequestTimings.time(MAPPING, () -> employeeMapper.toDto(employee)));
+    }
+
+    /**
+     * The page answering {@code query}; {@code requestUrl} is the URL it was requested with, the base of its
+     * {@code next} link. Keyed by pages version, like the entity page cache, so any write retires it.
+     */
+    @Cacheable(cacheNames = CACHE_EMPLOYEES_PAGES_JSON, key = "{#root.target.pagesVersion, #requestUrl}", sync = true)
+    public EncodedResponse page(PageQuery query, String requestUrl) {
+        EmployeePage page = employeeService.findPage(query);
+        String next = page.nextCursor() == null ? null : UriComponentsBuilder.fromUriString(requestUrl)
+            .replaceQueryParam("after", page.nextCursor())
+            .toUriString();
+        List<EmployeeDto> items = RequestTimings.time(MAPPING, () -> page.employees().stream().map(employeeMapper::toDto).toList());
+        return new EncodedResponse(pageETag(page), new EmployeePageDto(items, page.nextCursor(), next));
+    }
+}
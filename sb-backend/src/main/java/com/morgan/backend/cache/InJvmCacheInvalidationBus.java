@@ -0,0 +1,25 @@
+package com.morgan.backend.cache;
+
+import org.springframework.cache.CacheManager;
+
+import java.util.Set;
+
+/**
+ * Delivers invalidations synchronously to the buses sharing the same {@code channel} in this JVM.
+ * With a single node this is effectively a no-op; tests use it to simulate several nodes without a database.
+ */
+public class InJvmCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+    private final Set<InJvmCacheInvalidationBus> channel;
+
+    public InJvmCacheInvalidationBus(CacheManager cacheManager, Set<InJvmCacheInvalidationBus> channel) {
+        super(cacheManager);
+        this.channel = channel;
+        channel.add(this);
+    }
+
+    @Override
+    protected void send(String payload) {
+        channel.forEach(bus -> bus.receive(payload));
+    }
+}
@@ -0,0 +1,109 @@
+package com.morgan.backend.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Invalidation bus over Postgres {@code LISTEN/NOTIFY}.
+ * <p>Publishing is a {@code pg_notify} on a pooled connection. Listening needs a session that stays
+ * subscribed, so a dedicated connection (outside the Hikari pool) is opened and polled by a daemon thread,
+ * and reopened with a backoff if it breaks. Local caches are cleared each time the subscription (re)starts,
+ * since notifications sent in between are lost.</p>
+ */
+@Slf4j
+public class PostgresCacheInvalidationBus extends AbstractCacheInvalidationBus implements SmartLifecycle {
+
+    private static final int POLL_TIMEOUT_MS = 10_000;
+    private static final long RECONNECT_BACKOFF_MS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresCacheInvalidationBus(CacheManager cacheManager,
+                                        JdbcTemplate jdbcTemplate,
+                                        DataSourceProperties dataSourceProperties,
+                                        String channel) {
+        super(cacheManager);
+        if (!channel.matches("[a-z_][a-z0-9_]*")) { // LISTEN takes an identifier, not a bind parameter
+            throw new IllegalArgumentException("Invalid NOTIFY channel name: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+    }
+
+    @Override
+    protected void send(String payload) {
+        jdbcTemplate.queryForList("select pg_notify(?, ?)", channel, payload);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("pg-cache-invalidation").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword())) {
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for cache invalidations on channel [{}]", channel);
+                clearAllLocalCaches();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener failed, reconnecting in {} ms", RECONNECT_BACKOFF_MS, ex);
+                try {
+                    Thread.sleep(RECONNECT_BACKOFF_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.morgan.backend.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.util.UriUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The frontend build (index.html, bundles, fonts, i18n files...) held in memory, loaded once at startup,
+ * so serving it is a plain byte copy: no file lookup, no resource resolution, no compression on the hot path.
+ * <p>The gzip and brotli copies written by the frontend build ({@code x.js.gz}, {@code x.js.br}) are kept next to
+ * the file they compress; a compressible file without them is gzipped here.</p>
+ */
+@Slf4j
+public class StaticAssetCache {
+
+    public static final String INDEX = "/index.html";
+
+    // below that, gzip saves too little to be worth a Content-Encoding
+    static final int MIN_GZIP_SIZE = 1024;
+
+    // Angular's output hashing (angular.json "outputHashing": "all"): main-4QJH2LRB.js, media/roboto-KFOMCQ7J.woff2
+    private static final Pattern CONTENT_HASHED = Pattern.compile(".*-[A-Z0-9]{8}\\.[a-z0-9]+$");
+
+    private final Map<String, Asset> assetsByPath;
+
+    /**
+     * One file of the build; {@code gzip} and {@code brotli} are null when there is no smaller copy.
+     * {@code immutable} when its name carries a hash of its content, so it can be cached for good.
+     */
+    public record Asset(String path, MediaType contentType, String etag, boolean immutable,
+                        byte[] content, byte[] gzip, byte[] brotli) {
+
+        public boolean compressed() {
+            return gzip != null || brotli != null;
+        }
+    }
+
+    /**
+     * @param locations directories of the classpath to load, e.g. {@code classpath*:META-INF/resources/};
+     *                  a path found in several keeps the file of the first
+     */
+    public StaticAssetCache(ResourcePatternResolver resourceResolver, List<String> locations) {
+        this.assetsByPath = load(resourceResolver, locations);
+    }
+
+    public Asset get(String path) {
+        return assetsByPath.get("/".equals(path) ? INDEX : path);
+    }
+
+    public Asset index() {
+        return assetsByPath.get(INDEX);
+    }
+
+    public int size() {
+        return assetsByPath.size();
+    }
+
+    private static Map<String, Asset> load(ResourcePatternResolver resourceResolver, List<String> locations) {
+        long start = System.nanoTime();
+        Map<String, byte[]> files = new HashMap<>();
+        for (String location : locations) {
+            String root = location.endsWith("/") ? location : location + "/";
+            try {
+                for (Resource resource : resourceResolver.getResources(root + "**")) {
+                    String path = pathOf(resource, root);
+                    if (path != null && !files.containsKey(path)) {
+                        files.put(path, resource.getContentAsByteArray());
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot load the static assets of " + location, ex);
+            }
+        }
+
+        Map<String, Asset> assets = new HashMap<>();
+        long bytes = 0;
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            String path = file.getKey();
+            if ((path.endsWith(".gz") || path.endsWith(".br")) && files.containsKey(path.substring(0, path.length() - 3))) {
+                continue; // a copy of another file
+            }
+            Asset asset = asset(path, file.getValue(), files.get(path + ".gz"), files.get(path + ".br"));
+            assets.put(path, asset);
+            bytes += asset.content().length;
+        }
+        log.info("Static assets loaded: {} files, {} KB in {} ms",
+            assets.size(), bytes / 1024, (System.nanoTime() - start) / 1_000_000);
+        return Map.copyOf(assets);
+    }
+
+    // The path the file is served at, or null for what is not a file (directories) or not ours (webjars)
+    private static String pathOf(Resource resource, String root) throws IOException {
+        if (!resource.isReadable() || resource.getFilename() == null || resource.getFilename().isEmpty()) {
+            return null;
+        }
+        String url = resource.getURL().toString();
+        String base = root.substring(root.indexOf(':') + 1).replaceFirst("^/", "");
+        int at = url.lastIndexOf(base);
+        if (at < 0) {
+            return null;
+        }
+        String path = UriUtils.decode(url.substring(at + base.length() - 1), StandardCharsets.UTF_8);
+        return path.startsWith("/webjars/") ? null : path;
+    }
+
+    private static Asset asset(String path, byte[] content, byte[] gzip, byte[] brotli) {
+        MediaType contentType = MediaTypeFactory.getMediaType(path).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        if (gzip == null && content.length >= MIN_GZIP_SIZE && compressible(contentType)) {
+            gzip = gzip(content);
+        }
+        if (gzip != null && gzip.length >= content.length) {
+            gzip = null;
+        }
+        if (brotli != null && brotli.length >= content.length) {
+            brotli = null;
+        }
+        // weak: the same ETag stands for every encoding of the file
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(content) + "\"";
+        return new Asset(path, contentType, etag, CONTENT_HASHED.matcher(path).matches(), content, gzip, brotli);
+    }
+
+    private static boolean compressible(MediaType contentType) {
+        return "text".equals(contentType.getType())
+            || contentType.getSubtype().endsWith("json")
+            || contentType.getSubtype().endsWith("javascript")
+            || contentType.getSubtype().endsWith("xml")
+            || contentType.getSubtype().equals("x-icon")
+            || contentType.getSubtype().equals("vnd.microsoft.icon");
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(content);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return gzip.toByteArray();
+    }
+}
@@ -0,0 +1,40 @@
+package com.morgan.backend.cache;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Wire format of an eviction from caches keyed by text: {@code nodeId;$cacheName1,cacheName2;key1,key2,...},
+ * the keys URL-encoded. The {@code $} tells it apart from a {@link CacheInvalidationMessage}, whose keys are ids.
+ */
+record StringKeyEvictionMessage(String nodeId, List<String> cacheNames, List<String> keys) {
+
+    private static final String SEPARATOR = ";";
+    private static final String STRING_KEYS_PREFIX = "$";
+    private static final String LIST_SEPARATOR = ",";
+
+    String encode() {
+        return nodeId + SEPARATOR + STRING_KEYS_PREFIX + String.join(LIST_SEPARATOR, cacheNames) + SEPARATOR
+            + keys.stream().map(key -> URLEncoder.encode(key, UTF_8)).collect(Collectors.joining(LIST_SEPARATOR));
+    }
+
+    static boolean matches(String payload) {
+        int separator = payload.indexOf(SEPARATOR);
+        return separator >= 0 && payload.startsWith(STRING_KEYS_PREFIX, separator + 1);
+    }
+
+    static StringKeyEvictionMessage decode(String payload) {
+        String[] parts = payload.split(SEPARATOR, 3);
+        if (parts.length != 3 || !parts[1].startsWith(STRING_KEYS_PREFIX)) {
+            throw new IllegalArgumentException("Malformed cache eviction message: " + payload);
+        }
+        // -1: an empty key is still a key
+        List<String> keys = Arrays.stream(parts[2].split(LIST_SEPARATOR, -1)).map(key -> URLDecoder.decode(key, UTF_8)).toList();
+        return new StringKeyEvictionMessage(parts[0], List.of(parts[1].substring(STRING_KEYS_PREFIX.length()).split(LIST_SEPARATOR)), keys);
+    }
+}
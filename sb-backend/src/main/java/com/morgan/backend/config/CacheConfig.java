@@ -0,0 +1,146 @@
+package com.morgan.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.morgan.backend.cache.CacheInvalidationBus;
+import com.morgan.backend.cache.CacheWarmer;
+import com.morgan.backend.cache.InJvmCacheInvalidationBus;
+import com.morgan.backend.cache.PostgresCacheInvalidationBus;
+import com.morgan.backend.metrics.TimedCacheResolver;
+import com.morgan.backend.services.EmployeeService;
+import com.morgan.backend.services.EmployeeService.PageQuery;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
+import org.springframework.boot.cache.autoconfigure.CacheProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static com.morgan.backend.services.EmployeeService.CACHE_EMPLOYEES_BY_ID;
+import static com.morgan.backend.services.EmployeeService.CACHE_EMPLOYEES_PAGES;
+
+/**
+ * Two-level caching: every node has its local Caffeine caches (spring.cache.*), kept coherent across
+ * nodes by a {@link CacheInvalidationBus} selected with {@code app.cache.invalidation}.
+ * <p>The employee caches never make their readers wait on an expiry: concurrent misses of a key are loaded
+ * once ({@code @Cacheable(sync = true)}), and an entry read after {@code app.cache.refresh-after-write} is
+ * reloaded in the background while the current one is still served.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(CacheConfig.CacheConfigProperties.class)
+public class CacheConfig implements CachingConfigurer {
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public CacheConfig(ObjectProvider<CacheManager> cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // the caching annotations time their lookups and count hits/misses per request, see RequestTimings
+    @Override
+    public CacheResolver cacheResolver() {
+        return new TimedCacheResolver(cacheManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation", havingValue = "postgres")
+    public PostgresCacheInvalidationBus postgresCacheInvalidationBus(CacheManager cacheManager,
+                                                                     JdbcTemplate jdbcTemplate,
+                                                                     DataSourceProperties dataSourceProperties,
+                                                                     CacheConfigProperties cacheConfigProperties) {
+        return new PostgresCacheInvalidationBus(cacheManager, jdbcTemplate, dataSourceProperties, cacheConfigProperties.channel());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation", havingValue = "local", matchIfMissing = true)
+    public InJvmCacheInvalidationBus inJvmCacheInvalidationBus(CacheManager cacheManager) {
+        return new InJvmCacheInvalidationBus(cacheManager, ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * The entity caches, as built from spring.cache.caffeine.spec, but refreshed ahead of their expiry through
+     * the service. The other caches only hold what is derived from these, cheap to rebuild.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> refreshAheadCaches(CacheProperties cacheProperties,
+                                                                          CacheConfigProperties cacheConfigProperties,
+                                                                          ObjectProvider<EmployeeService> employeeService) {
+        return cacheManager -> {
+            String spec = cacheProperties.getCaffeine().getSpec();
+            Duration refreshAfterWrite = cacheConfigProperties.refreshAfterWrite();
+            // the reloads query the database: virtual threads, as the requests
+            Executor refresher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cache-refresh-", 0).factory());
+            cacheManager.registerCustomCache(CACHE_EMPLOYEES_BY_ID, refreshAhead(spec, refreshAfterWrite, refresher,
+                key -> employeeService.getObject().reloadById((Long) key)));
+            cacheManager.registerCustomCache(CACHE_EMPLOYEES_PAGES, refreshAhead(spec, refreshAfterWrite, refresher, key -> {
+                List<?> versionAndQuery = (List<?>) key; // see EmployeeService.findPage
+                return employeeService.getObject().reloadPage((Long) versionAndQuery.get(0), (PageQuery) versionAndQuery.get(1));
+            }));
+        };
+    }
+
+    /**
+     * A Caffeine cache whose entries are reloaded with {@code reload} once older than {@code refreshAfterWrite};
+     * a null reload drops the entry. Caffeine drops a reload made stale by a write or an eviction meanwhile.
+     */
+    private static Cache<Object, Object> refreshAhead(String spec, Duration refreshAfterWrite, Executor executor,
+                                                      Function<Object, Object> reload) {
+        Caffeine<Object, Object> builder = spec == null ? Caffeine.newBuilder() : Caffeine.from(spec);
+        return builder.refreshAfterWrite(refreshAfterWrite).executor(executor).build(new CacheLoader<>() {
+            // a miss is loaded by its @Cacheable method, never by a plain lookup
+            @Override
+            public Object load(Object key) {
+                return null;
+            }
+
+            @Override
+            public Object reload(Object key, Object oldValue) {
+                return reload.apply(key);
+            }
+        });
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.warm-up", havingValue = "true")
+    public CacheWarmer cacheWarmer(EmployeeService employeeService, CacheManager cacheManager) {
+        return new CacheWarmer(employeeService, cacheManager);
+    }
+
+    /**
+     * Cache properties.
+     * Bound from `app.cache.*` in application.yml.
+     * invalidation: local (single node, default) or postgres (LISTEN/NOTIFY on `channel`);
+     * refresh-after-write: age from which a read employee or page is reloaded in the background, below the expiry of the spec;
+     * warm-up: fill the caches at startup (see CacheWarmer)
+     */
+    @ConfigurationProperties(prefix = "app.cache")
+    record CacheConfigProperties(String invalidation, String channel, Duration refreshAfterWrite, Boolean warmUp) {
+        public CacheConfigProperties {
+            if (channel == null) {
+                channel = "employees_cache";
+            }
+            if (refreshAfterWrite == null) {
+                refreshAfterWrite = Duration.ofMinutes(4);
+            }
+            if (warmUp == null) {
+                warmUp = false;
+            }
+        }
+    }
+}
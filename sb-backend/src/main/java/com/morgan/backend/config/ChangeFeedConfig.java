@@ -0,0 +1,51 @@
+package com.morgan.backend.config;
+
+import com.morgan.backend.cache.CacheInvalidationBus;
+import com.morgan.backend.mappers.EmployeeMapper;
+import com.morgan.backend.services.EmployeeChangeFeed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * The employee change feed ({@code GET /api/employees/changes}, server-sent events), see {@link EmployeeChangeFeed}.
+ */
+@Configuration
+@EnableConfigurationProperties(ChangeFeedConfig.ChangeFeedProperties.class)
+public class ChangeFeedConfig {
+
+    @Bean
+    public EmployeeChangeFeed employeeChangeFeed(EmployeeMapper employeeMapper,
+                                                 ChangeFeedProperties changeFeedProperties,
+                                                 CacheInvalidationBus cacheInvalidationBus,
+                                                 MeterRegistry meterRegistry) {
+        return new EmployeeChangeFeed(employeeMapper, changeFeedProperties.bufferSize(), changeFeedProperties.heartbeat(),
+            changeFeedProperties.subscriberQueueSize(), cacheInvalidationBus, meterRegistry);
+    }
+
+    /**
+     * Change feed properties.
+     * Bound from `app.changes.*` in application.yml.
+     * buffer-size: last events kept for the clients resuming with Last-Event-ID;
+     * heartbeat: longest silence on a connection, a comment is sent to detect the clients gone;
+     * subscriber-queue-size: events waiting for one client, beyond that it is dropped and resumes when it reconnects
+     */
+    @ConfigurationProperties(prefix = "app.changes")
+    record ChangeFeedProperties(Integer bufferSize, Duration heartbeat, Integer subscriberQueueSize) {
+        public ChangeFeedProperties {
+            if (bufferSize == null) {
+                bufferSize = 1000;
+            }
+            if (heartbeat == null) {
+                heartbeat = Duration.ofSeconds(15);
+            }
+            if (subscriberQueueSize == null) {
+                subscriberQueueSize = 256;
+            }
+        }
+    }
+}
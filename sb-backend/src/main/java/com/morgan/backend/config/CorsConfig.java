@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -30,6 +31,7 @@ public class CorsConfig implements WebMvcConfigurer {
             .allowedOrigins(corsConfigProperties.allowedOrigins().toArray(String[]::new)) // Access-Control-Allow-Origin: http://localhost:4200
             .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
             .allowedHeaders("*")
+            .exposedHeaders(HttpHeaders.ETAG) // read by the client to send If-None-Match
             .allowCredentials(true) // Access-Control-Allow-Credentials: true
             .maxAge(3600); // how long in seconds the response from a pre-flight request can be cached by clients
     }
@@ -0,0 +1,195 @@
+package com.morgan.backend.config;
+
+import com.morgan.backend.datasource.DatabaseBulkhead;
+import com.morgan.backend.datasource.ReadWriteRoutingDataSource;
+import com.morgan.backend.datasource.ReplicaLagMonitor;
+import com.morgan.backend.filters.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.session.jdbc.config.annotation.SpringSessionDataSource;
+import org.springframework.session.jdbc.config.annotation.SpringSessionTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+/**
+ * The {@link DatabaseBulkhead} in front of the primary connection pool, and, when {@code app.database.replica.url}
+ * is set, the routing of read-only transactions to a read replica.
+ */
+@Configuration
+@EnableConfigurationProperties(DatabaseConfig.DatabaseBulkheadProperties.class)
+public class DatabaseConfig {
+
+    @Bean
+    public DatabaseBulkhead databaseBulkhead(DatabaseBulkheadProperties databaseBulkheadProperties,
+                                             Environment environment,
+                                             MeterRegistry meterRegistry) {
+        Integer maxConcurrent = databaseBulkheadProperties.maxConcurrent();
+        if (maxConcurrent == null) {
+            // as many as the primary pool has connections (Hikari's default 10): beyond that, calls would only queue in it.
+            // Read from the properties, as the pool cannot be created before the bulkhead that wraps it
+            maxConcurrent = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        }
+        return new DatabaseBulkhead(maxConcurrent, databaseBulkheadProperties.waitTimeout(),
+            databaseBulkheadProperties.retryAfter(), meterRegistry);
+    }
+
+    /**
+     * Puts the bulkhead in front of the primary pool, whatever asks it for a connection: the permit is taken before
+     * the connection, and given back with it. The replica pool (read-only) has connections of its own.
+     */
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPool(ObjectProvider<DatabaseBulkhead> databaseBulkhead) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool && !pool.isReadOnly()) {
+                    return databaseBulkhead.getObject().wrap(pool);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Read/write splitting: the primary pool is the one of {@code spring.datasource.*}, the replica pool is read-only,
+     * and the application's DataSource picks one per transaction (see {@link ReadWriteRoutingDataSource}).
+     * The Spring Session tables (jdbc session mode) stay on the primary, outside the routing.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "app.database.replica.url")
+    @EnableConfigurationProperties(ReplicaProperties.class)
+    static class ReplicaRoutingConfig {
+
+        @Bean
+        @SpringSessionDataSource
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+            HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            primary.setPoolName("primary");
+            return primary;
+        }
+
+        @Bean
+        @ConfigurationProperties("app.database.replica.hikari")
+        public HikariDataSource replicaDataSource(ReplicaProperties replicaProperties, DataSourceProperties dataSourceProperties) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica");
+            replica.setJdbcUrl(replicaProperties.url());
+            replica.setUsername(replicaProperties.username() != null ? replicaProperties.username() : dataSourceProperties.determineUsername());
+            replica.setPassword(replicaProperties.password() != null ? replicaProperties.password() : dataSourceProperties.determinePassword());
+            replica.setReadOnly(true);
+            // a replica that is down at startup must not keep the application from starting: reads use the primary
+            replica.setInitializationFailTimeout(-1);
+            return replica;
+        }
+
+        @Bean
+        public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                   ReplicaProperties replicaProperties,
+                                                   MeterRegistry meterRegistry) {
+            return new ReplicaLagMonitor(replicaDataSource, replicaProperties.lagQuery(), replicaProperties.maxLag(),
+                replicaProperties.checkInterval(), meterRegistry);
+        }
+
+        // at once, then every check-interval
+        @Bean
+        public SchedulingConfigurer replicaLagChecks(ReplicaLagMonitor replicaLagMonitor, ReplicaProperties replicaProperties) {
+            return registrar -> registrar.addFixedDelayTask(
+                new FixedDelayTask(replicaLagMonitor::check, replicaProperties.checkInterval(), Duration.ZERO));
+        }
+
+        @Bean
+        public ReadWriteRoutingDataSource readWriteRoutingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                                     @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                                     ReplicaLagMonitor replicaLagMonitor,
+                                                                     MeterRegistry meterRegistry) {
+            return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry);
+        }
+
+        // The one JPA, JdbcTemplate and the rest use. Lazy: the route is picked when the first statement runs,
+        // once the transaction is known to be read-only; the defaults spare a connection just to read them
+        @Bean
+        @Primary
+        public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+            dataSource.setDefaultAutoCommit(true);
+            dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            return dataSource;
+        }
+
+        // A writer's next requests read from the primary too, whichever node they land on
+        @Bean
+        public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+            FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+            // before Spring Security's chain (-100), whose logins may write (a password rehash)
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+            return registration;
+        }
+
+        // Spring Session's own transactions, on the primary pool; not a candidate for anything else,
+        // so JPA keeps the application's transaction manager
+        @Bean(defaultCandidate = false)
+        @SpringSessionTransactionManager
+        public DataSourceTransactionManager springSessionTransactionManager(@Qualifier("primaryDataSource") DataSource primaryDataSource) {
+            return new DataSourceTransactionManager(primaryDataSource);
+        }
+    }
+
+    /**
+     * Read replica properties.
+     * Bound from `app.database.replica.*` in application.yml.
+     * url: JDBC URL of the replica, which turns the routing on; username/password: default to the primary's;
+     * max-lag: beyond that, reads go to the primary, as they do for that long after a write;
+     * check-interval: how often the lag is measured; lag-query: returns the lag in seconds (default: none,
+     * the replica only has to answer); hikari.*: the replica pool settings
+     */
+    @ConfigurationProperties(prefix = "app.database.replica")
+    record ReplicaProperties(String url, String username, String password, Duration maxLag, Duration checkInterval,
+                             String lagQuery) {
+        public ReplicaProperties {
+            if (maxLag == null) {
+                maxLag = Duration.ofSeconds(1);
+            }
+            if (checkInterval == null) {
+                checkInterval = Duration.ofSeconds(1);
+            }
+        }
+    }
+
+    /**
+     * Database bulkhead properties.
+     * Bound from `app.database.bulkhead.*` in application.yml.
+     * max-concurrent: connections in use at once (default: the primary pool size);
+     * wait-timeout: how long a call may wait for its turn; retry-after: sent to the calls turned away
+     */
+    @ConfigurationProperties(prefix = "app.database.bulkhead")
+    record DatabaseBulkheadProperties(Integer maxConcurrent, Duration waitTimeout, Duration retryAfter) {
+        public DatabaseBulkheadProperties {
+            if (waitTimeout == null) {
+                waitTimeout = Duration.ofSeconds(2);
+            }
+            if (retryAfter == null) {
+                retryAfter = Duration.ofSeconds(1);
+            }
+        }
+    }
+}
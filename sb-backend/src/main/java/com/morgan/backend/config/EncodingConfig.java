@@ -0,0 +1,54 @@
+package com.morgan.backend.config;
+
+import com.morgan.backend.encoding.ResponseCompressor;
+import com.morgan.backend.encoding.ResponseEncoder;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Encoding of the employee read payloads: JSON, CBOR, Smile or Protobuf per {@code Accept},
+ * gzip or zstd per {@code Accept-Encoding}, see {@link ResponseEncoder}.
+ */
+@Configuration
+@EnableConfigurationProperties(EncodingConfig.EncodingProperties.class)
+public class EncodingConfig {
+
+    @Bean
+    public ResponseCompressor responseCompressor(EncodingProperties encodingProperties) {
+        return new ResponseCompressor(Math.toIntExact(encodingProperties.minCompressSize().toBytes()),
+            encodingProperties.gzipLevel(), encodingProperties.zstdLevel(), encodingProperties.poolSize());
+    }
+
+    @Bean
+    public ResponseEncoder responseEncoder(JsonMapper jsonMapper, ResponseCompressor responseCompressor) {
+        return new ResponseEncoder(jsonMapper, responseCompressor);
+    }
+
+    /**
+     * Encoding properties.
+     * Bound from `app.encoding.*` in application.yml.
+     * min-compress-size: smaller bodies are sent uncompressed; gzip-level: 1 to 9; zstd-level: 1 to 19;
+     * pool-size: idle compressors and buffers kept for reuse, of each kind
+     */
+    @ConfigurationProperties(prefix = "app.encoding")
+    record EncodingProperties(DataSize minCompressSize, Integer gzipLevel, Integer zstdLevel, Integer poolSize) {
+        public EncodingProperties {
+            if (minCompressSize == null) {
+                minCompressSize = DataSize.ofKilobytes(1);
+            }
+            if (gzipLevel == null) {
+                gzipLevel = 6;
+            }
+            if (zstdLevel == null) {
+                zstdLevel = 3;
+            }
+            if (poolSize == null) {
+                poolSize = 16;
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.morgan.backend.config;
+
+import com.morgan.backend.imports.BatchInsertEmployeeLoader;
+import com.morgan.backend.imports.CopyEmployeeLoader;
+import com.morgan.backend.imports.EmployeeCsvImporter;
+import com.morgan.backend.imports.EmployeeLoader;
+import com.morgan.backend.mappers.EmployeeMapper;
+import com.morgan.backend.services.EmployeeService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * CSV import ({@code POST /api/employees/import}), loading the rows through the {@link EmployeeLoader}
+ * selected with {@code app.import.loader}.
+ */
+@Configuration
+@EnableConfigurationProperties(ImportConfig.ImportConfigProperties.class)
+public class ImportConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.import.loader", havingValue = "batch", matchIfMissing = true)
+    public BatchInsertEmployeeLoader batchInsertEmployeeLoader(EntityManager entityManager) {
+        return new BatchInsertEmployeeLoader(entityManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.import.loader", havingValue = "copy")
+    public CopyEmployeeLoader copyEmployeeLoader(JdbcTemplate jdbcTemplate) {
+        return new CopyEmployeeLoader(jdbcTemplate);
+    }
+
+    @Bean
+    public EmployeeCsvImporter employeeCsvImporter(EmployeeLoader employeeLoader,
+                                                   EmployeeMapper employeeMapper,
+                                                   Validator validator,
+                                                   PlatformTransactionManager transactionManager,
+                                                   EmployeeService employeeService,
+                                                   ImportConfigProperties importConfigProperties) {
+        return new EmployeeCsvImporter(employeeLoader, employeeMapper, validator, new TransactionTemplate(transactionManager),
+            employeeService, importConfigProperties.chunkSize(), importConfigProperties.maxReportedRejections());
+    }
+
+    /**
+     * Import properties.
+     * Bound from `app.import.*` in application.yml.
+     * loader: batch (JPA inserts in JDBC batches, default) or copy (Postgres COPY);
+     * chunk-size: rows per transaction; max-reported-rejections: rejected rows listed in the response, the others are only counted
+     */
+    @ConfigurationProperties(prefix = "app.import")
+    record ImportConfigProperties(String loader, Integer chunkSize, Integer maxReportedRejections) {
+        public ImportConfigProperties {
+            if (chunkSize == null) {
+                chunkSize = 5000;
+            }
+            if (maxReportedRejections == null) {
+                maxReportedRejections = 100;
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.morgan.backend.config;
+
+import com.morgan.backend.filters.RequestTimingFilter;
+import com.morgan.backend.metrics.RequestTimingInterceptor;
+import com.morgan.backend.metrics.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Per-request phase timings (see {@link com.morgan.backend.metrics.RequestTimings}): the filter and interceptor
+ * marking the phases of every request. The security chain marks its own (see SecurityConfig), the caches are timed
+ * by CacheConfig's resolver and the JDBC statements by a Hibernate listener (see application.yml).
+ */
+@Configuration
+@EnableConfigurationProperties(MetricsConfig.MetricsConfigProperties.class)
+public class MetricsConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestTimingFilter> requestTimingFilter(MeterRegistry meterRegistry,
+                                                                           MetricsConfigProperties metricsConfigProperties) {
+        FilterRegistrationBean<RequestTimingFilter> registration =
+            new FilterRegistrationBean<>(new RequestTimingFilter(meterRegistry, metricsConfigProperties.serverTiming()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE); // outermost: its total covers every other filter
+        return registration;
+    }
+
+    // picked up by every handler mapping: controllers, static resources...
+    @Bean
+    public MappedInterceptor requestTimingInterceptor() {
+        return new MappedInterceptor(null, new RequestTimingInterceptor());
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                                                   MetricsConfigProperties metricsConfigProperties) {
+        return new VirtualThreadPinningMonitor(metricsConfigProperties.pinnedThreshold(), meterRegistry);
+    }
+
+    /**
+     * Metrics properties.
+     * Bound from `app.metrics.*` in application.yml.
+     * server-timing: also send each request's phase timings back in a Server-Timing header;
+     * pinned-threshold: virtual thread pinnings shorter than that are not reported
+     */
+    @ConfigurationProperties(prefix = "app.metrics")
+    record MetricsConfigProperties(boolean serverTiming, Duration pinnedThreshold) {
+        public MetricsConfigProperties {
+            if (pinnedThreshold == null) {
+                pinnedThreshold = Duration.ofMillis(20);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.morgan.backend.config;
+
+import com.morgan.backend.cache.CacheInvalidationBus;
+import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.search.DatabaseEmployeeSearch;
+import com.morgan.backend.search.EmployeeSearch;
+import com.morgan.backend.search.EmployeeSearchIndexes;
+import com.morgan.backend.search.InMemoryEmployeeSearch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Employee search ({@code GET /api/employees/search}), backed by the {@link EmployeeSearch}
+ * selected with {@code app.search.index}.
+ */
+@Configuration
+@EnableConfigurationProperties(SearchConfig.SearchConfigProperties.class)
+public class SearchConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.search.index", havingValue = "memory", matchIfMissing = true)
+    public InMemoryEmployeeSearch inMemoryEmployeeSearch(EmployeeRepository employeeRepository,
+                                                         EntityManager entityManager,
+                                                         PlatformTransactionManager transactionManager,
+                                                         CacheInvalidationBus cacheInvalidationBus) {
+        TransactionTemplate readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+        InMemoryEmployeeSearch search = new InMemoryEmployeeSearch(employeeRepository, entityManager, readOnlyTransactionTemplate);
+        cacheInvalidationBus.addListener(search); // to follow the writes of the other nodes
+        return search;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.search.index", havingValue = "database")
+    public DatabaseEmployeeSearch databaseEmployeeSearch(EmployeeRepository employeeRepository) {
+        return new DatabaseEmployeeSearch(employeeRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.search.index", havingValue = "database")
+    public EmployeeSearchIndexes employeeSearchIndexes(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        return new EmployeeSearchIndexes(jdbcTemplate, entityManagerFactory);
+    }
+
+    /**
+     * Search properties.
+     * Bound from `app.search.*` in application.yml.
+     * index: memory (inverted index kept in memory, default) or database (one query per search)
+     */
+    @ConfigurationProperties(prefix = "app.search")
+    record SearchConfigProperties(String index) {
+    }
+}
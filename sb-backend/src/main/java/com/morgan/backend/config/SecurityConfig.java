@@ -1,8 +1,15 @@
 package com.morgan.backend.config;
 
 import com.morgan.backend.filters.CsrfCookieFilter;
-import com.morgan.backend.repositories.UserAccountRepository;
+import com.morgan.backend.metrics.PhaseMarkerFilter;
+import com.morgan.backend.metrics.RequestTimings;
+import com.morgan.backend.security.AccountPrincipal;
+import com.morgan.backend.security.BoundedPasswordEncoder;
+import com.morgan.backend.services.UserAccountService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,33 +18,38 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.logout.CookieClearingLogoutHandler;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
-import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.security.web.session.DisableEncodeUrlFilter;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.csrf.CsrfFilter;
 import org.springframework.security.web.csrf.CsrfTokenRequestAttributeHandler;
 
+import java.time.Duration;
+
 @Configuration
 @EnableMethodSecurity
+@EnableConfigurationProperties(SecurityConfig.PasswordHashingProperties.class)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-    private final UserAccountRepository userAccountRepository;
+    private final UserAccountService userAccountService;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http,
                                                    SecurityContextRepository securityContextRepository,
                                                    CsrfCookieFilter csrfCookieFilter,
-                                                   CsrfTokenRequestAttributeHandler csrfRequestHandler) throws Exception {
+                                                   CsrfTokenRequestAttributeHandler csrfRequestHandler,
+                                                   SessionConfig.SessionConfigProperties sessionConfigProperties) throws Exception {
 
         http
             // tells Spring Security to delegate CORS decisions to the MVC CORS config / WebMvcConfigurer = CorsConfig
@@ -61,9 +73,14 @@ public class SecurityConfig {
                 )
             )
 
-            // Ensure the filter chain loads/saves the SecurityContext using the same session-based repository
+            // Ensure the filter chain loads/saves the SecurityContext using the same repository (see SessionConfig)
             .securityContext(sc -> sc.securityContextRepository(securityContextRepository))
 
+            // In cookie mode, no HttpSession is ever created
+            .sessionManagement(sm -> sm.sessionCreationPolicy(sessionConfigProperties.stateless()
+                ? SessionCreationPolicy.STATELESS
+                : SessionCreationPolicy.IF_REQUIRED))
+
             .authorizeHttpRequests(auth -> auth
                 // public endpoints
                 .requestMatchers(
@@ -95,52 +112,58 @@ public class SecurityConfig {
         // Force CSRF token to be generated & sent as cookie on each request
         http.addFilterAfter(csrfCookieFilter, CsrfFilter.class);
 
+        // Phase timings (see RequestTimings): where the security chain starts and ends
+        http.addFilterBefore(new PhaseMarkerFilter(RequestTimings::securityStarted), DisableEncodeUrlFilter.class);
+        http.addFilterAfter(new PhaseMarkerFilter(RequestTimings::securityEnded), AuthorizationFilter.class);
+
         return http.build();
     }
 
     /**
-     * Bridge your UserAccountRepository to Spring Security.
+     * Bridge the user accounts to Spring Security, through their cache: a warm login does not query the users table.
      */
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userAccountRepository.findByUsername(username)
-            .map(user -> {
-                // adapt to your UserAccount entity fields
-                // example: role "USER" for everyone for now
-                UserDetails details = User
-                    .withUsername(user.getUsername())
-                    .password(user.getPasswordHash())
-                    .roles("USER")
-                    .build();
-                return details;
-            })
+        return username -> userAccountService.findByUsername(username)
+            .map(AccountPrincipal::new)
             .orElseThrow(() ->
                 new UsernameNotFoundException("User not found: " + username));
     }
 
+    /**
+     * BCrypt, run on a bounded pool so that a login storm cannot take every core (see {@link BoundedPasswordEncoder}).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(
+            new BCryptPasswordEncoder(passwordHashingProperties.bcryptStrength()),
+            passwordHashingProperties.threads(),
+            passwordHashingProperties.queueCapacity(),
+            passwordHashingProperties.retryAfter(),
+            meterRegistry);
     }
 
     /**
      * AuthenticationManager used by AuthenticationController.
+     * Hashes stored with a lower BCrypt strength than configured are upgraded on the next successful login.
      */
     @Bean
     public AuthenticationManager authenticationManager(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService((user, newPasswordHash) ->
+            userAccountService.updatePasswordHash(user.getUsername(), newPasswordHash)
+                .<UserDetails>map(AccountPrincipal::new)
+                .orElse(user));
         return new ProviderManager(provider);
     }
 
+    // Saves an empty context on logout: drops it from the session, or expires the cookie in cookie mode
     @Bean
-    public SecurityContextRepository securityContextRepository() {
-        return new HttpSessionSecurityContextRepository();
-    }
-
-    @Bean
-    public SecurityContextLogoutHandler securityContextLogoutHandler() {
-        return new SecurityContextLogoutHandler();
+    public SecurityContextLogoutHandler securityContextLogoutHandler(SecurityContextRepository securityContextRepository) {
+        SecurityContextLogoutHandler handler = new SecurityContextLogoutHandler();
+        handler.setSecurityContextRepository(securityContextRepository);
+        return handler;
     }
 
     @Bean
@@ -155,5 +178,28 @@ public class SecurityConfig {
         requestHandler.setCsrfRequestAttributeName(null);
         return requestHandler;
     }
-}
 
+    /**
+     * Password hashing properties.
+     * Bound from `app.security.password.*` in application.yml.
+     * bcrypt-strength: log2 of the BCrypt rounds; threads: hashing threads (default: one per core);
+     * queue-capacity: hashes allowed to wait for a thread; retry-after: sent to the logins turned away
+     */
+    @ConfigurationProperties(prefix = "app.security.password")
+    record PasswordHashingProperties(Integer bcryptStrength, Integer threads, Integer queueCapacity, Duration retryAfter) {
+        public PasswordHashingProperties {
+            if (bcryptStrength == null) {
+                bcryptStrength = 10;
+            }
+            if (threads == null) {
+                threads = Runtime.getRuntime().availableProcessors();
+            }
+            if (queueCapacity == null) {
+                queueCapacity = threads * 16;
+            }
+            if (retryAfter == null) {
+                retryAfter = Duration.ofSeconds(1);
+            }
+        }
+    }
+}
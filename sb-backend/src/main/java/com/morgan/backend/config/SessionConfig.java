@@ -0,0 +1,122 @@
+package com.morgan.backend.config;
+
+import com.morgan.backend.security.CompactSessionAttributes;
+import com.morgan.backend.security.EncryptedCookieSecurityContextRepository;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.jdbc.init.PlatformPlaceholderDatabaseDriverResolver;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
+import org.springframework.session.web.http.CookieSerializer;
+import org.springframework.session.web.http.DefaultCookieSerializer;
+
+import javax.crypto.spec.SecretKeySpec;
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Where the {@code SecurityContext} of a logged-in user lives between requests, selected with {@code app.security.session.mode}:
+ * <ul>
+ *   <li>{@code http} (default): in the servlet container's {@code HttpSession}, in the heap of one node
+ *       (several nodes need sticky sessions);</li>
+ *   <li>{@code cookie}: in an encrypted cookie, nothing kept on the server (see {@link EncryptedCookieSecurityContextRepository});</li>
+ *   <li>{@code jdbc}: in an {@code HttpSession} stored in the database by Spring Session, shared by every node.</li>
+ * </ul>
+ * CSRF works the same in every mode: its token is a double-submit cookie ({@code XSRF-TOKEN}), never kept in the session.
+ */
+@Configuration
+@EnableConfigurationProperties(SessionConfig.SessionConfigProperties.class)
+public class SessionConfig {
+
+    @Bean
+    @ConditionalOnExpression("'${app.security.session.mode:http}' != 'cookie'")
+    public HttpSessionSecurityContextRepository httpSessionSecurityContextRepository() {
+        return new HttpSessionSecurityContextRepository();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.security.session.mode", havingValue = "cookie")
+    public EncryptedCookieSecurityContextRepository encryptedCookieSecurityContextRepository(SessionConfigProperties sessionConfigProperties) {
+        String secret = sessionConfigProperties.cookieSecret();
+        byte[] key = secret == null ? new byte[0] : Base64.getDecoder().decode(secret);
+        if (key.length != 32) {
+            // every node must share the key, so it cannot be generated here
+            throw new IllegalStateException("app.security.session.cookie-secret must be 32 random bytes, base64-encoded");
+        }
+        return new EncryptedCookieSecurityContextRepository(
+            new SecretKeySpec(key, "AES"), sessionConfigProperties.cookieTimeToLive(), Clock.systemUTC());
+    }
+
+    /**
+     * Spring Session JDBC, enabled by hand rather than by Boot's auto-configuration so that it stays off in the other modes.
+     * Its tables are created at startup if missing (H2 or Postgres script, picked from the datasource).
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "app.security.session.mode", havingValue = "jdbc")
+    @EnableJdbcHttpSession
+    static class JdbcSessionConfig implements BeanClassLoaderAware {
+
+        private ClassLoader classLoader;
+
+        @Override
+        public void setBeanClassLoader(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        @Bean
+        public ConversionService springSessionConversionService() {
+            return CompactSessionAttributes.conversionService(classLoader);
+        }
+
+        // same cookie name as the container sessions, so the frontend and the logout handler do not change
+        @Bean
+        public CookieSerializer cookieSerializer() {
+            DefaultCookieSerializer cookieSerializer = new DefaultCookieSerializer();
+            cookieSerializer.setCookieName("JSESSIONID");
+            return cookieSerializer;
+        }
+
+        @Bean
+        public DataSourceScriptDatabaseInitializer springSessionSchemaInitializer(DataSource dataSource) {
+            DatabaseInitializationSettings settings = new DatabaseInitializationSettings();
+            settings.setSchemaLocations(new PlatformPlaceholderDatabaseDriverResolver()
+                .resolveAll(dataSource, "classpath:org/springframework/session/jdbc/schema-@@platform@@.sql"));
+            settings.setMode(DatabaseInitializationMode.ALWAYS);
+            settings.setContinueOnError(true); // the tables already exist
+            return new DataSourceScriptDatabaseInitializer(dataSource, settings);
+        }
+    }
+
+    /**
+     * Session properties.
+     * Bound from `app.security.session.*` in application.yml.
+     * mode: http (default), cookie or jdbc; cookie-secret: AES-256 key shared by every node, base64-encoded (cookie mode);
+     * cookie-time-to-live: how long a login lasts (cookie mode)
+     */
+    @ConfigurationProperties(prefix = "app.security.session")
+    record SessionConfigProperties(String mode, String cookieSecret, Duration cookieTimeToLive) {
+        public SessionConfigProperties {
+            if (mode == null) {
+                mode = "http";
+            }
+            if (cookieTimeToLive == null) {
+                cookieTimeToLive = Duration.ofHours(8);
+            }
+        }
+
+        boolean stateless() {
+            return "cookie".equals(mode);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.morgan.backend.config;
+
+import com.morgan.backend.cache.StaticAssetCache;
+import com.morgan.backend.filters.StaticAssetFilter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.util.List;
+
+/**
+ * Serves the Angular build from memory, ahead of the security filter chain (see {@link StaticAssetFilter}).
+ */
+@Configuration
+@EnableConfigurationProperties(StaticAssetConfig.StaticAssetProperties.class)
+public class StaticAssetConfig {
+
+    @Bean
+    public StaticAssetCache staticAssetCache(ResourcePatternResolver resourcePatternResolver,
+                                             StaticAssetProperties staticAssetProperties) {
+        return new StaticAssetCache(resourcePatternResolver, staticAssetProperties.locations());
+    }
+
+    @Bean
+    public FilterRegistrationBean<StaticAssetFilter> staticAssetFilter(StaticAssetCache staticAssetCache) {
+        FilterRegistrationBean<StaticAssetFilter> registration =
+            new FilterRegistrationBean<>(new StaticAssetFilter(staticAssetCache));
+        // right after the request timing filter, well before Spring Security's chain (-100)
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    /**
+     * Static asset properties.
+     * Bound from `app.static-assets.*` in application.yml.
+     * locations: classpath directories loaded in memory at startup (default: where the angular-frontend jar
+     * puts the build, then Spring Boot's static folder)
+     */
+    @ConfigurationProperties(prefix = "app.static-assets")
+    record StaticAssetProperties(List<String> locations) {
+        public StaticAssetProperties {
+            if (locations == null || locations.isEmpty()) {
+                locations = List.of("classpath*:META-INF/resources/", "classpath*:static/");
+            }
+        }
+    }
+}
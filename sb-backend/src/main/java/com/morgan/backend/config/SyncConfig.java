@@ -0,0 +1,72 @@
+package com.morgan.backend.config;
+
+import com.morgan.backend.repositories.EmployeeChangeTracking;
+import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.repositories.EmployeeTombstoneRepository;
+import com.morgan.backend.services.EmployeeSync;
+import com.morgan.backend.services.EmployeeTombstonePruner;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Delta sync ({@code GET /api/employees/sync}): the change numbering triggers, the sync itself
+ * and the pruning of the tombstones, see {@link EmployeeSync}.
+ */
+@Configuration
+@EnableConfigurationProperties(SyncConfig.SyncProperties.class)
+public class SyncConfig {
+
+    @Bean
+    public EmployeeChangeTracking employeeChangeTracking(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        return new EmployeeChangeTracking(jdbcTemplate, entityManagerFactory);
+    }
+
+    @Bean
+    public EmployeeSync employeeSync(EmployeeRepository employeeRepository,
+                                     EmployeeTombstoneRepository employeeTombstoneRepository,
+                                     EmployeeChangeTracking employeeChangeTracking,
+                                     SyncProperties syncProperties) {
+        return new EmployeeSync(employeeRepository, employeeTombstoneRepository, employeeChangeTracking,
+            syncProperties.tombstoneRetention(), Clock.systemUTC());
+    }
+
+    @Bean
+    public EmployeeTombstonePruner employeeTombstonePruner(EmployeeTombstoneRepository employeeTombstoneRepository,
+                                                           SyncProperties syncProperties) {
+        return new EmployeeTombstonePruner(employeeTombstoneRepository, syncProperties.tombstoneRetention(),
+            syncProperties.pruneInterval(), Clock.systemUTC());
+    }
+
+    @Bean
+    public SchedulingConfigurer tombstonePruning(EmployeeTombstonePruner employeeTombstonePruner, SyncProperties syncProperties) {
+        return registrar -> registrar.addFixedDelayTask(
+            new FixedDelayTask(employeeTombstonePruner::prune, syncProperties.pruneInterval(), syncProperties.pruneInterval()));
+    }
+
+    /**
+     * Sync properties.
+     * Bound from `app.sync.*` in application.yml.
+     * tombstone-retention: how long deletions are kept, and sync tokens valid (older ones get a full sync);
+     * prune-interval: how often the older tombstones are deleted
+     */
+    @ConfigurationProperties(prefix = "app.sync")
+    record SyncProperties(Duration tombstoneRetention, Duration pruneInterval) {
+        public SyncProperties {
+            if (tombstoneRetention == null) {
+                tombstoneRetention = Duration.ofDays(30);
+            }
+            if (pruneInterval == null) {
+                pruneInterval = Duration.ofHours(1);
+            }
+        }
+    }
+}
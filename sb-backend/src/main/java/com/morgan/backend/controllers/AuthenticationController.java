@@ -1,13 +1,16 @@
 package com.morgan.backend.controllers;
 
-import com.morgan.backend.entities.UserAccount;
-import com.morgan.backend.repositories.UserAccountRepository;
+import com.morgan.backend.exceptions.ServiceUnavailableException;
+import com.morgan.backend.security.AccountPrincipal;
+import com.morgan.backend.services.UserAccountService;
+import com.morgan.backend.services.UserAccountService.Account;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -39,7 +42,7 @@ public class AuthenticationController {
     private final SecurityContextRepository securityContextRepository;
     private final SecurityContextLogoutHandler securityContextLogoutHandler;
     private final CookieClearingLogoutHandler cookieClearingLogoutHandler;
-    private final UserAccountRepository userAccountRepository;
+    private final UserAccountService userAccountService;
 
     public record LoginRequestDto(
         @NotBlank(message = "User name is required")
@@ -67,6 +70,8 @@ public class AuthenticationController {
      * <p>On later requests, the browser automatically includes the {@code JSESSIONID} cookie,
      * allowing Spring Security to retrieve the stored SecurityContext from the session
      * and recognize the user as authenticated.</p>
+     * <p>With {@code app.security.session.mode=cookie}, the SecurityContext is saved in an encrypted cookie
+     * instead, and no session is created (see {@code SessionConfig}).</p>
      */
     @PostMapping("/login")
     public ResponseEntity<LoginResponseDto> login(@Valid @RequestBody LoginRequestDto request,
@@ -90,17 +95,14 @@ public class AuthenticationController {
             // 2) Explicitly save it to the HttpSession via SecurityContextRepository
             securityContextRepository.saveContext(securityContext, servletRequest, servletResponse);
 
-            String username = authentication.getName();
-
-            // Get full user from DB so we have email
-            UserAccount user = userAccountRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found in DB: " + username));
-
             // You can enrich the response with roles, etc.
-            LoginResponseDto response = new LoginResponseDto(user.getUsername(), user.getEmail());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(toLoginResponse(authentication));
 
         } catch (AuthenticationException ex) {
+            ServiceUnavailableException unavailable = ExceptionUtils.throwableOfType(ex, ServiceUnavailableException.class);
+            if (unavailable != null) {
+                throw unavailable; // the user lookup was turned away: a 503, not a failed login
+            }
             if (ex instanceof BadCredentialsException) {
                 log.warn("Invalid login for username [{}]", request.username());
             } else {
@@ -117,14 +119,7 @@ public class AuthenticationController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        String username = authentication.getName();
-
-        UserAccount user = userAccountRepository.findByUsername(username)
-            .orElseThrow(() -> new IllegalStateException(
-                "Authenticated user not found in DB: " + username));
-
-
-        return ResponseEntity.ok(new LoginResponseDto(user.getUsername(), user.getEmail()));
+        return ResponseEntity.ok(toLoginResponse(authentication));
     }
 
     @PostMapping("/logout")
@@ -143,6 +138,17 @@ public class AuthenticationController {
         return ResponseEntity.noContent().build();
     }
 
+    // The principal built at login carries the email; any other principal is looked up (cached)
+    private LoginResponseDto toLoginResponse(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AccountPrincipal principal) {
+            return new LoginResponseDto(principal.getUsername(), principal.getEmail());
+        }
+        String username = authentication.getName();
+        Account account = userAccountService.findByUsername(username)
+            .orElseThrow(() -> new IllegalStateException("Authenticated user not found in DB: " + username));
+        return new LoginResponseDto(account.username(), account.email());
+    }
+
     @GetMapping("/csrf")
     public Map<String, String> csrf(CsrfToken token) {
         log.info("Request get /csrf");
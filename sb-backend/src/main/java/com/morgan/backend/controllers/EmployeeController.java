@@ -1,24 +1,88 @@
 package com.morgan.backend.controllers;
 
+import com.morgan.backend.cache.EmployeeJsonCache;
+import com.morgan.backend.dtos.BatchResultDto;
 import com.morgan.backend.dtos.EmployeeDto;
+import com.morgan.backend.dtos.EmployeePageDto;
+import com.morgan.backend.dtos.EmployeePatchDto;
+import com.morgan.backend.dtos.EmployeeStatsDto;
+import com.morgan.backend.dtos.EmployeeSyncDto;
+import com.morgan.backend.dtos.ImportResultDto;
+import com.morgan.backend.encoding.ContentCoding;
+import com.morgan.backend.encoding.EncodedResponse;
+import com.morgan.backend.encoding.PayloadFormat;
+import com.morgan.backend.encoding.ResponseCompressor;
+import com.morgan.backend.encoding.ResponseEncoder;
+import com.morgan.backend.encoding.ResponseEncoder.Variant;
 import com.morgan.backend.entities.Employee;
+import com.morgan.backend.exceptions.BadRequestException.BatchTooLargeException;
+import com.morgan.backend.imports.EmployeeCsvImporter;
+import com.morgan.backend.imports.EmployeeCsvImporter.ImportResult;
 import com.morgan.backend.mappers.EmployeeMapper;
+import com.morgan.backend.services.EmployeeRoleStats.RoleStats;
+import com.morgan.backend.services.EmployeeChangeFeed;
+import com.morgan.backend.services.EmployeeChangeFeed.Change;
+import com.morgan.backend.services.EmployeeChangeFeed.Subscription;
 import com.morgan.backend.services.EmployeeService;
+import com.morgan.backend.services.EmployeeService.BatchItemResult;
+import com.morgan.backend.services.EmployeeService.BatchItemStatus;
+import com.morgan.backend.services.EmployeeService.PageQuery;
+import com.morgan.backend.services.EmployeeService.SortField;
+import com.morgan.backend.services.EmployeeSync;
+import com.morgan.backend.services.EmployeeSync.SyncPage;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -28,42 +92,390 @@ public class EmployeeController {
 
     private final EmployeeMapper employeeMapper;
     private final EmployeeService employeeService;
+    private final EmployeeJsonCache employeeJsonCache;
+    private final ResponseEncoder responseEncoder;
+    private final ResponseCompressor responseCompressor;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final EmployeeCsvImporter employeeCsvImporter;
+    private final EmployeeChangeFeed employeeChangeFeed;
+    private final EmployeeSync employeeSync;
+
+    private static final String ENCODED_VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+    private static final int IMPORT_BUFFER_SIZE = 64 * 1024;
+    // how long the browser waits before reconnecting a dropped change stream
+    private static final int CHANGES_RETRY_MILLIS = 3000;
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String fileExtension;
 
+        ExportFormat(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+    }
+
+    /**
+     * Keyset-paginated list: {@code ?sort=lastName&direction=ASC&limit=50}, then follow {@code next}
+     * (or pass {@code nextCursor} as {@code ?after=}) until it is null. {@code ?role=} keeps one role only.
+     * Like {@code GET /{id}}, it carries an ETag and answers a matching {@code If-None-Match} with 304.
+     * <p>Like the search and sync, it is sent as JSON, CBOR, Smile or Protobuf per {@code Accept},
+     * and compressed with zstd or gzip per {@code Accept-Encoding} (see {@link ResponseEncoder}).</p>
+     */
     @GetMapping
-    public ResponseEntity<List<EmployeeDto>> getEmployees() {
-        log.info("Request getEmployees");
-        List<Employee> employees = employeeService.findAll();
-        return ResponseEntity.ok(employeeMapper.toDtoList(employees));
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = EmployeePageDto.class)))
+    public ResponseEntity<byte[]> getEmployees(@RequestParam(required = false) String after,
+                                               @RequestParam(defaultValue = "" + EmployeeService.DEFAULT_PAGE_SIZE) int limit,
+                                               @RequestParam(defaultValue = "id") String sort,
+                                               @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                               @RequestParam(required = false) String role,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                               WebRequest webRequest,
+                                               HttpServletResponse response) {
+        log.info("Request getEmployees [after={}], [limit={}], [sort={}], [direction={}], [role={}]", after, limit, sort, direction, role);
+        PageQuery query = new PageQuery(SortField.fromProperty(sort), direction, role, after, limit);
+        PayloadFormat format = PayloadFormat.negotiate(accept);
+        ContentCoding coding = ContentCoding.negotiate(acceptEncoding);
+        response.setHeader(HttpHeaders.VARY, ENCODED_VARY); // on the 304 too
+        if (webRequest.checkNotModified(coding.etag(format.etag(EmployeeJsonCache.pageETag(employeeService.findPage(query)))))) {
+            return null; // 304, answered from the cached page alone
+        }
+        String requestUrl = ServletUriComponentsBuilder.fromCurrentRequest().toUriString();
+        return encoded(employeeJsonCache.page(query, requestUrl), format, coding);
+    }
+
+    /**
+     * Streams the whole directory as NDJSON (default) or CSV ({@code ?format=CSV}), compressed with zstd or gzip
+     * per {@code Accept-Encoding} (see {@link ContentCoding#negotiate}). Rows go from the DB cursor straight to the
+     * response through a fixed-size buffer, so memory stays flat whatever the table size.
+     */
+    @GetMapping("/export")
+    public void exportEmployees(@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                HttpServletResponse response) throws IOException {
+        log.info("Request exportEmployees [format={}], [acceptEncoding={}]", format, acceptEncoding);
+        ContentCoding coding = ContentCoding.negotiate(acceptEncoding);
+
+        response.setContentType(format.contentType);
+        response.setCharacterEncoding(UTF_8);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("employees." + format.fileExtension).build().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (coding != ContentCoding.IDENTITY) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, coding.token());
+        }
+        OutputStream out = responseCompressor.compressing(response.getOutputStream(), coding, EXPORT_BUFFER_SIZE);
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8), EXPORT_BUFFER_SIZE)) {
+            long count = switch (format) {
+                case NDJSON -> exportNdjson(writer);
+                case CSV -> exportCsv(writer);
+            };
+            log.info("Exported {} employees as {}", count, format);
+        }
+    }
+
+    private long exportNdjson(Writer writer) {
+        try (SequenceWriter lines = jsonMapper.writerFor(EmployeeDto.class).withRootValueSeparator("\n").writeValues(writer)) {
+            long count = employeeService.streamAll(employee -> lines.write(employeeMapper.toDto(employee)));
+            lines.flush();
+            writer.write('\n'); // the separator only goes between values
+            return count;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private long exportCsv(Writer writer) throws IOException {
+        writer.write("id,firstName,lastName,role\n");
+        return employeeService.streamAll(employee -> {
+            try {
+                writer.write(String.valueOf(employee.getId()));
+                for (String field : new String[]{employee.getFirstName(), employee.getLastName(), employee.getRole()}) {
+                    writer.write(',');
+                    writer.write(csvEscape(field));
+                }
+                writer.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    // RFC 4180: quote fields containing a separator, a quote or a line break, doubling inner quotes
+    private static String csvEscape(String field) {
+        if (field == null) {
+            return "";
+        }
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Server-sent events of the committed writes ({@code created}, {@code updated}, {@code deleted}, plus
+     * {@code stale} ids written on another node and {@code reset} when the list must be reloaded), so clients
+     * can stop polling the list. An {@code EventSource} reconnects by itself and resumes after its
+     * {@code Last-Event-ID}.
+     * <p>The request thread is virtual: an idle subscriber is a parked thread waiting on its queue,
+     * woken by an event or by the heartbeat, which finds the clients gone.</p>
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                              HttpServletResponse response) {
+        log.info("Request streamChanges [lastEventId={}]", lastEventId);
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(UTF_8);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader("X-Accel-Buffering", "no"); // nor should a reverse proxy hold the events back
+
+        try (Subscription subscription = employeeChangeFeed.subscribe(lastEventId);
+             Writer writer = new OutputStreamWriter(response.getOutputStream(), UTF_8)) {
+            writer.write("retry: " + CHANGES_RETRY_MILLIS + "\n\n");
+            writer.flush();
+            while (true) {
+                Change change = subscription.next();
+                if (change != null) {
+                    writer.write("id: " + change.id() + "\nevent: " + change.type().name().toLowerCase(Locale.ROOT)
+                        + "\ndata: " + jsonMapper.writeValueAsString(change.data()) + "\n\n");
+                } else if (subscription.isClosed()) {
+                    return; // dropped as too slow: the client reconnects and resumes
+                } else {
+                    writer.write(": heartbeat\n\n");
+                }
+                writer.flush(); // fails once the client is gone
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt(); // shutting down
+        } catch (IOException ex) {
+            log.debug("Change stream closed by the client: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Delta sync for clients keeping their own copy of the directory: the employees written and the ids deleted
+     * since {@code ?since=} (the token of the previous sync), and the token to pass next time. Without it,
+     * or with one too old, the sync is {@code full}. While {@code hasMore}, the next page follows at once.
+     */
+    @GetMapping("/sync")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = EmployeeSyncDto.class)))
+    public ResponseEntity<byte[]> syncEmployees(@RequestParam(required = false) String since,
+                                                @RequestParam(defaultValue = "" + EmployeeSync.DEFAULT_SYNC_LIMIT) int limit,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("Request syncEmployees [since={}], [limit={}]", since, limit);
+        SyncPage page = employeeSync.changesSince(since, limit);
+        EmployeeSyncDto sync = new EmployeeSyncDto(employeeMapper.toDtoList(page.changed()), page.deleted(), page.token(), page.full(), page.hasMore());
+        return encoded(new EncodedResponse(null, sync), PayloadFormat.negotiate(accept), ContentCoding.negotiate(acceptEncoding));
+    }
+
+    /**
+     * Imports the employees of a CSV file with a {@code firstName,lastName,role} header, as written by
+     * {@code GET /export?format=CSV}: sent as the request body ({@code Content-Type: text/csv}), read as it
+     * arrives, without being spooled to disk first. Invalid rows are reported with their line and skipped,
+     * the valid ones are imported.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportResultDto> importEmployeesCsv(InputStream body) throws IOException {
+        log.info("Request importEmployeesCsv");
+        try (Reader reader = new BufferedReader(new InputStreamReader(body, UTF_8), IMPORT_BUFFER_SIZE)) {
+            ImportResult result = employeeCsvImporter.importCsv(reader); // refreshes the caches once
+            List<ImportResultDto.RejectedRowDto> rejectedRows = result.rejectedRows().stream()
+                .map(row -> new ImportResultDto.RejectedRowDto(row.line(), row.errors()))
+                .toList();
+            return ResponseEntity.ok(new ImportResultDto(result.imported(), result.rejected(), result.complete(), rejectedRows));
+        }
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<EmployeeStatsDto> getEmployeeStats() {
+        log.info("Request getEmployeeStats");
+        RoleStats stats = employeeService.stats();
+        List<EmployeeStatsDto.RoleCountDto> roles = stats.roles().stream()
+            .map(roleStat -> new EmployeeStatsDto.RoleCountDto(roleStat.role(), roleStat.count()))
+            .toList();
+        return ResponseEntity.ok(new EmployeeStatsDto(stats.total(), roles));
+    }
+
+    /**
+     * Search as you type: {@code ?q=mor dev} returns the employees having a word starting with "mor"
+     * and one starting with "dev" in their names or role, best matches first.
+     */
+    @GetMapping("/search")
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = EmployeeDto.class))))
+    public ResponseEntity<byte[]> searchEmployees(@RequestParam String q,
+                                                  @RequestParam(defaultValue = "" + EmployeeService.DEFAULT_SEARCH_LIMIT) int limit,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("Request searchEmployees [q={}], [limit={}]", q, limit);
+        List<EmployeeDto> employees = employeeMapper.toDtoList(employeeService.search(q, limit));
+        return encoded(new EncodedResponse(null, employees), PayloadFormat.negotiate(accept), ContentCoding.negotiate(acceptEncoding));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EmployeeDto> getEmployee(@PathVariable Long id) {
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = EmployeeDto.class)))
+    public ResponseEntity<byte[]> getEmployee(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                              WebRequest webRequest,
+                                              HttpServletResponse response) {
         log.info("Request getEmployee [id={}]", id);
-        Employee employee = employeeService.findById(id);
-        return ResponseEntity.ok(employeeMapper.toDto(employee));
+        PayloadFormat format = PayloadFormat.negotiate(accept);
+        ContentCoding coding = ContentCoding.negotiate(acceptEncoding);
+        response.setHeader(HttpHeaders.VARY, ENCODED_VARY); // on the 304 too
+        if (webRequest.checkNotModified(coding.etag(format.etag(EmployeeJsonCache.employeeETag(employeeService.findById(id)))))) {
+            return null; // 304, answered from the cached entity alone
+        }
+        return encoded(employeeJsonCache.employee(id), format, coding);
+    }
+
+    // Pre-encoded bodies are written as they are. Each format and coding has its own ETag (see ContentCoding.etag),
+    // as the 304 checks above compute it
+    private ResponseEntity<byte[]> encoded(EncodedResponse response, PayloadFormat format, ContentCoding coding) {
+        Variant variant = responseEncoder.encode(response, format, coding);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .contentType(format.mediaType())
+            .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (response.etag() != null) {
+            builder.eTag(coding.etag(format.etag(response.etag())));
+        }
+        if (variant.coding() != ContentCoding.IDENTITY) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, variant.coding().token());
+        }
+        return builder.body(variant.body());
     }
 
     @PostMapping
     public ResponseEntity<EmployeeDto> createEmployee(@Valid @RequestBody EmployeeDto newEmployeeDto) {
         log.info("Request createEmployee [newEmployeeDto={}]", newEmployeeDto);
         Employee toSave = employeeMapper.toEntity(newEmployeeDto);
-        Employee saved  = employeeService.create(toSave); // evicts caches
+        Employee saved  = employeeService.create(toSave); // writes through to the cache
         URI location = URI.create("/api/employees/" + saved.getId());
         return ResponseEntity.created(location).body(employeeMapper.toDto(saved));
     }
 
+    /**
+     * Replaces the employee; an unknown id creates a new employee, under a generated id given in {@code Location}.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<EmployeeDto> replaceEmployee(@Valid @RequestBody EmployeeDto newEmployeeDto, @PathVariable Long id) {
         log.info("Request replaceEmployee [newEmployeeDto={}], [id={}]", newEmployeeDto, id);
         Employee entity = employeeMapper.toEntity(newEmployeeDto);
-        Employee saved = employeeService.upsert(id, entity); // evicts caches
+        Employee saved = employeeService.upsert(id, entity); // writes through to the cache
+        if (!saved.getId().equals(id)) {
+            URI location = URI.create("/api/employees/" + saved.getId());
+            return ResponseEntity.created(location).body(employeeMapper.toDto(saved));
+        }
+        return ResponseEntity.ok(employeeMapper.toDto(saved));
+    }
+
+    /**
+     * Changes only the fields sent: {@code {"role": "Architect"}} keeps the names.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<EmployeeDto> patchEmployee(@Valid @RequestBody EmployeePatchDto patchDto, @PathVariable Long id) {
+        log.info("Request patchEmployee [patchDto={}], [id={}]", patchDto, id);
+        Employee changes = employeeMapper.toEntity(patchDto);
+        Employee saved = employeeService.patch(id, changes); // writes through to the cache
         return ResponseEntity.ok(employeeMapper.toDto(saved));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEmployee(@PathVariable Long id) {
         log.info("Request deleteEmployee [id={}]", id);
-        employeeService.delete(id); // triggers @CacheEvict
+        employeeService.delete(id); // evicts its cache entry
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDto> createEmployees(@RequestBody List<EmployeeDto> newEmployeeDtos) {
+        log.info("Request createEmployees [size={}]", newEmployeeDtos.size());
+        return ResponseEntity.ok(writeBatch(newEmployeeDtos, false, employeeService::createAll)); // maintains the caches once
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResultDto> replaceEmployees(@RequestBody List<EmployeeDto> employeeDtos) {
+        log.info("Request replaceEmployees [size={}]", employeeDtos.size());
+        return ResponseEntity.ok(writeBatch(employeeDtos, true, employeeService::upsertAll)); // maintains the caches once
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResultDto> deleteEmployees(@RequestBody List<Long> ids) {
+        log.info("Request deleteEmployees [size={}]", ids.size());
+        checkBatchSize(ids.size());
+        return ResponseEntity.ok(toBatchResultDto(employeeService.deleteAll(ids), Map.of())); // maintains the caches once
+    }
+
+    /**
+     * Validates every item on its own: invalid items are reported as INVALID with their field errors,
+     * the valid ones are written in one go by {@code write}.
+     */
+    private BatchResultDto writeBatch(List<EmployeeDto> dtos,
+                                      boolean idRequired,
+                                      Function<List<Employee>, List<BatchItemResult>> write) {
+        checkBatchSize(dtos.size());
+
+        List<Employee> validEmployees = new ArrayList<>(dtos.size());
+        List<Integer> validIndexes = new ArrayList<>(dtos.size());
+        Map<Integer, Map<String, String>> invalidItems = new HashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            EmployeeDto dto = dtos.get(i);
+            Map<String, String> errors = validate(dto, idRequired);
+            if (errors.isEmpty()) {
+                validEmployees.add(employeeMapper.toEntity(dto));
+                validIndexes.add(i);
+            } else {
+                invalidItems.put(i, errors);
+            }
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(dtos.size());
+        for (BatchItemResult result : write.apply(validEmployees)) {
+            // back to the index in the submitted list
+            results.add(new BatchItemResult(validIndexes.get(result.index()), result.id(), result.status(), result.error()));
+        }
+        invalidItems.forEach((index, errors) ->
+            results.add(new BatchItemResult(index, dtos.get(index).id(), BatchItemStatus.INVALID, null)));
+        return toBatchResultDto(results, invalidItems);
+    }
+
+    private Map<String, String> validate(EmployeeDto dto, boolean idRequired) {
+        if (dto == null) {
+            return Map.of("item", "Employee is required");
+        }
+        Set<ConstraintViolation<EmployeeDto>> violations = validator.validate(dto);
+        Map<String, String> errors = violations.stream()
+            .collect(Collectors.toMap(v -> v.getPropertyPath().toString(), ConstraintViolation::getMessage, (first, second) -> first));
+        if (idRequired && dto.id() == null) {
+            errors.put("id", "Id is required");
+        }
+        return errors;
+    }
+
+    private static void checkBatchSize(int size) {
+        if (size > EmployeeService.MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException(size, EmployeeService.MAX_BATCH_SIZE);
+        }
+    }
+
+    private static BatchResultDto toBatchResultDto(List<BatchItemResult> results, Map<Integer, Map<String, String>> invalidItems) {
+        List<BatchResultDto.ItemDto> items = results.stream()
+            .sorted(Comparator.comparingInt(BatchItemResult::index))
+            .map(result -> new BatchResultDto.ItemDto(
+                result.index(),
+                result.id(),
+                result.status().name(),
+                result.error() != null ? Map.of("item", result.error()) : invalidItems.get(result.index())))
+            .toList();
+        int succeeded = (int) results.stream().filter(BatchItemResult::succeeded).count();
+        return new BatchResultDto(succeeded, results.size() - succeeded, items);
+    }
 }
@@ -0,0 +1,139 @@
+package com.morgan.backend.datasource;
+
+import com.morgan.backend.exceptions.ServiceUnavailableException.DatabaseSaturatedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds how many requests use the database at once, in front of the primary connection pool (see DatabaseConfig).
+ * Requests run on virtual threads, so without it a burst would park thousands of them in the connection pool's
+ * queue, each holding its request and buffers for up to the pool's 30s timeout.
+ * <p>Each connection asked for takes a permit of a fair semaphore first, and gives it back when it is closed:
+ * callers are served in arrival order, and one that waited longer than {@code waitTimeout} is turned away with a
+ * {@link DatabaseSaturatedException} (a {@code 503} with {@code Retry-After}). Whatever asks for it (a transaction
+ * of a repository, of a service, of a TransactionTemplate, or a JdbcTemplate call), no connection is held while
+ * waiting for a permit.</p>
+ * <p>Metrics: {@code db.bulkhead.wait} timer, {@code db.bulkhead.rejected} counter,
+ * {@code db.bulkhead.active} and {@code db.bulkhead.queued} gauges.</p>
+ */
+@Slf4j
+public class DatabaseBulkhead {
+
+    private final Semaphore permits;
+    private final Duration waitTimeout;
+    private final Duration retryAfter;
+
+    private final Timer wait;
+    private final Counter rejected;
+
+    public DatabaseBulkhead(int maxConcurrent, Duration waitTimeout, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.waitTimeout = waitTimeout;
+        this.retryAfter = retryAfter;
+
+        this.wait = Timer.builder("db.bulkhead.wait")
+            .description("Time a database call waited for a permit")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("db.bulkhead.rejected")
+            .description("Database calls turned away after waiting too long for a permit")
+            .register(meterRegistry);
+        Gauge.builder("db.bulkhead.active", permits, semaphore -> maxConcurrent - semaphore.availablePermits())
+            .description("Database calls holding a permit")
+            .register(meterRegistry);
+        Gauge.builder("db.bulkhead.queued", permits, Semaphore::getQueueLength)
+            .description("Database calls waiting for a permit")
+            .register(meterRegistry);
+    }
+
+    /**
+     * {@code dataSource}, its connections taken with a permit each.
+     */
+    public DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                acquire();
+                return permitted(() -> super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                acquire();
+                return permitted(() -> super.getConnection(username, password));
+            }
+        };
+    }
+
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    // the connection, giving the permit back when it is closed (once), or the permit given back at once when it fails
+    private Connection permitted(ConnectionSupplier pool) throws SQLException {
+        Connection connection;
+        try {
+            connection = pool.get();
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(), new Class<?>[] {ConnectionProxy.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "getTargetConnection" -> connection;
+                case "close" -> {
+                    try {
+                        yield invoke(connection, method, args);
+                    } finally {
+                        if (closed.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                }
+                default -> invoke(connection, method, args);
+            });
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private void acquire() {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a database permit", ex);
+        }
+        if (!acquired) {
+            rejected.increment();
+            log.warn("Database saturated: no permit within {} ms, {} calls waiting", waitTimeout.toMillis(), permits.getQueueLength());
+            throw new DatabaseSaturatedException(retryAfter);
+        }
+        wait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,127 @@
+package com.morgan.backend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions ({@code @Transactional(readOnly = true)}, and the repositories' finders) to the read
+ * replica, and everything else to the primary. Must be wrapped in a LazyConnectionDataSourceProxy, so the connection
+ * is only asked for once the transaction is marked read-only.
+ * <p>Reads still go to the primary:</p>
+ * <ul>
+ *   <li>while the replica is down or lagging more than the max lag (see {@link ReplicaLagMonitor});
+ *   a replica connection that fails falls back to the primary at once</li>
+ *   <li>for the writer, during the max lag after its write committed (see {@link #written()}): the replica may
+ *   not have replayed it yet, and the writer must read its own writes. The window belongs to the request that
+ *   wrote, and to the next ones of the same client through a cookie (see ReadYourWritesFilter); the reads of
+ *   everyone else keep using the replica</li>
+ * </ul>
+ * <p>Metrics: {@code db.routing.connections} counter, by {@code target} and {@code reason}.</p>
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    enum Reason {
+        WRITE, READ, RECENT_WRITE, REPLICA_UNAVAILABLE, REPLICA_FAILED;
+
+        String tag() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Map<Reason, Counter> connections = new EnumMap<>(Reason.class);
+
+    /**
+     * Request attribute: the {@code System.currentTimeMillis()} until which the reads of the request go to the primary.
+     */
+    public static final String PRIMARY_READS_UNTIL = ReadWriteRoutingDataSource.class.getName() + ".primaryReadsUntil";
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor replicaLagMonitor,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaLagMonitor = replicaLagMonitor;
+        for (Reason reason : Reason.values()) {
+            connections.put(reason, Counter.builder("db.routing.connections")
+                .description("Connections handed out, by the database they go to and why")
+                .tag("target", reason == Reason.READ ? "replica" : "primary")
+                .tag("reason", reason.tag())
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * A write of the request at hand committed: its reads go to the primary until the replica has had the max lag
+     * to replay it. Outside a request (a scheduled task), there is no one to read it back.
+     */
+    public void written() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(PRIMARY_READS_UNTIL, System.currentTimeMillis() + replicaLagMonitor.getMaxLag().toMillis(),
+                RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(pool -> pool.getConnection(username, password));
+    }
+
+    private interface Connector {
+        Connection connect(DataSource pool) throws SQLException;
+    }
+
+    private Connection connect(Connector connector) throws SQLException {
+        Reason reason = route();
+        if (reason == Reason.READ) {
+            try {
+                Connection connection = connector.connect(replica);
+                connections.get(reason).increment();
+                return connection;
+            } catch (SQLException ex) {
+                replicaLagMonitor.markDown(ex);
+                reason = Reason.REPLICA_FAILED;
+            }
+        }
+        connections.get(reason).increment();
+        return connector.connect(primary);
+    }
+
+    Reason route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        written();
+                    }
+                });
+            }
+            return Reason.WRITE;
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(PRIMARY_READS_UNTIL, RequestAttributes.SCOPE_REQUEST) instanceof Long until
+            && until > System.currentTimeMillis()) {
+            return Reason.RECENT_WRITE;
+        }
+        return replicaLagMonitor.isUsable() ? Reason.READ : Reason.REPLICA_UNAVAILABLE;
+    }
+}
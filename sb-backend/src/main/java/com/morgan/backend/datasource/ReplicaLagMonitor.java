@@ -0,0 +1,93 @@
+package com.morgan.backend.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Tells whether the read replica can serve reads: it answers, and it is at most {@code maxLag} behind the primary.
+ * <p>Checked at startup, then every {@code checkInterval}, on Spring's task scheduler (see DatabaseConfig): the lag
+ * query returns how far behind the replica is, in seconds (on Postgres, from {@code pg_last_xact_replay_timestamp()});
+ * without one, the replica only has to answer. A failed connection reported by {@link ReadWriteRoutingDataSource} takes the replica out at once,
+ * until a check finds it back.</p>
+ * <p>Metrics: {@code db.replica.lag} (seconds, NaN while unknown) and {@code db.replica.usable} (1 or 0) gauges.</p>
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration checkInterval,
+                             MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        Gauge.builder("db.replica.lag", this, monitor -> monitor.lagSeconds)
+            .description("How far the read replica is behind the primary")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("db.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+            .description("1 while reads go to the read replica, 0 while they fall back to the primary")
+            .register(meterRegistry);
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    /**
+     * Measures the replica now.
+     */
+    public void check() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (lagQuery == null) {
+                lagSeconds = Double.NaN;
+                update(connection.isValid((int) Math.max(1, checkInterval.toSeconds())), "did not answer");
+                return;
+            }
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.NaN;
+            }
+            update(lagSeconds <= maxLag.toMillis() / 1000.0, "is %.1fs behind".formatted(lagSeconds));
+        } catch (SQLException ex) {
+            lagSeconds = Double.NaN;
+            update(false, "failed: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * A connection to the replica just failed: reads go to the primary until the next successful check.
+     */
+    public void markDown(SQLException cause) {
+        update(false, "failed: " + cause.getMessage());
+    }
+
+    private void update(boolean nowUsable, String reason) {
+        boolean wasUsable = usable;
+        usable = nowUsable;
+        if (wasUsable && !nowUsable) {
+            log.warn("Read replica {}: reads go to the primary", reason);
+        } else if (!wasUsable && nowUsable) {
+            log.info("Read replica back: read-only transactions go to it");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.morgan.backend.dtos;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-item report of a bulk write, items in submission order.
+ */
+public record BatchResultDto(
+    int succeeded,
+    int failed,
+    List<ItemDto> items
+) {
+    /**
+     * {@code status} is one of CREATED, UPDATED, DELETED, NOT_FOUND, INVALID or FAILED;
+     * {@code errors} holds the field errors of an INVALID item, or the reason of a FAILED one.
+     */
+    public record ItemDto(
+        int index,
+        Long id,
+        String status,
+        Map<String, String> errors
+    ) {}
+}
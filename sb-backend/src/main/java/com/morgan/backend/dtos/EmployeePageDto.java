@@ -0,0 +1,14 @@
+package com.morgan.backend.dtos;
+
+import java.util.List;
+
+/**
+ * One keyset page of employees.
+ * {@code nextCursor} and {@code next} are null on the last page.
+ */
+public record EmployeePageDto(
+    List<EmployeeDto> items,
+    String nextCursor,
+    String next
+) {
+}
@@ -0,0 +1,18 @@
+package com.morgan.backend.dtos;
+
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Partial update of an employee: the fields left out (or null) keep their value.
+ */
+public record EmployeePatchDto(
+    @Pattern(regexp = ".*\\S.*", message = "First name must not be blank")
+    String firstName,
+
+    @Pattern(regexp = ".*\\S.*", message = "Last name must not be blank")
+    String lastName,
+
+    @Pattern(regexp = ".*\\S.*", message = "Role must not be blank")
+    String role
+) {
+}
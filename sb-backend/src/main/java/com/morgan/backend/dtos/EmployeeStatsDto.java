@@ -0,0 +1,16 @@
+package com.morgan.backend.dtos;
+
+import java.util.List;
+
+/**
+ * Employee counts: {@code total}, and per role, most common roles first.
+ */
+public record EmployeeStatsDto(
+    long total,
+    List<RoleCountDto> roles
+) {
+    public record RoleCountDto(
+        String role,
+        long count
+    ) {}
+}
@@ -0,0 +1,17 @@
+package com.morgan.backend.dtos;
+
+import java.util.List;
+
+/**
+ * One page of a delta sync: the employees written and the ids deleted since the {@code ?since=} token.
+ * With {@code full}, {@code changed} is the whole directory (from its first page on) and replaces the client's copy.
+ * {@code token} is passed as {@code ?since=} next time, right away while {@code hasMore}.
+ */
+public record EmployeeSyncDto(
+    List<EmployeeDto> changed,
+    List<Long> deleted,
+    String token,
+    boolean full,
+    boolean hasMore
+) {
+}
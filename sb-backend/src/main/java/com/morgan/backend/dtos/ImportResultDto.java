@@ -0,0 +1,23 @@
+package com.morgan.backend.dtos;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Report of a CSV import. {@code complete} is false when a malformed record stopped it early;
+ * {@code rejectedRows} may list only the first rejections, {@code rejected} counts them all.
+ */
+public record ImportResultDto(
+    long imported,
+    long rejected,
+    boolean complete,
+    List<RejectedRowDto> rejectedRows
+) {
+    /**
+     * {@code line} is where the row starts in the file, from 1 (the header); {@code errors} holds its field errors.
+     */
+    public record RejectedRowDto(
+        long line,
+        Map<String, String> errors
+    ) {}
+}
@@ -0,0 +1,81 @@
+package com.morgan.backend.encoding;
+
+import java.util.Locale;
+
+/**
+ * The response compressions, picked from the {@code Accept-Encoding} header: zstd when accepted (as small as
+ * gzip and faster to compress), else gzip, else none.
+ */
+public enum ContentCoding {
+    IDENTITY(null, null),
+    GZIP("gzip", "gz"),
+    ZSTD("zstd", "zst");
+
+    private final String token;
+    private final String etagSuffix;
+
+    ContentCoding(String token, String etagSuffix) {
+        this.token = token;
+        this.etagSuffix = etagSuffix;
+    }
+
+    // the Content-Encoding value; null for IDENTITY, which is not sent
+    public String token() {
+        return token;
+    }
+
+    /**
+     * The ETag of a representation sent to a client accepting this coding: compressed and uncompressed bytes must not
+     * share a strong validator. Whether a body is compressed only depends on its size, so an ETag still stands for
+     * one sequence of bytes, even when a body too small to compress is sent as is.
+     */
+    public String etag(String representationETag) {
+        if (this == IDENTITY) {
+            return representationETag;
+        }
+        return representationETag.substring(0, representationETag.length() - 1) + "-" + etagSuffix + "\"";
+    }
+
+    /**
+     * The coding of the highest quality accepted, zstd winning ties; {@code *} stands for the codings not named.
+     */
+    public static ContentCoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return IDENTITY;
+        }
+        double gzip = -1;
+        double zstd = -1;
+        double any = 0;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            double quality = quality(parameters);
+            switch (parameters[0].strip().toLowerCase(Locale.ROOT)) {
+                case "zstd" -> zstd = quality;
+                case "gzip", "x-gzip" -> gzip = quality;
+                case "*" -> any = quality;
+                default -> {
+                }
+            }
+        }
+        zstd = zstd < 0 ? any : zstd;
+        gzip = gzip < 0 ? any : gzip;
+        if (zstd > 0 && zstd >= gzip) {
+            return ZSTD;
+        }
+        return gzip > 0 ? GZIP : IDENTITY;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].strip();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,144 @@
+package com.morgan.backend.encoding;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.morgan.backend.dtos.EmployeeDto;
+import com.morgan.backend.dtos.EmployeePageDto;
+import com.morgan.backend.dtos.EmployeeSyncDto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Writes the employee DTOs in the Protobuf wire format of {@code src/main/proto/employees.proto}, straight from
+ * the DTOs: no generated message classes to copy them into first. Each message is sized before it is written,
+ * so the output array is allocated once, at its exact size.
+ * <p>Fields at their proto3 default (null or empty strings, false) are left out, as protoc's code does.</p>
+ */
+final class EmployeeProtobuf {
+
+    private EmployeeProtobuf() {
+    }
+
+    static byte[] write(Object body) {
+        return switch (body) {
+            case EmployeeDto employee -> write(employeeSize(employee), out -> writeEmployeeFields(out, employee));
+            case EmployeePageDto page -> {
+                int[] sizes = employeeSizes(page.items());
+                int size = employeesSize(1, sizes) + stringSize(2, page.nextCursor()) + stringSize(3, page.next());
+                yield write(size, out -> {
+                    writeEmployees(out, 1, page.items(), sizes);
+                    writeString(out, 2, page.nextCursor());
+                    writeString(out, 3, page.next());
+                });
+            }
+            case EmployeeSyncDto sync -> {
+                int[] sizes = employeeSizes(sync.changed());
+                int deletedSize = 0;
+                for (long id : sync.deleted()) {
+                    deletedSize += CodedOutputStream.computeInt64SizeNoTag(id);
+                }
+                int size = employeesSize(1, sizes) + (deletedSize == 0 ? 0 : messageSize(2, deletedSize))
+                    + stringSize(3, sync.token())
+                    + (sync.full() ? CodedOutputStream.computeBoolSize(4, true) : 0)
+                    + (sync.hasMore() ? CodedOutputStream.computeBoolSize(5, true) : 0);
+                int packedSize = deletedSize;
+                yield write(size, out -> {
+                    writeEmployees(out, 1, sync.changed(), sizes);
+                    if (packedSize > 0) { // packed, as proto3 repeated scalars are
+                        out.writeTag(2, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                        out.writeUInt32NoTag(packedSize);
+                        for (long id : sync.deleted()) {
+                            out.writeInt64NoTag(id);
+                        }
+                    }
+                    writeString(out, 3, sync.token());
+                    if (sync.full()) {
+                        out.writeBool(4, true);
+                    }
+                    if (sync.hasMore()) {
+                        out.writeBool(5, true);
+                    }
+                });
+            }
+            case List<?> list -> { // search results
+                @SuppressWarnings("unchecked")
+                List<EmployeeDto> employees = (List<EmployeeDto>) list;
+                int[] sizes = employeeSizes(employees);
+                yield write(employeesSize(1, sizes), out -> writeEmployees(out, 1, employees, sizes));
+            }
+            default -> throw new IllegalArgumentException("No Protobuf message for " + body.getClass().getName());
+        };
+    }
+
+    private interface Writer {
+        void write(CodedOutputStream out) throws IOException;
+    }
+
+    private static byte[] write(int size, Writer writer) {
+        byte[] bytes = new byte[size];
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        try {
+            writer.write(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex); // cannot happen: the array is sized for the message
+        }
+        out.checkNoSpaceLeft();
+        return bytes;
+    }
+
+    private static int[] employeeSizes(List<EmployeeDto> employees) {
+        int[] sizes = new int[employees.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = employeeSize(employees.get(i));
+        }
+        return sizes;
+    }
+
+    private static int employeesSize(int field, int[] sizes) {
+        int size = 0;
+        for (int employeeSize : sizes) {
+            size += messageSize(field, employeeSize);
+        }
+        return size;
+    }
+
+    private static void writeEmployees(CodedOutputStream out, int field, List<EmployeeDto> employees, int[] sizes) throws IOException {
+        for (int i = 0; i < sizes.length; i++) {
+            out.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(sizes[i]);
+            writeEmployeeFields(out, employees.get(i));
+        }
+    }
+
+    private static int employeeSize(EmployeeDto employee) {
+        return (employee.id() == null ? 0 : CodedOutputStream.computeInt64Size(1, employee.id()))
+            + stringSize(2, employee.firstName())
+            + stringSize(3, employee.lastName())
+            + stringSize(4, employee.role());
+    }
+
+    private static void writeEmployeeFields(CodedOutputStream out, EmployeeDto employee) throws IOException {
+        if (employee.id() != null) {
+            out.writeInt64(1, employee.id());
+        }
+        writeString(out, 2, employee.firstName());
+        writeString(out, 3, employee.lastName());
+        writeString(out, 4, employee.role());
+    }
+
+    private static int messageSize(int field, int size) {
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    private static int stringSize(int field, String value) {
+        return value == null || value.isEmpty() ? 0 : CodedOutputStream.computeStringSize(field, value);
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            out.writeString(field, value);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.morgan.backend.encoding;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A response body ready to be sent in any {@link PayloadFormat} and {@link ContentCoding}: the DTO, and the
+ * bytes of each variant once a client has asked for it (see {@link ResponseEncoder}). Cached, it is encoded at
+ * most once per variant; two requests racing for a new variant may both encode it, to the same bytes.
+ * {@code etag} is the ETag of the content, null for a response that has none.
+ */
+public final class EncodedResponse {
+
+    private static final int CODINGS = ContentCoding.values().length;
+
+    private final String etag;
+    private final Object body;
+    private final AtomicReferenceArray<byte[]> variants = new AtomicReferenceArray<>(PayloadFormat.values().length * CODINGS);
+
+    public EncodedResponse(String etag, Object body) {
+        this.etag = etag;
+        this.body = body;
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    public Object body() {
+        return body;
+    }
+
+    byte[] variant(PayloadFormat format, ContentCoding coding) {
+        return variants.get(format.ordinal() * CODINGS + coding.ordinal());
+    }
+
+    void setVariant(PayloadFormat format, ContentCoding coding, byte[] bytes) {
+        variants.set(format.ordinal() * CODINGS + coding.ordinal(), bytes);
+    }
+}
@@ -0,0 +1,70 @@
+package com.morgan.backend.encoding;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The encodings of the employee read payloads, picked from the {@code Accept} header: JSON by default,
+ * or one of the compact binary ones. CBOR and Smile are written by Jackson from the same DTOs as the JSON;
+ * Protobuf follows {@code src/main/proto/employees.proto} (see {@link EmployeeProtobuf}).
+ */
+public enum PayloadFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(new MediaType("application", "cbor")),
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    PROTOBUF(new MediaType("application", "x-protobuf"));
+
+    private final MediaType mediaType;
+
+    PayloadFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * The format of the highest-quality media type accepted, the client's order breaking ties; JSON when none
+     * is supported, as for a missing or malformed header.
+     */
+    public static PayloadFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return JSON;
+        }
+        List<MediaType> byQuality = accepted.stream()
+            .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed()) // stable
+            .toList();
+        for (MediaType mediaType : byQuality) {
+            if (mediaType.getQualityValue() == 0) {
+                break;
+            }
+            for (PayloadFormat format : values()) {
+                if (mediaType.includes(format.mediaType)) {
+                    return format; // JSON first, for */*
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * The ETag of this representation: each format has its own, the JSON one being the plain content ETag.
+     */
+    public String etag(String contentETag) {
+        if (this == JSON) {
+            return contentETag;
+        }
+        return contentETag.substring(0, contentETag.length() - 1) + "-" + name().toLowerCase(Locale.ROOT) + "\"";
+    }
+}
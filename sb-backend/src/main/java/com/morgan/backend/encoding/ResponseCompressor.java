@@ -0,0 +1,155 @@
+package com.morgan.backend.encoding;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * gzip and zstd compression of response bodies, skipped below {@code minSize} where it saves too little to be
+ * worth a Content-Encoding.
+ * <p>The compressors and their output buffers are pooled: a {@code GZIPOutputStream} allocates a zlib state of
+ * a few hundred KB and a buffer per response, and a zstd context is as costly to set up. Up to {@code poolSize}
+ * of each are kept idle; beyond that, the ones returned are freed. The output is compressed into a pooled buffer,
+ * then copied once into an array of its exact size.</p>
+ */
+public class ResponseCompressor {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // no file name, time nor extra fields; OS unknown
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int GZIP_TRAILER_SIZE = 8;
+
+    private final int minSize;
+    private final int gzipLevel;
+    private final int zstdLevel;
+    private final BlockingQueue<Deflater> deflaters;
+    private final BlockingQueue<ZstdCompressCtx> zstdContexts;
+    private final BlockingQueue<byte[]> buffers;
+
+    public ResponseCompressor(int minSize, int gzipLevel, int zstdLevel, int poolSize) {
+        this.minSize = minSize;
+        this.gzipLevel = gzipLevel;
+        this.zstdLevel = zstdLevel;
+        this.deflaters = new ArrayBlockingQueue<>(poolSize);
+        this.zstdContexts = new ArrayBlockingQueue<>(poolSize);
+        this.buffers = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    /**
+     * {@code content} compressed with {@code coding}; null when it is left as is: too small, or not made smaller.
+     */
+    public byte[] compress(byte[] content, ContentCoding coding) {
+        if (coding == ContentCoding.IDENTITY || content.length < minSize) {
+            return null;
+        }
+        byte[] compressed = coding == ContentCoding.ZSTD ? zstd(content) : gzip(content);
+        return compressed.length < content.length ? compressed : null;
+    }
+
+    /**
+     * {@code out}, compressing with {@code coding} what is written to it: for a body streamed whatever its size,
+     * so compressed even when small, and not pooled. Closing it finishes the compressed stream.
+     */
+    public OutputStream compressing(OutputStream out, ContentCoding coding, int bufferSize) throws IOException {
+        return switch (coding) {
+            case IDENTITY -> out;
+            case GZIP -> new GZIPOutputStream(out, bufferSize) {
+                {
+                    def.setLevel(gzipLevel);
+                }
+            };
+            case ZSTD -> new ZstdOutputStream(out, zstdLevel);
+        };
+    }
+
+    private byte[] gzip(byte[] content) {
+        Deflater deflater = borrow(deflaters, () -> new Deflater(gzipLevel, true)); // raw deflate, framed here
+        byte[] buffer = borrow(buffers, () -> new byte[BUFFER_SIZE]);
+        try {
+            System.arraycopy(GZIP_HEADER, 0, buffer, 0, GZIP_HEADER.length);
+            int length = GZIP_HEADER.length;
+            ByteArrayOutputStream overflow = null; // only for an output larger than the buffer
+            deflater.setInput(content);
+            deflater.finish();
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    overflow = spill(overflow, buffer, length);
+                    length = 0;
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            if (buffer.length - length < GZIP_TRAILER_SIZE) {
+                overflow = spill(overflow, buffer, length);
+                length = 0;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            writeIntLittleEndian(buffer, length, (int) crc.getValue());
+            writeIntLittleEndian(buffer, length + 4, content.length);
+            length += GZIP_TRAILER_SIZE;
+            if (overflow == null) {
+                return Arrays.copyOf(buffer, length);
+            }
+            overflow.write(buffer, 0, length);
+            return overflow.toByteArray();
+        } finally {
+            deflater.reset();
+            release(deflaters, deflater, Deflater::end);
+            release(buffers, buffer, unused -> {
+            });
+        }
+    }
+
+    private byte[] zstd(byte[] content) {
+        ZstdCompressCtx context = borrow(zstdContexts, () -> new ZstdCompressCtx().setLevel(zstdLevel));
+        int bound = Math.toIntExact(Zstd.compressBound(content.length));
+        boolean pooledBuffer = bound <= BUFFER_SIZE;
+        byte[] buffer = pooledBuffer ? borrow(buffers, () -> new byte[BUFFER_SIZE]) : new byte[bound];
+        try {
+            int length = context.compressByteArray(buffer, 0, buffer.length, content, 0, content.length);
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            release(zstdContexts, context, ZstdCompressCtx::close);
+            if (pooledBuffer) {
+                release(buffers, buffer, unused -> {
+                });
+            }
+        }
+    }
+
+    private static ByteArrayOutputStream spill(ByteArrayOutputStream overflow, byte[] buffer, int length) {
+        ByteArrayOutputStream out = overflow != null ? overflow : new ByteArrayOutputStream(buffer.length * 2);
+        out.write(buffer, 0, length);
+        return out;
+    }
+
+    private static void writeIntLittleEndian(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) value;
+        buffer[offset + 1] = (byte) (value >>> 8);
+        buffer[offset + 2] = (byte) (value >>> 16);
+        buffer[offset + 3] = (byte) (value >>> 24);
+    }
+
+    private static <T> T borrow(BlockingQueue<T> pool, Supplier<T> factory) {
+        T pooled = pool.poll();
+        return pooled != null ? pooled : factory.get();
+    }
+
+    private static <T> void release(BlockingQueue<T> pool, T item, Consumer<T> free) {
+        if (!pool.offer(item)) {
+            free.accept(item);
+        }
+    }
+}
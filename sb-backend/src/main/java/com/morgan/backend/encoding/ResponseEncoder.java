@@ -0,0 +1,80 @@
+package com.morgan.backend.encoding;
+
+import com.morgan.backend.metrics.RequestTimings;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import static com.morgan.backend.metrics.RequestTimings.Phase.JSON;
+
+/**
+ * Serializes the employee payloads in the format a client accepts, compressed with the coding it accepts,
+ * filling in the variants of an {@link EncodedResponse}.
+ */
+@Slf4j
+public class ResponseEncoder {
+
+    private final JsonMapper jsonMapper;
+    private final ObjectMapper cborMapper = CBORMapper.builder().build();
+    private final ObjectMapper smileMapper = SmileMapper.builder().build();
+    private final ResponseCompressor responseCompressor;
+
+    public ResponseEncoder(JsonMapper jsonMapper, ResponseCompressor responseCompressor) {
+        this.jsonMapper = jsonMapper;
+        this.responseCompressor = responseCompressor;
+    }
+
+    /**
+     * The bytes to send, and their coding: {@code IDENTITY} rather than the one asked for when the body is too
+     * small to be compressed.
+     */
+    public record Variant(byte[] body, ContentCoding coding) {}
+
+    // timed as the json phase of the request, whatever the format, compression included
+    public Variant encode(EncodedResponse response, PayloadFormat format, ContentCoding coding) {
+        byte[] identity = response.variant(format, ContentCoding.IDENTITY);
+        byte[] compressed = coding == ContentCoding.IDENTITY ? null : response.variant(format, coding);
+        if (identity == null || coding != ContentCoding.IDENTITY && compressed == null) {
+            return RequestTimings.time(JSON, () -> doEncode(response, format, coding));
+        }
+        return variant(identity, compressed, coding);
+    }
+
+    private Variant doEncode(EncodedResponse response, PayloadFormat format, ContentCoding coding) {
+        byte[] identity = response.variant(format, ContentCoding.IDENTITY);
+        if (identity == null) {
+            identity = serialize(response.body(), format);
+            response.setVariant(format, ContentCoding.IDENTITY, identity);
+        }
+        if (coding == ContentCoding.IDENTITY) {
+            return new Variant(identity, ContentCoding.IDENTITY);
+        }
+        byte[] compressed = response.variant(format, coding);
+        if (compressed == null) {
+            compressed = responseCompressor.compress(identity, coding);
+            if (compressed == null) {
+                compressed = identity; // not worth compressing: remembered as the uncompressed bytes
+            }
+            response.setVariant(format, coding, compressed);
+            log.debug("Encoded {} bytes of {}, {} as {}", identity.length, format, compressed.length, coding);
+        }
+        return variant(identity, compressed, coding);
+    }
+
+    private static Variant variant(byte[] identity, byte[] compressed, ContentCoding coding) {
+        return compressed == null || compressed == identity
+            ? new Variant(identity, ContentCoding.IDENTITY)
+            : new Variant(compressed, coding);
+    }
+
+    public byte[] serialize(Object body, PayloadFormat format) {
+        return switch (format) {
+            case JSON -> jsonMapper.writeValueAsBytes(body);
+            case CBOR -> cborMapper.writeValueAsBytes(body);
+            case SMILE -> smileMapper.writeValueAsBytes(body);
+            case PROTOBUF -> EmployeeProtobuf.write(body);
+        };
+    }
+}
@@ -1,24 +1,62 @@
 package com.morgan.backend.entities;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+    // Keyset pagination indexes: sort column + id as a stable tiebreak (see EmployeeRepository.findViewsBy)
+    @Index(name = "idx_employees_last_name_id", columnList = "last_name, id"),
+    @Index(name = "idx_employees_first_name_id", columnList = "first_name, id"),
+    @Index(name = "idx_employees_role_id", columnList = "role, id"),
+    // Delta sync: the rows changed since a client's token are a range of this index (see EmployeeSync)
+    @Index(name = "idx_employees_change", columnList = "change_xid, change_seq")
+})
 public class Employee {
+    // ids taken from one sequence value; the CSV import reserves them the same way (see CopyEmployeeLoader)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // A sequence (unlike IDENTITY) lets Hibernate assign ids before the INSERT, which is what makes JDBC insert batching possible.
+    // allocationSize > 1 selects the pooled optimizer: one sequence call per 50 new employees.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     private String firstName;
     private String lastName;
     private String role;
+    // Bumped by Hibernate on every update, it is what the employee's ETag is made of (see EmployeeController).
+    // The column default lets ddl-auto add it to an existing table.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+    // Set by a database trigger on every insert and update, from the employees_change_seq sequence (see EmployeeChangeTracking),
+    // whatever wrote the row. Never written by Hibernate, nor part of the employee's identity.
+    @Column(insertable = false, updatable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Long changeSeq;
+    // The transaction that wrote the row, set by the same trigger on Postgres (0 on H2, and for the rows written before)
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private long changeXid;
 
     public Employee(String firstName, String lastName, String role) {
         this.firstName = firstName;
@@ -0,0 +1,39 @@
+package com.morgan.backend.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+
+/**
+ * What is left of a deleted employee, for the clients syncing their copy of the directory to drop it.
+ * Written by a database trigger on every delete (see {@code EmployeeChangeTracking}), with the next value of
+ * the sequence numbering the employee changes; pruned once older than the tombstone retention.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "employee_tombstones", indexes = {
+    @Index(name = "idx_employee_tombstones_change", columnList = "change_xid, change_seq"),
+    @Index(name = "idx_employee_tombstones_deleted_at", columnList = "deleted_at")
+})
+public class EmployeeTombstone {
+
+    // the id of the deleted employee: deleted again after being re-created, it keeps one tombstone
+    @Id
+    private Long id;
+    @Column(nullable = false)
+    private long changeSeq;
+    // the deleting transaction on Postgres, 0 on H2 (see EmployeeChangeTracking)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long changeXid;
+    @Column(nullable = false)
+    private Instant deletedAt;
+}
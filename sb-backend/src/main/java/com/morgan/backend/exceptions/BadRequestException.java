@@ -0,0 +1,40 @@
+package com.morgan.backend.exceptions;
+
+import static java.lang.String.format;
+
+public abstract class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public static class InvalidSortFieldException extends BadRequestException {
+        public InvalidSortFieldException(String sortField) {
+            super(format("Cannot sort employees by [=%s]", sortField));
+        }
+    }
+
+    public static class InvalidCursorException extends BadRequestException {
+        public InvalidCursorException(String cursor) {
+            super(format("Invalid pagination cursor [=%s]", cursor));
+        }
+    }
+
+    public static class InvalidSyncTokenException extends BadRequestException {
+        public InvalidSyncTokenException(String token) {
+            super(format("Invalid sync token [=%s]", token));
+        }
+    }
+
+    public static class BatchTooLargeException extends BadRequestException {
+        public BatchTooLargeException(int size, int maxSize) {
+            super(format("Batch of [=%s] items exceeds the maximum of [=%s]", size, maxSize));
+        }
+    }
+
+    public static class InvalidCsvException extends BadRequestException {
+        public InvalidCsvException(long line, String reason) {
+            super(format("Invalid CSV at line [=%s]: %s", line, reason));
+        }
+    }
+}
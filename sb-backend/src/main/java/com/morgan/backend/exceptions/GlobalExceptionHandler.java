@@ -1,6 +1,7 @@
 package com.morgan.backend.exceptions;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -32,6 +33,29 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return problem; // Spring Boot 3 automatically wraps ProblemDetail in a ResponseEntity
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ProblemDetail handleBadRequest(BadRequestException ex) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.BAD_REQUEST,
+            ex.getMessage()
+        );
+        problem.setTitle("Bad Request");
+        return problem;
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ProblemDetail> handleServiceUnavailable(ServiceUnavailableException ex) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            ex.getMessage()
+        );
+        problem.setTitle("Service Unavailable");
+        long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+            .body(problem);
+    }
+
     // ────────────────────────────────────────────────────────────────────────
     // 2. Override Standard Validation
     // ────────────────────────────────────────────────────────────────────────
@@ -63,7 +87,12 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     // 3. Fallback for unexpected errors
     // ────────────────────────────────────────────────────────────────────────
     @ExceptionHandler(Exception.class)
-    public ProblemDetail handleGlobalException(Exception ex) {
+    public ResponseEntity<ProblemDetail> handleGlobalException(Exception ex) {
+        // turned away below a layer that wraps what it throws, e.g. a connection refused to a transaction beginning
+        ServiceUnavailableException unavailable = ExceptionUtils.throwableOfType(ex, ServiceUnavailableException.class);
+        if (unavailable != null) {
+            return handleServiceUnavailable(unavailable);
+        }
         log.error("An unexpected error occurred", ex);
 
         ProblemDetail problem = ProblemDetail.forStatusAndDetail(
@@ -71,6 +100,6 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             "An internal server error occurred. Please contact support."
         );
         problem.setTitle("Internal Server Error");
-        return problem;
+        return ResponseEntity.internalServerError().body(problem);
     }
 }
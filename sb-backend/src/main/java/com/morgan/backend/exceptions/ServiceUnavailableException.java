@@ -0,0 +1,29 @@
+package com.morgan.backend.exceptions;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public abstract class ServiceUnavailableException extends RuntimeException {
+
+    // how long clients should wait before retrying, sent as Retry-After
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public static class PasswordHashingSaturatedException extends ServiceUnavailableException {
+        public PasswordHashingSaturatedException(Duration retryAfter) {
+            super("Too many logins in progress, please retry shortly", retryAfter);
+        }
+    }
+
+    public static class DatabaseSaturatedException extends ServiceUnavailableException {
+        public DatabaseSaturatedException(Duration retryAfter) {
+            super("Too many database requests in progress, please retry shortly", retryAfter);
+        }
+    }
+}
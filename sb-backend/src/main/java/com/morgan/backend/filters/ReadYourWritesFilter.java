@@ -0,0 +1,90 @@
+package com.morgan.backend.filters;
+
+import com.morgan.backend.datasource.ReadWriteRoutingDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.apache.commons.lang3.math.NumberUtils.toLong;
+
+/**
+ * Carries the read-your-writes window of {@link ReadWriteRoutingDataSource} from the request that wrote to the next
+ * ones of the same client, on whichever node they land: the window's end is sent back in a cookie, and a request
+ * bringing it reads from the primary until then. Nothing is kept on the server, so it works in every session mode.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "primary-reads-until";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain)
+                                    throws ServletException, IOException {
+        long receivedUntil = cookieValue(request);
+        if (receivedUntil > System.currentTimeMillis()) {
+            request.setAttribute(ReadWriteRoutingDataSource.PRIMARY_READS_UNTIL, receivedUntil);
+        }
+        CookieAddingResponse wrapped = new CookieAddingResponse(request, response, receivedUntil);
+        chain.doFilter(request, wrapped);
+        if (!response.isCommitted()) {
+            wrapped.addCookie(); // a response without a body
+        }
+    }
+
+    private static long cookieValue(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE.equals(cookie.getName())) {
+                    return toLong(cookie.getValue());
+                }
+            }
+        }
+        return 0;
+    }
+
+    // The cookie goes with the headers, so it is added before the body commits them
+    private static final class CookieAddingResponse extends OnCommittedResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final long receivedUntil;
+        private boolean added;
+
+        CookieAddingResponse(HttpServletRequest request, HttpServletResponse response, long receivedUntil) {
+            super(response);
+            this.request = request;
+            this.receivedUntil = receivedUntil;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addCookie();
+        }
+
+        // only when a write of this request opened (or pushed back) the window
+        void addCookie() {
+            if (added || !(request.getAttribute(ReadWriteRoutingDataSource.PRIMARY_READS_UNTIL) instanceof Long until)
+                || until <= receivedUntil) {
+                return;
+            }
+            added = true;
+            ResponseCookie cookie = ResponseCookie.from(COOKIE, String.valueOf(until))
+                .path("/")
+                .maxAge(Duration.ofMillis(until - System.currentTimeMillis()).plusSeconds(1).toSeconds())
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .build();
+            addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.morgan.backend.filters;
+
+import com.morgan.backend.metrics.RequestTimings;
+import com.morgan.backend.metrics.RequestTimings.Phase;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outermost filter: times every request phase by phase (see {@link RequestTimings}), then records each phase
+ * in the {@code http.server.phase} timer, tagged by endpoint ({@code uri} template), {@code method}, {@code outcome}
+ * (status class), {@code phase} and {@code cache} outcome. Its p50/p99/p999 are published on the actuator port as
+ * {@code http.server.phase.percentile}, one histogram per tag combination: the tags stay low-cardinality, and the
+ * timers are built once per phase. Event streams are not recorded, their duration being that of the subscription.
+ * <p>With {@code app.metrics.server-timing}, the phases are also sent back in a {@code Server-Timing} header,
+ * shown by the browser dev tools. It is written when the response is committed, so it covers the time until then.</p>
+ */
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    public static final String METRIC = "http.server.phase";
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final Map<Phase, MeterProvider<Timer>> timers = new EnumMap<>(Phase.class);
+    private final boolean serverTiming;
+
+    public RequestTimingFilter(MeterRegistry meterRegistry, boolean serverTiming) {
+        for (Phase phase : Phase.values()) {
+            timers.put(phase, Timer.builder(METRIC)
+                .description("Time spent in each phase of the HTTP requests")
+                .tag("phase", phase.tag())
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .withRegistry(meterRegistry));
+        }
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.start(request);
+        ServerTimingResponse timedResponse = serverTiming ? new ServerTimingResponse(response, timings) : null;
+        try {
+            chain.doFilter(request, timedResponse != null ? timedResponse : response);
+        } finally {
+            if (timedResponse != null) {
+                timedResponse.writeServerTiming(); // for bodiless responses, committed by the container after this
+            }
+            if (!isStreaming(request, response)) {
+                record(request, response, timings);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestTimings timings) {
+        Tags tags = Tags.of(
+            "uri", Objects.toString(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), "UNKNOWN"),
+            "method", request.getMethod(),
+            "outcome", Outcome.forStatus(response.getStatus()).name(),
+            "cache", timings.cacheOutcome());
+        timings.durations().forEach((phase, nanos) -> timers.get(phase).withTags(tags).record(nanos, TimeUnit.NANOSECONDS));
+    }
+
+    // an event stream lasts as long as its subscriber, and an async request would only be timed up to its first dispatch
+    private static boolean isStreaming(HttpServletRequest request, HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return request.isAsyncStarted()
+            || contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    static String serverTimingHeader(RequestTimings timings) {
+        StringJoiner header = new StringJoiner(", ");
+        for (Map.Entry<Phase, Long> duration : timings.durations().entrySet()) {
+            String description = duration.getKey() == Phase.CACHE ? ";desc=\"" + timings.cacheOutcome() + "\"" : "";
+            header.add(String.format(Locale.ROOT, "%s%s;dur=%.2f", duration.getKey().tag(), description, duration.getValue() / 1_000_000.0));
+        }
+        return header.toString();
+    }
+
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final RequestTimings timings;
+        private boolean written;
+
+        ServerTimingResponse(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeServerTiming();
+        }
+
+        void writeServerTiming() {
+            if (!written && !isCommitted()) {
+                written = true;
+                setHeader(SERVER_TIMING, serverTimingHeader(timings));
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.morgan.backend.filters;
+
+import com.morgan.backend.cache.StaticAssetCache;
+import com.morgan.backend.cache.StaticAssetCache.Asset;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Fast lane for the frontend: the files of the Angular build and the SPA routes are answered from memory
+ * (see {@link StaticAssetCache}), in front of the security filter chain, which has nothing to check on public files.
+ * <ul>
+ *   <li>content-hashed bundles are cached by browsers for good ({@code immutable});
+ *   everything else, index.html first, is revalidated with its ETag</li>
+ *   <li>the brotli or gzip copy is sent to the clients accepting it, with {@code Vary: Accept-Encoding}</li>
+ *   <li>any other path without a file extension is a client-side route: it gets index.html, and Angular
+ *   routes it (frontend-managed 404s included)</li>
+ * </ul>
+ * Anything else (the API, Swagger, the H2 console, a missing file) goes down the chain as usual.
+ */
+@Slf4j
+public class StaticAssetFilter extends OncePerRequestFilter {
+
+    static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    static final String REVALIDATE = "no-cache";
+
+    // first segment of the paths answered by the backend or the static folders: never SPA routes
+    private static final Set<String> PASS_THROUGH = Set.of(
+        "api", "h2", "swagger-ui", "v3", "error", "actuator", "assets", "css", "js", "images");
+
+    private static final Pattern REFUSED = Pattern.compile("q=0(\\.0{0,3})?");
+
+    private final StaticAssetCache staticAssetCache;
+
+    public StaticAssetFilter(StaticAssetCache staticAssetCache) {
+        this.staticAssetCache = staticAssetCache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain)
+                                    throws ServletException, IOException {
+        Asset asset = assetFor(request);
+        if (asset == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        log.debug("StaticAssetFilter path [{}] -> {}", request.getRequestURI(), asset.path());
+        write(asset, request, response);
+    }
+
+    private Asset assetFor(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Asset asset = staticAssetCache.get(path);
+        return asset != null || !isSpaRoute(path) ? asset : staticAssetCache.index();
+    }
+
+    // e.g. /employees, /employees/123, /notExist
+    static boolean isSpaRoute(String path) {
+        int segmentEnd = path.indexOf('/', 1);
+        String firstSegment = segmentEnd < 0 ? path.substring(1) : path.substring(1, segmentEnd);
+        return !PASS_THROUGH.contains(firstSegment) && path.indexOf('.', path.lastIndexOf('/')) < 0;
+    }
+
+    private static void write(Asset asset, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, asset.immutable() ? IMMUTABLE : REVALIDATE);
+        response.setHeader(HttpHeaders.ETAG, asset.etag());
+        if (asset.compressed()) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        // what the security chain would have added
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader("X-Frame-Options", "SAMEORIGIN");
+
+        if (notModified(asset, request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = asset.content();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (asset.brotli() != null && accepts(acceptEncoding, "br")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "br");
+            body = asset.brotli();
+        } else if (asset.gzip() != null && accepts(acceptEncoding, "gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = asset.gzip();
+        }
+        response.setContentType(asset.contentType().toString());
+        response.setContentLength(body.length);
+        if (!HttpMethod.HEAD.matches(request.getMethod())) {
+            response.getOutputStream().write(body);
+        }
+    }
+
+    // weak comparison: the ETag is shared by every encoding of the file
+    private static boolean notModified(Asset asset, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String tag = asset.etag().substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(tag) || trimmed.equals(asset.etag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // the coding is listed and not refused with q=0
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.split(";");
+            if (parts[0].trim().equalsIgnoreCase(coding)) {
+                for (int i = 1; i < parts.length; i++) {
+                    if (REFUSED.matcher(parts[i].trim()).matches()) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+package com.morgan.backend.imports;
+
+import com.morgan.backend.entities.Employee;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Portable loader (H2, or any database): plain JPA inserts, sent in JDBC batches of
+ * {@code hibernate.jdbc.batch_size}, with ids from the pooled sequence.
+ */
+@RequiredArgsConstructor
+public class BatchInsertEmployeeLoader implements EmployeeLoader {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public void load(List<Employee> employees) {
+        employees.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear(); // the next chunk starts with an empty persistence context
+    }
+}
@@ -0,0 +1,96 @@
+package com.morgan.backend.imports;
+
+import com.morgan.backend.exceptions.BadRequestException.InvalidCsvException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, so the input can be of any size: quoted fields may hold commas,
+ * doubled quotes and line breaks; lines end with LF or CRLF.
+ * Fields and records are bounded, so a stray quote cannot make one field swallow the rest of the file.
+ */
+public class CsvReader {
+
+    static final int MAX_FIELD_LENGTH = 4096;
+    static final int MAX_FIELDS = 64;
+
+    private final Reader in;
+    private long line = 1;
+    private long recordLine;
+
+    /**
+     * @param in read one char at a time: buffered by the caller
+     */
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * The fields of the next record, null at the end of the input.
+     */
+    public List<String> next() throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new InvalidCsvException(recordLine, "unterminated quoted field");
+                }
+                if (c == '"') {
+                    c = in.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue; // c is what follows the closing quote
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                append(field, c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                addField(fields, field);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    line++;
+                }
+                addField(fields, field);
+                return fields;
+            } else if (c != '\r') {
+                append(field, c);
+            }
+            c = in.read();
+        }
+    }
+
+    /**
+     * The line the last record returned by {@link #next()} starts on, from 1.
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    private void append(StringBuilder field, int c) {
+        if (field.length() == MAX_FIELD_LENGTH) {
+            throw new InvalidCsvException(recordLine, "field longer than " + MAX_FIELD_LENGTH + " characters");
+        }
+        field.append((char) c);
+    }
+
+    private void addField(List<String> fields, StringBuilder field) {
+        if (fields.size() == MAX_FIELDS) {
+            throw new InvalidCsvException(recordLine, "more than " + MAX_FIELDS + " fields");
+        }
+        fields.add(field.toString());
+        field.setLength(0);
+    }
+}
@@ -0,0 +1,173 @@
+package com.morgan.backend.imports;
+
+import com.morgan.backend.dtos.EmployeeDto;
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.exceptions.BadRequestException.InvalidCsvException;
+import com.morgan.backend.mappers.EmployeeMapper;
+import com.morgan.backend.services.EmployeeService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Imports employees from a CSV with a header row naming at least the {@code firstName}, {@code lastName}
+ * and {@code role} columns, in any order and case; other columns (e.g. the {@code id} of an export) are ignored.
+ * <p>The input is read one record at a time and loaded in chunks of {@code chunkSize} rows, each chunk in its
+ * own transaction through the {@link EmployeeLoader}, so memory stays flat whatever the file size.
+ * Rows failing the {@link EmployeeDto} constraints are rejected, the others are still imported.
+ * The caches, role stats and search index are refreshed once, at the end.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class EmployeeCsvImporter {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("firstName", "lastName", "role");
+
+    private final EmployeeLoader employeeLoader;
+    private final EmployeeMapper employeeMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeService employeeService;
+    private final int chunkSize;
+    private final int maxReportedRejections;
+
+    /**
+     * A row that was not imported, with its line in the file and the errors by field.
+     */
+    public record RejectedRow(long line, Map<String, String> errors) {}
+
+    /**
+     * {@code complete} is false when a malformed record ended the import: the rows after it were not read.
+     * {@code rejectedRows} lists the first {@code maxReportedRejections} rejections only.
+     */
+    public record ImportResult(long imported, long rejected, boolean complete, List<RejectedRow> rejectedRows) {}
+
+    public ImportResult importCsv(Reader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        Map<String, Integer> columns = readHeader(csv);
+
+        Progress progress = new Progress();
+        List<Employee> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+        boolean complete = true;
+        try {
+            List<String> fields;
+            while ((fields = csv.next()) != null) {
+                if (fields.size() == 1 && fields.getFirst().isBlank()) {
+                    continue; // empty line
+                }
+                progress.read++;
+                Map<String, String> errors = new HashMap<>();
+                Employee employee = toEmployee(fields, columns, errors);
+                if (employee == null) {
+                    progress.reject(csv.recordLine(), errors);
+                    continue;
+                }
+                chunk.add(employee);
+                chunkLines.add(csv.recordLine());
+                if (chunk.size() == chunkSize) {
+                    loadChunk(chunk, chunkLines, progress);
+                }
+            }
+        } catch (InvalidCsvException ex) {
+            // the reader cannot tell where the next record starts: the rows read so far are still imported
+            log.warn("CSV import stopped: {}", ex.getMessage());
+            progress.reject(csv.recordLine(), Map.of("row", ex.getMessage()));
+            complete = false;
+        } finally {
+            try {
+                if (!chunk.isEmpty()) {
+                    loadChunk(chunk, chunkLines, progress);
+                }
+            } finally {
+                if (progress.imported > 0) {
+                    employeeService.refreshAfterImport();
+                }
+            }
+        }
+        log.info("CSV import done: {} rows imported, {} rejected", progress.imported, progress.rejected);
+        return new ImportResult(progress.imported, progress.rejected, complete, progress.rejectedRows);
+    }
+
+    private Map<String, Integer> readHeader(CsvReader csv) throws IOException {
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new InvalidCsvException(1, "missing header row");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).strip();
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1).strip(); // byte order mark of files saved by spreadsheets
+            }
+            columns.putIfAbsent(name.toLowerCase(Locale.ROOT), i);
+        }
+        Map<String, Integer> required = new HashMap<>();
+        for (String column : REQUIRED_COLUMNS) {
+            Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+            if (index == null) {
+                throw new InvalidCsvException(1, "missing column " + column);
+            }
+            required.put(column, index);
+        }
+        return required;
+    }
+
+    private Employee toEmployee(List<String> fields, Map<String, Integer> columns, Map<String, String> errors) {
+        EmployeeDto dto = new EmployeeDto(null,
+            field(fields, columns.get("firstName")),
+            field(fields, columns.get("lastName")),
+            field(fields, columns.get("role")));
+        errors.putAll(validator.validate(dto).stream()
+            .collect(Collectors.toMap(v -> v.getPropertyPath().toString(), ConstraintViolation::getMessage, (first, second) -> first)));
+        return errors.isEmpty() ? employeeMapper.toEntity(dto) : null;
+    }
+
+    // a short row leaves its last fields null, which the constraints report
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).strip() : null;
+    }
+
+    /**
+     * Loads the chunk in one transaction, then empties it. A failing chunk is rolled back and all its rows
+     * are rejected; the next chunks are still loaded.
+     */
+    private void loadChunk(List<Employee> chunk, List<Long> chunkLines, Progress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> employeeLoader.load(chunk));
+            progress.imported += chunk.size();
+        } catch (RuntimeException ex) {
+            log.warn("CSV import chunk of lines [{}..{}] rolled back", chunkLines.getFirst(), chunkLines.getLast(), ex);
+            Map<String, String> errors = Map.of("row", "Chunk rolled back: " + ex.getClass().getSimpleName());
+            chunkLines.forEach(line -> progress.reject(line, errors));
+        }
+        chunk.clear();
+        chunkLines.clear();
+        log.info("CSV import progress: {} rows read, {} imported, {} rejected", progress.read, progress.imported, progress.rejected);
+    }
+
+    private final class Progress {
+        private long read;
+        private long imported;
+        private long rejected;
+        private final List<RejectedRow> rejectedRows = new ArrayList<>();
+
+        private void reject(long line, Map<String, String> errors) {
+            rejected++;
+            if (rejectedRows.size() < maxReportedRejections) {
+                rejectedRows.add(new RejectedRow(line, errors));
+            }
+        }
+    }
+}
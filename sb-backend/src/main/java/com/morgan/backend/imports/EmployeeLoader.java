@@ -0,0 +1,16 @@
+package com.morgan.backend.imports;
+
+import com.morgan.backend.entities.Employee;
+
+import java.util.List;
+
+/**
+ * Inserts validated employees in bulk, for the CSV import. Selected with {@code app.import.loader}.
+ */
+public interface EmployeeLoader {
+
+    /**
+     * Inserts {@code employees} as new rows, in the caller's transaction, and sets their ids.
+     */
+    void load(List<Employee> employees);
+}
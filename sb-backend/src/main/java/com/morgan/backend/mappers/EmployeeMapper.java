@@ -1,8 +1,11 @@
 package com.morgan.backend.mappers;
 
 import com.morgan.backend.dtos.EmployeeDto;
+import com.morgan.backend.dtos.EmployeePatchDto;
 import com.morgan.backend.entities.Employee;
+import com.morgan.backend.repositories.EmployeeRepository.EmployeeView;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 
@@ -10,8 +13,17 @@ import java.util.List;
 public interface EmployeeMapper {
     EmployeeDto toDto(Employee employee);
 
+    EmployeeDto toDto(EmployeeView employee);
+
+    @Mapping(target = "version", ignore = true) // owned by the database, never taken from a client
+    @Mapping(target = "changeSeq", ignore = true)
     Employee toEntity(EmployeeDto dto);
 
+    @Mapping(target = "id", ignore = true) // taken from the path
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "changeSeq", ignore = true)
+    Employee toEntity(EmployeePatchDto dto);
+
     List<EmployeeDto> toDtoList(List<Employee> employees);
 
     List<Employee> toEntityList(List<EmployeeDto> dtos);
@@ -0,0 +1,41 @@
+package com.morgan.backend.metrics;
+
+import com.morgan.backend.metrics.RequestTimings.Phase;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time Hibernate spends executing JDBC statements and batches to the {@code db} phase of the current request.
+ * Created by Hibernate for every session ({@code hibernate.session.events.auto} in application.yml).
+ */
+public class JdbcTimingSessionListener implements SessionEventListener {
+
+    private long executionStartedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    private void executed() {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null && executionStartedAt != 0) {
+            timings.add(Phase.DB, System.nanoTime() - executionStartedAt);
+        }
+        executionStartedAt = 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.morgan.backend.metrics;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Marks a point of the request in its {@link RequestTimings}, e.g. the start and the end of the security filter chain.
+ * A plain {@link Filter}: a {@code OncePerRequestFilter} would run only the first of two markers.
+ */
+public class PhaseMarkerFilter implements Filter {
+
+    private final Consumer<RequestTimings> mark;
+
+    public PhaseMarkerFilter(Consumer<RequestTimings> mark) {
+        this.mark = mark;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        RequestTimings timings = RequestTimings.of((HttpServletRequest) request);
+        if (timings != null) {
+            mark.accept(timings);
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,28 @@
+package com.morgan.backend.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Marks where the handler (controller method, static resource...) starts and ends in the {@link RequestTimings}.
+ */
+public class RequestTimingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTimings timings = RequestTimings.of(request);
+        if (timings != null) {
+            timings.handlerStarted();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestTimings timings = RequestTimings.of(request);
+        if (timings != null) {
+            timings.handlerEnded();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.morgan.backend.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Where the time of one request went, phase by phase. Created by the {@code RequestTimingFilter} and kept
+ * as a request attribute, so the code serving the request reaches it without being handed it: the filters
+ * and interceptor mark where the security chain and the handler start and end, while the cache, JDBC, mapping
+ * and JSON phases add up their own durations (see {@link #time(Phase, Supplier)}).
+ * <p>Each mark keeps its first occurrence: a request forwarded (e.g. to /error) goes through the chain again.
+ * Only ever touched by the thread serving the request, hence no synchronization.</p>
+ */
+public final class RequestTimings {
+
+    private static final String ATTRIBUTE = RequestTimings.class.getName();
+
+    public enum Phase {
+        FILTERS, SECURITY, CACHE, DB, MAPPING, JSON, APP, TOTAL;
+
+        public String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final long startedAt = System.nanoTime();
+    private long securityStartedAt;
+    private long securityEndedAt;
+    private long handlerStartedAt;
+    private long handlerEndedAt;
+    private final long[] nanos = new long[Phase.values().length];
+    private int cacheHits;
+    private int cacheMisses;
+
+    public static RequestTimings start(HttpServletRequest request) {
+        RequestTimings timings = new RequestTimings();
+        request.setAttribute(ATTRIBUTE, timings);
+        return timings;
+    }
+
+    // null when the request is not being timed
+    public static RequestTimings of(HttpServletRequest request) {
+        return (RequestTimings) request.getAttribute(ATTRIBUTE);
+    }
+
+    // the timings of the request served by this thread, if any
+    public static RequestTimings current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null : (RequestTimings) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Runs {@code work}, adding its duration to {@code phase} of the current request.
+     */
+    public static <T> T time(Phase phase, Supplier<T> work) {
+        RequestTimings timings = current();
+        if (timings == null) {
+            return work.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            timings.add(phase, System.nanoTime() - start);
+        }
+    }
+
+    public void add(Phase phase, long durationNanos) {
+        nanos[phase.ordinal()] += durationNanos;
+    }
+
+    public void cacheAccessed(boolean hit) {
+        if (hit) {
+            cacheHits++;
+        } else {
+            cacheMisses++;
+        }
+    }
+
+    public void securityStarted() {
+        if (securityStartedAt == 0) {
+            securityStartedAt = System.nanoTime();
+        }
+    }
+
+    public void securityEnded() {
+        if (securityEndedAt == 0) {
+            securityEndedAt = System.nanoTime();
+        }
+    }
+
+    public void handlerStarted() {
+        if (handlerStartedAt == 0) {
+            handlerStartedAt = System.nanoTime();
+        }
+    }
+
+    public void handlerEnded() {
+        if (handlerEndedAt == 0) {
+            handlerEndedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * none: no cache read; hit: every read hit; miss: at least one read missed.
+     */
+    public String cacheOutcome() {
+        return cacheMisses > 0 ? "miss" : cacheHits > 0 ? "hit" : "none";
+    }
+
+    /**
+     * The duration of each phase that happened so far, in nanoseconds. {@code filters} is the time spent in the
+     * servlet filters outside the security chain, {@code app} the handler time not spent in the other phases.
+     */
+    public Map<Phase, Long> durations() {
+        long now = System.nanoTime();
+        Map<Phase, Long> durations = new EnumMap<>(Phase.class);
+        long security = 0;
+        if (securityStartedAt != 0) {
+            // a request rejected by the security chain never reaches its end
+            security = (securityEndedAt != 0 ? securityEndedAt : now) - securityStartedAt;
+            durations.put(Phase.SECURITY, security);
+        }
+        if (handlerStartedAt != 0) {
+            durations.put(Phase.FILTERS, handlerStartedAt - startedAt - security);
+            long handler = (handlerEndedAt != 0 ? handlerEndedAt : now) - handlerStartedAt;
+            long measured = 0;
+            for (Phase phase : new Phase[]{Phase.CACHE, Phase.DB, Phase.MAPPING, Phase.JSON}) {
+                if (nanos[phase.ordinal()] > 0) {
+                    durations.put(phase, nanos[phase.ordinal()]);
+                    measured += nanos[phase.ordinal()];
+                }
+            }
+            durations.put(Phase.APP, Math.max(0, handler - measured));
+        }
+        durations.put(Phase.TOTAL, now - startedAt);
+        return durations;
+    }
+}
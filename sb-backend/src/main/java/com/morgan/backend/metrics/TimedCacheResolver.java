@@ -0,0 +1,138 @@
+package com.morgan.backend.metrics;
+
+import com.morgan.backend.metrics.RequestTimings.Phase;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the caches of {@code @Cacheable} and co. like the default resolver, wrapped so that each lookup
+ * counts as a hit or a miss of the current request and adds to its {@code cache} phase (see {@link RequestTimings}).
+ * Only the annotations go through it: the {@link CacheManager} and its caches are left as they are.
+ */
+public class TimedCacheResolver implements CacheResolver {
+
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final Map<Cache, Cache> timedCaches = new ConcurrentHashMap<>();
+
+    public TimedCacheResolver(ObjectProvider<CacheManager> cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        return context.getOperation().getCacheNames().stream()
+            .map(name -> {
+                Cache cache = cacheManager.getObject().getCache(name);
+                if (cache == null) {
+                    throw new IllegalArgumentException("Cannot find cache named '" + name + "' for " + context.getOperation());
+                }
+                return timedCaches.computeIfAbsent(cache, TimedCache::new);
+            })
+            .toList();
+    }
+
+    private record TimedCache(Cache delegate) implements Cache {
+
+        @Override
+        public ValueWrapper get(Object key) {
+            RequestTimings timings = RequestTimings.current();
+            if (timings == null) {
+                return delegate.get(key);
+            }
+            long start = System.nanoTime();
+            ValueWrapper value = delegate.get(key);
+            timings.add(Phase.CACHE, System.nanoTime() - start);
+            timings.cacheAccessed(value != null);
+            return value;
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return delegate.get(key, type);
+        }
+
+        // the @Cacheable(sync = true) lookups: a miss if this caller ran the loader, whose time goes to its own phases
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            RequestTimings timings = RequestTimings.current();
+            if (timings == null) {
+                return delegate.get(key, valueLoader);
+            }
+            long[] loading = {-1};
+            long start = System.nanoTime();
+            try {
+                return delegate.get(key, () -> {
+                    long loadStart = System.nanoTime();
+                    try {
+                        return valueLoader.call();
+                    } finally {
+                        loading[0] = System.nanoTime() - loadStart;
+                    }
+                });
+            } finally {
+                timings.add(Phase.CACHE, System.nanoTime() - start - Math.max(0, loading[0]));
+                timings.cacheAccessed(loading[0] < 0);
+            }
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return delegate.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return delegate.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            delegate.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return delegate.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return delegate.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return delegate.invalidate();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.morgan.backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports the virtual threads pinned to their carrier thread, from the JFR {@code jdk.VirtualThreadPinned} event:
+ * a virtual thread blocking inside a {@code synchronized} block or a native frame (JDBC drivers, H2...) keeps its
+ * carrier, and with one carrier per core a few of them are enough to stall every request.
+ * <p>Each pinning longer than {@code threshold} is timed in {@code jvm.threads.virtual.pinned} and logged with
+ * the top of its stack, which tells where the blocking happened.</p>
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        Timer pinned = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads blocked while pinned to their carrier thread")
+            .register(meterRegistry);
+        this.recording = new RecordingStream();
+        recording.enable(EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(EVENT, event -> {
+            pinned.record(event.getDuration());
+            log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), topFrames(event));
+        });
+        recording.startAsync();
+    }
+
+    private static String topFrames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "(no stack trace)";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+            .limit(LOGGED_FRAMES)
+            .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+            .collect(Collectors.joining(" <- "));
+    }
+
+    @Override
+    public void destroy() {
+        recording.close();
+    }
+}
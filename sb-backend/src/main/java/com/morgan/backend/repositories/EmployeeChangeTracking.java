@@ -0,0 +1,136 @@
+package com.morgan.backend.repositories;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Numbers every employee change from the {@code employees_change_seq} sequence, for the delta sync:
+ * inserts and updates set {@code employees.change_seq}, deletes leave an {@code employee_tombstones} row.
+ * It is done by database triggers, installed at startup once Hibernate has created the tables, so every writer
+ * is covered: JPA, the native statements of {@link EmployeeWritesImpl} and the COPY of the CSV import alike.
+ * <p>A sequence value is taken when the row is written, not when its transaction commits: a change may become
+ * visible after a higher-numbered one. So on Postgres each change also records the transaction that wrote it
+ * ({@code change_xid}), and a sync reads the changes in {@link ChangePosition} order up to the oldest transaction
+ * still running (see {@link #settledPosition()}): every one before it has ended, so none of their changes can
+ * still appear there. Neither the writers nor the syncs wait for one another. H2 (development, a single node)
+ * records no transaction: its changes are all at {@code change_xid} 0, and a sync reads up to the last number.
+ * For that number to be settled, the writers of H2 are serialized instead: the trigger locks the one row of
+ * {@code employees_change_lock} before numbering a change, until its transaction ends, and a sync takes the
+ * same lock before reading the last number.</p>
+ */
+@Slf4j
+public class EmployeeChangeTracking implements InitializingBean {
+
+    /**
+     * Where a change stands in the sync order: the transaction that wrote it, then its number.
+     */
+    public record ChangePosition(long xid, long seq) implements Comparable<ChangePosition> {
+
+        public static final ChangePosition START = new ChangePosition(0, 0);
+
+        @Override
+        public int compareTo(ChangePosition other) {
+            int byXid = Long.compare(xid, other.xid);
+            return byXid != 0 ? byXid : Long.compare(seq, other.seq);
+        }
+    }
+
+    // the advisory lock of the installation (any bigint no other code locks)
+    private static final long INSTALL_LOCK = 0x656d706c6f796565L;
+
+    // One statement, so one transaction, serialized across nodes starting together.
+    // xid8 has no cast to bigint but through text; it never wraps around
+    private static final String POSTGRES_INSTALL = """
+        DO $install$
+        BEGIN
+            PERFORM pg_advisory_xact_lock(%1$d);
+            CREATE SEQUENCE IF NOT EXISTS employees_change_seq;
+            CREATE OR REPLACE FUNCTION employees_track_change() RETURNS trigger AS $track$
+            BEGIN
+                IF TG_OP = 'DELETE' THEN
+                    INSERT INTO employee_tombstones (id, change_xid, change_seq, deleted_at)
+                    VALUES (OLD.id, pg_current_xact_id()::text::bigint, nextval('employees_change_seq'), clock_timestamp())
+                    ON CONFLICT (id) DO UPDATE
+                    SET change_xid = excluded.change_xid, change_seq = excluded.change_seq, deleted_at = excluded.deleted_at;
+                    RETURN OLD;
+                END IF;
+                NEW.change_xid := pg_current_xact_id()::text::bigint;
+                NEW.change_seq := nextval('employees_change_seq');
+                RETURN NEW;
+            END
+            $track$ LANGUAGE plpgsql;
+            CREATE OR REPLACE TRIGGER employees_changed BEFORE INSERT OR UPDATE ON employees
+                FOR EACH ROW EXECUTE FUNCTION employees_track_change();
+            CREATE OR REPLACE TRIGGER employees_deleted AFTER DELETE ON employees
+                FOR EACH ROW EXECUTE FUNCTION employees_track_change();
+            UPDATE employees SET change_seq = nextval('employees_change_seq') WHERE change_seq IS NULL;
+        END
+        $install$
+        """.formatted(INSTALL_LOCK);
+
+    private static final List<String> H2_INSTALL = List.of(
+        "CREATE SEQUENCE IF NOT EXISTS employees_change_seq",
+        "CREATE TABLE IF NOT EXISTS employees_change_lock (id INT PRIMARY KEY)",
+        "MERGE INTO employees_change_lock KEY (id) VALUES (1)",
+        "CREATE TRIGGER IF NOT EXISTS employees_changed BEFORE INSERT, UPDATE ON employees FOR EACH ROW CALL '%s'"
+            .formatted(H2EmployeeChangeTrigger.class.getName()),
+        "CREATE TRIGGER IF NOT EXISTS employees_deleted AFTER DELETE ON employees FOR EACH ROW CALL '%s'"
+            .formatted(H2EmployeeChangeTrigger.class.getName()),
+        "UPDATE employees SET change_seq = NEXT VALUE FOR employees_change_seq WHERE change_seq IS NULL");
+
+    // the oldest transaction still running, or the next one to start when none is
+    private static final String POSTGRES_OLDEST_XID = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+    // waits for the writer in flight, if any, and holds back the next ones until the sync's transaction ends
+    static final String H2_CHANGE_LOCK = "SELECT id FROM employees_change_lock WHERE id = 1 FOR UPDATE";
+    // BASE_VALUE is the next value
+    private static final String H2_LAST_CHANGE_SEQ =
+        "SELECT BASE_VALUE - 1 FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'EMPLOYEES_CHANGE_SEQ'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    // the factory has run the ddl-auto by the time it is injected
+    public EmployeeChangeTracking(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.postgres = dialect instanceof PostgreSQLDialect;
+        if (!postgres && !(dialect instanceof H2Dialect)) {
+            throw new IllegalStateException("Employee change tracking needs Postgres or H2, not " + dialect);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (postgres) {
+            jdbcTemplate.execute(POSTGRES_INSTALL);
+        } else {
+            H2_INSTALL.forEach(jdbcTemplate::execute);
+        }
+        log.info("Employee change tracking triggers installed");
+    }
+
+    /**
+     * The last change a sync may read up to: every change until there has committed or rolled back. On Postgres,
+     * those of the transactions older than the oldest still running; a long transaction holds the syncs back, but
+     * does not block them. On H2, the last one numbered, once its writer has ended; the sync's transaction then
+     * holds back the writers until it ends, which is why it must have one.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public ChangePosition settledPosition() {
+        if (!postgres) {
+            jdbcTemplate.queryForObject(H2_CHANGE_LOCK, Integer.class);
+            return new ChangePosition(0, jdbcTemplate.queryForObject(H2_LAST_CHANGE_SEQ, Long.class));
+        }
+        return new ChangePosition(jdbcTemplate.queryForObject(POSTGRES_OLDEST_XID, Long.class) - 1, Long.MAX_VALUE);
+    }
+}
@@ -1,7 +1,104 @@
 package com.morgan.backend.repositories;
 
 import com.morgan.backend.entities.Employee;
+import com.morgan.backend.repositories.EmployeeChangeTracking.ChangePosition;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>, EmployeeWrites {
+
+    /**
+     * Read model of an employee, selected column by column ({@code select new EmployeeView(e.id, ...)}):
+     * no managed entity, no dirty-checking snapshot, nothing growing the persistence context.
+     * It is what the read endpoints and their caches hold.
+     */
+    record EmployeeView(Long id, String firstName, String lastName, String role, long version) {
+        public static EmployeeView of(Employee employee) {
+            return new EmployeeView(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getRole(), employee.getVersion());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    Optional<EmployeeView> findViewById(Long id);
+
+    /**
+     * Keyset (seek) pagination: with a {@link org.springframework.data.domain.KeysetScrollPosition}
+     * Spring Data renders {@code WHERE (sortKey, id) > (:lastSortKey, :lastId) ORDER BY sortKey, id LIMIT n+1},
+     * so every page costs an index range scan, whatever its depth.
+     * A whole page (at most {@code MAX_PAGE_SIZE + 1} rows) comes in one fetch; being views, the rows
+     * need no read-only hint: the read-only transaction only spares the flush.
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "501"))
+    Window<EmployeeView> findViewsBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Same keyset pagination, restricted to one role: with the default id order, the {@code (role, id)}
+     * index serves both the filter and the seek.
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "501"))
+    Window<EmployeeView> findViewsByRole(String role, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Server-side cursor over the whole table, for exports.
+     * Must be consumed (and closed) inside a transaction; the driver fetches {@code HINT_FETCH_SIZE} rows
+     * per round trip and the read-only hint skips Hibernate's dirty-checking snapshots.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Employee> streamAllByOrderByIdAsc();
+
+    /**
+     * The employees written after change {@code after}, up to change {@code upTo} included, in change order:
+     * a range scan of the {@code (change_xid, change_seq)} index, as long as the changes it returns.
+     * The rows come read-only: no dirty-checking snapshots.
+     */
+    @Query("""
+        select e from Employee e
+        where (e.changeXid, e.changeSeq) > (:#{#after.xid()}, :#{#after.seq()})
+        and (e.changeXid, e.changeSeq) <= (:#{#upTo.xid()}, :#{#upTo.seq()})
+        order by e.changeXid, e.changeSeq""")
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    List<Employee> findChanged(ChangePosition after, ChangePosition upTo, Limit limit);
+
+    interface IdAndRole {
+        Long getId();
+
+        String getRole();
+    }
+
+    @Query("select e.id as id, e.role as role from Employee e where e.id in :ids")
+    @Transactional(readOnly = true)
+    List<IdAndRole> findRolesByIdIn(Collection<Long> ids);
+
+    interface RoleCount {
+        String getRole();
+
+        long getCount();
+    }
+
+    // Answered from the (role, id) index alone
+    @Query("select e.role as role, count(e) as count from Employee e group by e.role")
+    @Transactional(readOnly = true)
+    List<RoleCount> countByRole();
 }
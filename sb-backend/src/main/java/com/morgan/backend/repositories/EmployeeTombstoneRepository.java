@@ -0,0 +1,28 @@
+package com.morgan.backend.repositories;
+
+import com.morgan.backend.entities.EmployeeTombstone;
+import com.morgan.backend.repositories.EmployeeChangeTracking.ChangePosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EmployeeTombstoneRepository extends JpaRepository<EmployeeTombstone, Long> {
+
+    // A range of the (change_xid, change_seq) index, like EmployeeRepository.findChanged
+    @Query("""
+        select t from EmployeeTombstone t
+        where (t.changeXid, t.changeSeq) > (:#{#after.xid()}, :#{#after.seq()})
+        and (t.changeXid, t.changeSeq) <= (:#{#upTo.xid()}, :#{#upTo.seq()})
+        order by t.changeXid, t.changeSeq""")
+    List<EmployeeTombstone> findChanged(ChangePosition after, ChangePosition upTo, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("delete from EmployeeTombstone t where t.deletedAt < :before")
+    int deleteDeletedBefore(Instant before);
+}
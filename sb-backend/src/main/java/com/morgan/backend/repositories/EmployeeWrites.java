@@ -0,0 +1,36 @@
+package com.morgan.backend.repositories;
+
+import com.morgan.backend.entities.Employee;
+
+import java.util.Optional;
+
+/**
+ * Single-statement writes of one employee: each is one round trip, with no read beforehand nor dirty checking.
+ * The statements return what the callers need to maintain their caches and counters (the written row,
+ * and the role it had before), from {@code RETURNING} on Postgres and from a data change delta table on H2.
+ * <p>They bypass the persistence context: an employee already loaded in the same transaction is not refreshed.</p>
+ */
+public interface EmployeeWrites {
+
+    /**
+     * {@code employee} as written; {@code previousRole} is null when the row was {@code created}.
+     */
+    record EmployeeWrite(Employee employee, String previousRole, boolean created) {}
+
+    /**
+     * Replaces the names and role of the employee with this id or, when there is none, inserts it as a new employee
+     * with an id from the sequence, as {@code POST} would: never under the id given, which the sequence has not handed out.
+     */
+    EmployeeWrite upsertById(Employee employee);
+
+    /**
+     * Sets the non-null names and role of {@code changes} on the employee {@code id}.
+     * Empty when there is no such employee.
+     */
+    Optional<EmployeeWrite> patchById(Long id, Employee changes);
+
+    /**
+     * The deleted employee, empty when there was none.
+     */
+    Optional<Employee> deleteByIdReturning(Long id);
+}
@@ -0,0 +1,170 @@
+package com.morgan.backend.repositories;
+
+import com.morgan.backend.entities.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.TypedParameterValue;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link EmployeeWrites} in native SQL, for Postgres or H2 (picked from the Hibernate dialect).
+ * The patch and delete statements return the row as it was before the write; Postgres' {@code RETURNING}
+ * only sees the new row, so there the old one comes from a locking sub-select.
+ */
+public class EmployeeWritesImpl implements EmployeeWrites {
+
+    private record Statements(String upsert, String patch, String delete) {}
+
+    private static final String OLD_ROW = "id, first_name, last_name, role, version";
+
+    // An unknown id is not taken as is: the row gets the next value of employees_seq, which stands for ids no one
+    // else hands out (see CopyEmployeeLoader), so later inserts do not collide with it. The CTEs all see the table
+    // as it was when the statement started: the old row is locked and updated, or, when there is none, one is inserted
+    private static final Statements POSTGRES = new Statements("""
+        WITH old AS (SELECT id, role FROM employees WHERE id = :id FOR UPDATE),
+        updated AS (
+            UPDATE employees e
+            SET first_name = :firstName, last_name = :lastName, role = :role, version = e.version + 1
+            FROM old
+            WHERE e.id = old.id
+            RETURNING e.id, e.version, old.role
+        ),
+        inserted AS (
+            INSERT INTO employees (id, first_name, last_name, role, version)
+            SELECT nextval('employees_seq'), :firstName, :lastName, :role, 0
+            WHERE NOT EXISTS (SELECT 1 FROM old)
+            RETURNING id, version, CAST(NULL AS varchar)
+        )
+        SELECT * FROM updated UNION ALL SELECT * FROM inserted
+        """, """
+        UPDATE employees e
+        SET first_name = COALESCE(CAST(:firstName AS varchar), e.first_name),
+            last_name = COALESCE(CAST(:lastName AS varchar), e.last_name),
+            role = COALESCE(CAST(:role AS varchar), e.role),
+            version = e.version + 1
+        FROM (SELECT %1$s FROM employees WHERE id = :id FOR UPDATE) old
+        WHERE e.id = old.id
+        RETURNING old.id, old.first_name, old.last_name, old.role, old.version
+        """.formatted(OLD_ROW), """
+        DELETE FROM employees WHERE id = :id RETURNING %s
+        """.formatted(OLD_ROW));
+
+    // OLD TABLE: the rows as they were before the statement. H2 has no delta table with both the old role
+    // and a new id, so an unknown id takes a second statement (H2_INSERT)
+    private static final Statements H2 = new Statements("""
+        SELECT id, version, role FROM OLD TABLE (
+            UPDATE employees
+            SET first_name = :firstName, last_name = :lastName, role = :role, version = version + 1
+            WHERE id = :id)
+        """, """
+        SELECT %1$s FROM OLD TABLE (
+            UPDATE employees
+            SET first_name = COALESCE(CAST(:firstName AS VARCHAR), first_name),
+                last_name = COALESCE(CAST(:lastName AS VARCHAR), last_name),
+                role = COALESCE(CAST(:role AS VARCHAR), role),
+                version = version + 1
+            WHERE id = :id)
+        """.formatted(OLD_ROW), """
+        SELECT %s FROM OLD TABLE (DELETE FROM employees WHERE id = :id)
+        """.formatted(OLD_ROW));
+
+    private static final String H2_INSERT = """
+        SELECT id FROM FINAL TABLE (
+            INSERT INTO employees (id, first_name, last_name, role, version)
+            VALUES (NEXT VALUE FOR employees_seq, :firstName, :lastName, :role, 0))
+        """;
+
+    private final EntityManager entityManager;
+    private final boolean postgres;
+    private final Statements statements;
+
+    public EmployeeWritesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices().getDialect();
+        this.postgres = dialect instanceof PostgreSQLDialect;
+        if (!postgres && !(dialect instanceof H2Dialect)) {
+            throw new IllegalStateException("Single-statement employee writes need Postgres or H2, not " + dialect);
+        }
+        this.statements = postgres ? POSTGRES : H2;
+    }
+
+    @Override
+    @Transactional
+    public EmployeeWrite upsertById(Employee employee) {
+        List<?> rows = withValues(entityManager.createNativeQuery(statements.upsert()), employee.getId(), employee)
+            .getResultList();
+        long id;
+        long version;
+        String previousRole;
+        if (!rows.isEmpty()) {
+            Object[] row = (Object[]) rows.getFirst();
+            id = ((Number) row[0]).longValue();
+            // OLD TABLE returns the version before the update
+            version = ((Number) row[1]).longValue() + (postgres ? 0 : 1);
+            previousRole = (String) row[2];
+        } else {
+            id = ((Number) entityManager.createNativeQuery(H2_INSERT)
+                .setParameter("firstName", employee.getFirstName())
+                .setParameter("lastName", employee.getLastName())
+                .setParameter("role", employee.getRole())
+                .getSingleResult()).longValue();
+            version = 0;
+            previousRole = null;
+        }
+        boolean created = version == 0; // an updated row is at least at version 1
+        Employee written = new Employee(employee.getFirstName(), employee.getLastName(), employee.getRole());
+        written.setId(id);
+        written.setVersion(version);
+        return new EmployeeWrite(written, previousRole, created);
+    }
+
+    @Override
+    @Transactional
+    public Optional<EmployeeWrite> patchById(Long id, Employee changes) {
+        return oldRow(withValues(entityManager.createNativeQuery(statements.patch()), id, changes))
+            .map(old -> {
+                Employee written = new Employee(
+                    changes.getFirstName() != null ? changes.getFirstName() : old.getFirstName(),
+                    changes.getLastName() != null ? changes.getLastName() : old.getLastName(),
+                    changes.getRole() != null ? changes.getRole() : old.getRole());
+                written.setId(id);
+                written.setVersion(old.getVersion() + 1);
+                return new EmployeeWrite(written, old.getRole(), false);
+            });
+    }
+
+    @Override
+    @Transactional
+    public Optional<Employee> deleteByIdReturning(Long id) {
+        return oldRow(entityManager.createNativeQuery(statements.delete()).setParameter("id", id));
+    }
+
+    // the names and role are typed, so a null (left unchanged by a patch) binds on Postgres too
+    private static Query withValues(Query query, Long id, Employee values) {
+        return query
+            .setParameter("id", id)
+            .setParameter("firstName", new TypedParameterValue<>(StandardBasicTypes.STRING, values.getFirstName()))
+            .setParameter("lastName", new TypedParameterValue<>(StandardBasicTypes.STRING, values.getLastName()))
+            .setParameter("role", new TypedParameterValue<>(StandardBasicTypes.STRING, values.getRole()));
+    }
+
+    // the OLD_ROW columns of the single affected row, if any
+    private static Optional<Employee> oldRow(Query query) {
+        return query.getResultList().stream().findFirst().map(result -> {
+            Object[] row = (Object[]) result;
+            Employee old = new Employee((String) row[1], (String) row[2], (String) row[3]);
+            old.setId(((Number) row[0]).longValue());
+            old.setVersion(((Number) row[4]).longValue());
+            return old;
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.morgan.backend.repositories;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The H2 side of {@link EmployeeChangeTracking}: H2 triggers are Java classes, called in the writing
+ * transaction. Before an insert or update it numbers the new row; after a delete it writes the tombstone.
+ * Either way, it first takes the change lock, held until the transaction ends: the H2 writers are serialized,
+ * so that no change numbered before the last one is still in flight.
+ */
+public class H2EmployeeChangeTrigger implements Trigger {
+
+    private static final String NEXT_CHANGE_SEQ = "VALUES NEXT VALUE FOR employees_change_seq";
+    private static final String TOMBSTONE = """
+        MERGE INTO employee_tombstones (id, change_seq, deleted_at) KEY (id) VALUES (?, ?, CURRENT_TIMESTAMP)
+        """;
+
+    // positions in the row arrays H2 hands over
+    private int idColumn;
+    private int changeSeqColumn;
+
+    @Override
+    public void init(Connection connection, String schemaName, String triggerName, String tableName, boolean before, int type)
+        throws SQLException {
+        idColumn = columnIndex(connection, schemaName, tableName, "ID");
+        changeSeqColumn = columnIndex(connection, schemaName, tableName, "CHANGE_SEQ");
+    }
+
+    @Override
+    public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeQuery(EmployeeChangeTracking.H2_CHANGE_LOCK).close();
+        }
+        long changeSeq;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(NEXT_CHANGE_SEQ)) {
+            resultSet.next();
+            changeSeq = resultSet.getLong(1);
+        }
+        if (newRow != null) {
+            newRow[changeSeqColumn] = changeSeq;
+            return;
+        }
+        try (PreparedStatement tombstone = connection.prepareStatement(TOMBSTONE)) {
+            tombstone.setObject(1, oldRow[idColumn]);
+            tombstone.setLong(2, changeSeq);
+            tombstone.executeUpdate();
+        }
+    }
+
+    private static int columnIndex(Connection connection, String schemaName, String tableName, String column) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(null, schemaName, tableName, column)) {
+            if (!columns.next()) {
+                throw new SQLException("No column " + column + " in " + tableName);
+            }
+            return columns.getInt("ORDINAL_POSITION") - 1;
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.morgan.backend.repositories;
 
 import com.morgan.backend.entities.UserAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface UserAccountRepository extends JpaRepository<UserAccount, Long> {
+    @Transactional(readOnly = true) // can go to the read replica, as the inherited finders do
     Optional<UserAccount> findByUsername(String username);
 }
@@ -0,0 +1,45 @@
+package com.morgan.backend.search;
+
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.repositories.EmployeeRepository;
+import jakarta.persistence.criteria.Predicate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Fallback used when the in-memory index is disabled: one query per search, where every term
+ * must prefix the first name, last name or role ({@code lower(column) like 'term%'}).
+ * Being left-anchored, the patterns are served on Postgres by the indexes on {@code lower(column)} of
+ * {@link EmployeeSearchIndexes}; unlike the in-memory index, they do not match words inside a field nor ignore accents.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DatabaseEmployeeSearch implements EmployeeSearch {
+
+    private static final Sort SORT = Sort.by("lastName", "firstName", "id");
+
+    private final EmployeeRepository employeeRepository;
+
+    @Override
+    public List<Employee> search(String query, int limit) {
+        List<String> terms = SearchTerms.of(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        log.info("DB hit for search {}", terms);
+        Specification<Employee> everyTermMatches = (root, criteriaQuery, cb) -> cb.and(terms.stream()
+            .map(term -> {
+                String pattern = term + "%"; // terms are letters and digits only: nothing to escape
+                return cb.or(
+                    cb.like(cb.lower(root.get("firstName")), pattern),
+                    cb.like(cb.lower(root.get("lastName")), pattern),
+                    cb.like(cb.lower(root.get("role")), pattern));
+            })
+            .toArray(Predicate[]::new));
+        return employeeRepository.findBy(everyTermMatches, fluentQuery -> fluentQuery.sortBy(SORT).limit(limit).all());
+    }
+}
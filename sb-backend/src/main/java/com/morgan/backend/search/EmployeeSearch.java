@@ -0,0 +1,35 @@
+package com.morgan.backend.search;
+
+import com.morgan.backend.entities.Employee;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Finds employees from what a user types: every term of the query must prefix a word of the first name,
+ * last name or role, ignoring case and accents. Selected with {@code app.search.index}.
+ * <p>{@link com.morgan.backend.services.EmployeeService} reports every committed write,
+ * so implementations holding state can maintain it incrementally.</p>
+ */
+public interface EmployeeSearch {
+
+    List<Employee> search(String query, int limit);
+
+    default void saved(Employee employee) {
+    }
+
+    default void deleted(Long id) {
+    }
+
+    /**
+     * The employees with these ids were written in bulk: created, updated or deleted.
+     */
+    default void changed(Collection<Long> ids) {
+    }
+
+    /**
+     * Any number of employees were written outside the service (e.g. a CSV import): start over from the table.
+     */
+    default void rebuild() {
+    }
+}
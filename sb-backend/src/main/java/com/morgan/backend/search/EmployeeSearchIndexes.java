@@ -0,0 +1,46 @@
+package com.morgan.backend.search;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * The indexes of {@link DatabaseEmployeeSearch}: one per searched column, on {@code lower(column)}, which JPA
+ * cannot declare. Installed at startup once Hibernate has created the tables, on Postgres only.
+ * {@code text_pattern_ops} lets a left-anchored {@code like 'term%'} use them whatever the database collation,
+ * and the three of them serve the {@code or} of a term with a bitmap scan each.
+ * <p>H2 (development) has no index on an expression: there, each search scans the table.</p>
+ */
+@Slf4j
+public class EmployeeSearchIndexes implements InitializingBean {
+
+    private static final List<String> POSTGRES_INSTALL = List.of(
+        "CREATE INDEX IF NOT EXISTS idx_employees_lower_first_name ON employees (lower(first_name) text_pattern_ops)",
+        "CREATE INDEX IF NOT EXISTS idx_employees_lower_last_name ON employees (lower(last_name) text_pattern_ops)",
+        "CREATE INDEX IF NOT EXISTS idx_employees_lower_role ON employees (lower(role) text_pattern_ops)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    // the factory has run the ddl-auto by the time it is injected
+    public EmployeeSearchIndexes(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+            instanceof PostgreSQLDialect;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!postgres) {
+            log.info("Employee search indexes skipped: not on Postgres, searches scan the table");
+            return;
+        }
+        POSTGRES_INSTALL.forEach(jdbcTemplate::execute);
+        log.info("Employee search indexes installed");
+    }
+}
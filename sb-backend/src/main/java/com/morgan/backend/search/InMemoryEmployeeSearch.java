@@ -0,0 +1,248 @@
+package com.morgan.backend.search;
+
+import com.morgan.backend.cache.CacheInvalidationBus;
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.repositories.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import static com.morgan.backend.services.EmployeeService.CACHE_EMPLOYEES_BY_ID;
+
+/**
+ * Inverted index over the words of every employee's first name, last name and role, held in memory:
+ * a sorted map from word to employee ids, so the words a term prefixes are one range of it.
+ * <p>Matches are ranked by how well each term matched (exact word, then prefix, then a typo away)
+ * and ties broken by name. The index is built once the application is ready, then maintained by
+ * the writes of this node and, through the {@link CacheInvalidationBus}, by those of the other nodes.</p>
+ */
+@Slf4j
+public class InMemoryEmployeeSearch implements EmployeeSearch, CacheInvalidationBus.Listener {
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int TYPO = 1;
+    // shorter terms are still being typed: one edit away from them matches too many words
+    static final int TYPO_MIN_LENGTH = 4;
+
+    private static final Comparator<Employee> BY_NAME = Comparator
+        .comparing(Employee::getLastName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+        .thenComparing(Employee::getFirstName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+        .thenComparing(Employee::getId);
+
+    private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    // swapped whole by rebuild(), so searches never see a half-built index; writes are serialized on this
+    private volatile Index index = new Index();
+
+    private record Match(Employee employee, int score) {}
+
+    public InMemoryEmployeeSearch(EmployeeRepository employeeRepository,
+                                  EntityManager entityManager,
+                                  TransactionTemplate readOnlyTransactionTemplate) {
+        this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransactionTemplate = readOnlyTransactionTemplate;
+    }
+
+    @Override
+    public List<Employee> search(String query, int limit) {
+        Index current = index;
+        Map<Long, Integer> scores = null;
+        for (String term : SearchTerms.of(query)) {
+            Map<Long, Integer> termScores = scoresOf(current, term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet()); // every term must match
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores == null ? List.of() : best(current, scores, limit);
+    }
+
+    // Best score of each employee having a word that matches the term
+    private static Map<Long, Integer> scoresOf(Index current, String term) {
+        Map<Long, Integer> scores = new HashMap<>();
+        current.idsByWord.subMap(term, true, term + Character.MAX_VALUE, false).forEach((word, ids) -> {
+            int score = word.length() == term.length() ? EXACT : PREFIX;
+            ids.forEach(id -> scores.merge(id, score, Math::max));
+        });
+        if (term.length() >= TYPO_MIN_LENGTH) {
+            // typos are looked for among the words sharing the term's first letter only
+            String firstLetter = term.substring(0, 1);
+            current.idsByWord.subMap(firstLetter, true, firstLetter + Character.MAX_VALUE, false).forEach((word, ids) -> {
+                if (!word.startsWith(term) && isTypoOf(term, word)) {
+                    ids.forEach(id -> scores.merge(id, TYPO, Math::max));
+                }
+            });
+        }
+        return scores;
+    }
+
+    // The term is one edit away from the word or, as it may still be being typed, from the word's start
+    private static boolean isTypoOf(String term, String word) {
+        return withinOneEdit(term, word)
+            || word.length() > term.length() && withinOneEdit(term, word.substring(0, term.length()));
+    }
+
+    // One insertion, deletion, substitution or swap of two adjacent letters
+    static boolean withinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (a.length() != b.length()) {
+            String longer = a.length() > b.length() ? a : b;
+            String shorter = longer == a ? b : a;
+            return shorter.regionMatches(i, longer, i + 1, shorter.length() - i);
+        }
+        if (i >= a.length() - 1) {
+            return true;
+        }
+        boolean substitution = a.regionMatches(i + 1, b, i + 1, a.length() - i - 1);
+        boolean swap = a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+            && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2);
+        return substitution || swap;
+    }
+
+    // Top limit by score then name, without sorting every match
+    private static List<Employee> best(Index current, Map<Long, Integer> scores, int limit) {
+        Comparator<Match> worstFirst = Comparator.comparingInt(Match::score).reversed()
+            .thenComparing(Match::employee, BY_NAME)
+            .reversed();
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, worstFirst);
+        scores.forEach((id, score) -> {
+            Entry entry = current.entriesById.get(id);
+            if (entry != null) {
+                best.add(new Match(entry.employee(), score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        });
+        List<Employee> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(copyOf(best.poll().employee()));
+        }
+        return result.reversed();
+    }
+
+    @Override
+    public synchronized void saved(Employee employee) {
+        index.add(employee);
+    }
+
+    @Override
+    public synchronized void deleted(Long id) {
+        index.remove(id);
+    }
+
+    /**
+     * Reloads the employees with these ids: the bulk writes only report ids, and so do the other nodes.
+     */
+    @Override
+    public synchronized void changed(Collection<Long> ids) {
+        Set<Long> deletedIds = new HashSet<>(ids);
+        for (Employee employee : employeeRepository.findAllById(ids)) {
+            index.add(employee);
+            deletedIds.remove(employee.getId());
+        }
+        deletedIds.forEach(index::remove);
+    }
+
+    /**
+     * Indexes the whole table, streamed from a database cursor.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Index rebuilt = new Index();
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Employee> employees = employeeRepository.streamAllByOrderByIdAsc()) {
+                employees.forEach(employee -> {
+                    rebuilt.add(employee);
+                    entityManager.detach(employee);
+                });
+            }
+        });
+        index = rebuilt;
+        log.info("Search index built: {} employees, {} words in {} ms",
+            rebuilt.entriesById.size(), rebuilt.idsByWord.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Employees written on another node; a cleared cache means invalidations may have been missed
+    @Override
+    public void invalidated(String cacheName, List<Long> keys) {
+        if (!CACHE_EMPLOYEES_BY_ID.equals(cacheName)) {
+            return;
+        }
+        if (keys.isEmpty()) {
+            rebuild();
+        } else {
+            changed(keys);
+        }
+    }
+
+    // a copy of the employee, so nothing outside can change an indexed entry, and the words it is indexed under
+    private record Entry(Employee employee, Set<String> words) {}
+
+    private static final class Index {
+        private final NavigableMap<String, Set<Long>> idsByWord = new ConcurrentSkipListMap<>();
+        private final Map<Long, Entry> entriesById = new ConcurrentHashMap<>();
+
+        void add(Employee employee) {
+            remove(employee.getId());
+            Employee copy = copyOf(employee);
+            Set<String> words = new HashSet<>();
+            Stream.of(copy.getFirstName(), copy.getLastName(), copy.getRole())
+                .map(SearchTerms::of)
+                .forEach(words::addAll);
+            words.forEach(word -> idsByWord.computeIfAbsent(word, w -> ConcurrentHashMap.newKeySet()).add(copy.getId()));
+            entriesById.put(copy.getId(), new Entry(copy, words));
+        }
+
+        void remove(Long id) {
+            Entry entry = entriesById.remove(id);
+            if (entry == null) {
+                return;
+            }
+            entry.words().forEach(word -> idsByWord.computeIfPresent(word, (w, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            }));
+        }
+    }
+
+    private static Employee copyOf(Employee employee) {
+        Employee copy = new Employee(employee.getFirstName(), employee.getLastName(), employee.getRole());
+        copy.setId(employee.getId());
+        copy.setVersion(employee.getVersion());
+        return copy;
+    }
+}
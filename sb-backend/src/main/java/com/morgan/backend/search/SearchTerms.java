@@ -0,0 +1,29 @@
+package com.morgan.backend.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+final class SearchTerms {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private SearchTerms() {
+    }
+
+    /**
+     * Lower-cased, accent-free words of {@code text}: "Émilie Carter-Smith" gives [emilie, carter, smith].
+     */
+    static List<String> of(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(NON_WORD.split(normalized.toLowerCase(Locale.ROOT)))
+            .filter(term -> !term.isEmpty())
+            .toList();
+    }
+}
@@ -0,0 +1,45 @@
+package com.morgan.backend.security;
+
+import com.morgan.backend.services.UserAccountService.Account;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+/**
+ * The authenticated user, as stored in the {@code SecurityContext}: carries the email too,
+ * so answering who is logged in needs no query.
+ * <p>A new instance is built per authentication: Spring Security erases its password once the login
+ * succeeded, which must not reach the cached {@link Account} it was built from.</p>
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class AccountPrincipal extends User {
+
+    // role "USER" for everyone for now
+    private static final List<GrantedAuthority> AUTHORITIES = AuthorityUtils.createAuthorityList("ROLE_USER");
+
+    private final String email;
+
+    public AccountPrincipal(Account account) {
+        super(account.username(), account.passwordHash(), AUTHORITIES);
+        this.email = account.email();
+    }
+
+    /**
+     * A user already authenticated, restored from a session store or cookie: no password.
+     */
+    public AccountPrincipal(String username, String email) {
+        super(username, "", AUTHORITIES);
+        this.email = email;
+    }
+
+    public Authentication toAuthentication() {
+        return UsernamePasswordAuthenticationToken.authenticated(this, null, getAuthorities());
+    }
+}
@@ -0,0 +1,119 @@
+package com.morgan.backend.security;
+
+import com.morgan.backend.exceptions.ServiceUnavailableException.PasswordHashingSaturatedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the hashing of a {@link PasswordEncoder} (BCrypt: tens of milliseconds of pure CPU each) on a fixed pool
+ * of platform threads, one per core, behind a bounded queue. Requests run on virtual threads, so without it a login
+ * storm would start as many hashes at once as there are logins and starve every other request of CPU.
+ * <p>When the queue is full the caller is turned away at once with a {@link PasswordHashingSaturatedException}
+ * (a {@code 503} with {@code Retry-After}) instead of waiting. Logins come first: a stored hash is only
+ * reported as worth upgrading while nothing is queued, so rehashes never delay them.</p>
+ * <p>Metrics: {@code auth.password.queue.wait} and {@code auth.password.hash} timers (by {@code operation}),
+ * {@code auth.password.rejected} counter and {@code auth.password.queue.size} gauge.</p>
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+
+    private final Timer queueWait;
+    private final Timer matchesTime;
+    private final Timer encodeTime;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration retryAfter,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.retryAfter = retryAfter;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofPlatform().name("password-hashing-", 0).daemon().factory(),
+            new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWait = Timer.builder("auth.password.queue.wait")
+            .description("Time a password hashing task waited for a thread")
+            .register(meterRegistry);
+        this.matchesTime = hashTimer("matches", meterRegistry);
+        this.encodeTime = hashTimer("encode", meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected")
+            .description("Password hashing tasks turned away because the queue was full")
+            .register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor, pool -> pool.getQueue().size())
+            .description("Password hashing tasks waiting for a thread")
+            .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("auth.password.hash")
+            .description("Time spent hashing a password")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(encodeTime, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(matchesTime, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return executor.getQueue().isEmpty() && delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(Timer hashTime, Supplier<T> hashing) {
+        long submittedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTime.record(hashing);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            log.warn("Password hashing saturated: {} tasks queued", executor.getQueue().size());
+            throw new PasswordHashingSaturatedException(retryAfter);
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
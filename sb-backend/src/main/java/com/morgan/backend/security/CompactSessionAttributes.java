@@ -0,0 +1,79 @@
+package com.morgan.backend.security;
+
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Serializes the session attributes written to the database by Spring Session JDBC.
+ * <p>The {@code SecurityContext} of a logged-in user, the one attribute every session holds, is written as its
+ * username and email: tens of bytes instead of the kilobyte or so of its JDK serialization, read and written
+ * on every request. Anything else falls back to JDK serialization.</p>
+ */
+public final class CompactSessionAttributes {
+
+    private static final byte ACCOUNT_CONTEXT = 1;
+    private static final byte SERIALIZED = 2;
+
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer;
+
+    private CompactSessionAttributes(ClassLoader classLoader) {
+        this.deserializer = new DeserializingConverter(classLoader);
+    }
+
+    /**
+     * The conversion service Spring Session JDBC looks up as {@code springSessionConversionService}.
+     */
+    public static GenericConversionService conversionService(ClassLoader classLoader) {
+        CompactSessionAttributes attributes = new CompactSessionAttributes(classLoader);
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, attributes::serialize);
+        conversionService.addConverter(byte[].class, Object.class, attributes::deserialize);
+        return conversionService;
+    }
+
+    byte[] serialize(Object attribute) {
+        if (attribute instanceof SecurityContext context
+            && context.getAuthentication() instanceof Authentication authentication
+            && authentication.isAuthenticated()
+            && authentication.getPrincipal() instanceof AccountPrincipal principal) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeByte(ACCOUNT_CONTEXT);
+                out.writeUTF(principal.getUsername());
+                out.writeUTF(principal.getEmail());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return bytes.toByteArray();
+        }
+        byte[] serialized = serializer.convert(attribute);
+        byte[] tagged = new byte[serialized.length + 1];
+        tagged[0] = SERIALIZED;
+        System.arraycopy(serialized, 0, tagged, 1, serialized.length);
+        return tagged;
+    }
+
+    Object deserialize(byte[] bytes) {
+        if (bytes[0] == ACCOUNT_CONTEXT) {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+                return new SecurityContextImpl(new AccountPrincipal(in.readUTF(), in.readUTF()).toAuthentication());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return deserializer.convert(Arrays.copyOfRange(bytes, 1, bytes.length));
+    }
+}
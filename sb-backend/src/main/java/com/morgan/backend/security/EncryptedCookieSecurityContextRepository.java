@@ -0,0 +1,141 @@
+package com.morgan.backend.security;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.util.WebUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Keeps the {@code SecurityContext} in the browser instead of the server: a cookie holding the username, email
+ * and expiry of the logged-in user, encrypted and authenticated with AES-GCM under a key shared by every node.
+ * Any node can read it back without a lookup, so no session affinity and no server-side state is needed.
+ * <p>The cookie lives {@code timeToLive} from login, then the user logs in again. Logging out only drops
+ * the cookie: a copy taken before stays valid until it expires.</p>
+ */
+@Slf4j
+public class EncryptedCookieSecurityContextRepository implements SecurityContextRepository {
+
+    public static final String COOKIE_NAME = "AUTH";
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private final SecretKey key;
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    public EncryptedCookieSecurityContextRepository(SecretKey key, Duration timeToLive, Clock clock) {
+        this.key = key;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    @Override
+    @Deprecated
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        Cookie cookie = WebUtils.getCookie(requestResponseHolder.getRequest(), COOKIE_NAME);
+        if (cookie != null) {
+            AccountPrincipal principal = decrypt(cookie.getValue());
+            if (principal != null) {
+                context.setAuthentication(principal.toAuthentication());
+            }
+        }
+        return context;
+    }
+
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        Authentication authentication = context.getAuthentication();
+        ResponseCookie.ResponseCookieBuilder cookie = ResponseCookie.from(COOKIE_NAME)
+            .path("/")
+            .httpOnly(true)
+            .secure(request.isSecure())
+            .sameSite("Lax");
+        if (authentication != null && authentication.getPrincipal() instanceof AccountPrincipal principal) {
+            cookie.value(encrypt(principal)).maxAge(timeToLive);
+        } else {
+            cookie.value("").maxAge(0); // logged out
+        }
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.build().toString());
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        return WebUtils.getCookie(request, COOKIE_NAME) != null;
+    }
+
+    String encrypt(AccountPrincipal principal) {
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(plain)) {
+            out.writeLong(clock.instant().plus(timeToLive).getEpochSecond());
+            out.writeUTF(principal.getUsername());
+            out.writeUTF(principal.getEmail());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plain.toByteArray());
+            byte[] token = Arrays.copyOf(iv, IV_LENGTH + encrypted.length);
+            System.arraycopy(encrypted, 0, token, IV_LENGTH, encrypted.length);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Cannot encrypt the session cookie", ex);
+        }
+    }
+
+    // null when the cookie was tampered with, made with another key, or has expired
+    AccountPrincipal decrypt(String value) {
+        try {
+            byte[] token = Base64.getUrlDecoder().decode(value);
+            if (token.length <= IV_LENGTH) {
+                return null;
+            }
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, token, 0, IV_LENGTH));
+            byte[] plain = cipher.doFinal(token, IV_LENGTH, token.length - IV_LENGTH);
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(plain));
+            Instant expiresAt = Instant.ofEpochSecond(in.readLong());
+            if (!clock.instant().isBefore(expiresAt)) {
+                return null;
+            }
+            return new AccountPrincipal(in.readUTF(), in.readUTF());
+        } catch (IllegalArgumentException | GeneralSecurityException | IOException ex) {
+            log.debug("Rejected session cookie: {}", ex.toString());
+            return null;
+        }
+    }
+}
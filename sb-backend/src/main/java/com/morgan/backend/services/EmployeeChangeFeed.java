@@ -0,0 +1,204 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.cache.CacheInvalidationBus;
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.mappers.EmployeeMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.morgan.backend.services.EmployeeService.CACHE_EMPLOYEES_BY_ID;
+
+/**
+ * The committed employee writes, as events for the clients following {@code GET /api/employees/changes},
+ * so they can apply them to what they display instead of polling the list.
+ * <p>{@link EmployeeService} reports its writes, published once their transaction commits. The last
+ * {@code bufferSize} events are kept in a ring, so a reconnecting client resumes after its last event id;
+ * one that was away longer gets a RESET and reloads. The writes of other nodes are only known by id:
+ * they come as STALE events, for the client to re-fetch those employees.</p>
+ * <p>Each subscriber has a bounded queue: publishing never waits for a client. A client too slow to drain
+ * its queue is dropped, and resumes from the ring when it reconnects.</p>
+ */
+@Slf4j
+public class EmployeeChangeFeed implements CacheInvalidationBus.Listener {
+
+    public enum ChangeType { CREATED, UPDATED, DELETED, STALE, RESET }
+
+    /**
+     * One event. {@code id} is {@code <epoch>-<sequence>}: the epoch tells the ids of a previous run apart.
+     * {@code data} is the employee for CREATED and UPDATED, {@code {"id"}} for DELETED,
+     * {@code {"ids"}} for STALE and empty for RESET.
+     */
+    public record Change(String id, ChangeType type, Object data) {}
+
+    private final EmployeeMapper employeeMapper;
+    private final Duration heartbeat;
+    private final int subscriberQueueSize;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<Subscription> subscribers = ConcurrentHashMap.newKeySet();
+    // guarded by this, like sequence: change n is at ring[n % ring.length]
+    private final Change[] ring;
+    private long sequence;
+
+    public EmployeeChangeFeed(EmployeeMapper employeeMapper, int bufferSize, Duration heartbeat, int subscriberQueueSize,
+                              CacheInvalidationBus cacheInvalidationBus, MeterRegistry meterRegistry) {
+        this.employeeMapper = employeeMapper;
+        this.ring = new Change[bufferSize];
+        this.heartbeat = heartbeat;
+        this.subscriberQueueSize = subscriberQueueSize;
+        cacheInvalidationBus.addListener(this); // to pass on the writes of the other nodes
+        Gauge.builder("employees.changes.subscribers", subscribers, Set::size)
+            .description("Clients following the employee change feed")
+            .register(meterRegistry);
+    }
+
+    public void created(Collection<Employee> employees) {
+        publishAfterCommit(ChangeType.CREATED, employees);
+    }
+
+    public void updated(Collection<Employee> employees) {
+        publishAfterCommit(ChangeType.UPDATED, employees);
+    }
+
+    public void deleted(Collection<Long> ids) {
+        List<Long> deletedIds = List.copyOf(ids);
+        afterCommit(() -> deletedIds.forEach(id -> publish(ChangeType.DELETED, Map.of("id", id))));
+    }
+
+    /**
+     * Too much changed to be described row by row (e.g. a CSV import): clients reload.
+     */
+    public void reset() {
+        afterCommit(() -> publish(ChangeType.RESET, Map.of()));
+    }
+
+    // Employees written on another node; a cleared cache means anything may have changed
+    @Override
+    public void invalidated(String cacheName, List<Long> keys) {
+        if (!CACHE_EMPLOYEES_BY_ID.equals(cacheName)) {
+            return;
+        }
+        if (keys.isEmpty()) {
+            publish(ChangeType.RESET, Map.of());
+        } else {
+            publish(ChangeType.STALE, Map.of("ids", List.copyOf(keys)));
+        }
+    }
+
+    /**
+     * Starts following the feed. With the {@code Last-Event-ID} of a previous connection, the events
+     * missed since are queued first; a RESET is queued instead when they have left the ring, or when
+     * the id is from an earlier run.
+     */
+    public synchronized Subscription subscribe(String lastEventId) {
+        Subscription subscription = new Subscription();
+        if (lastEventId != null) {
+            long last = sequenceOf(lastEventId);
+            long oldest = Math.max(1, sequence - ring.length + 1);
+            if (last < oldest - 1 || last > sequence || sequence - last > subscriberQueueSize) {
+                subscription.queue.add(new Change(idOf(sequence), ChangeType.RESET, Map.of()));
+            } else {
+                for (long missed = last + 1; missed <= sequence; missed++) {
+                    subscription.queue.add(ring[(int) (missed % ring.length)]);
+                }
+            }
+        }
+        subscribers.add(subscription);
+        return subscription;
+    }
+
+    private void publishAfterCommit(ChangeType type, Collection<Employee> employees) {
+        List<Employee> written = List.copyOf(employees);
+        // mapped after the commit, once the flush has set the new versions
+        afterCommit(() -> written.forEach(employee -> publish(type, employeeMapper.toDto(employee))));
+    }
+
+    // The events are only true once committed; outside a transaction, the write has already committed
+    private static void afterCommit(Runnable publication) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publication.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publication.run();
+            }
+        });
+    }
+
+    private synchronized void publish(ChangeType type, Object data) {
+        long next = ++sequence;
+        Change change = new Change(idOf(next), type, data);
+        ring[(int) (next % ring.length)] = change;
+        for (Subscription subscription : subscribers) {
+            if (!subscription.queue.offer(change)) {
+                log.info("Change feed subscriber too slow, dropped after {} pending events", subscriberQueueSize);
+                subscription.close(); // it reconnects and resumes from the ring
+            }
+        }
+    }
+
+    private String idOf(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // -1 (nothing can be resumed) for an id of another run, or one that is not ours
+    private long sequenceOf(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * The events of one client, read by the thread writing them to its connection.
+     */
+    public final class Subscription implements AutoCloseable {
+
+        private final BlockingQueue<Change> queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+        private volatile boolean closed;
+
+        private Subscription() {
+        }
+
+        /**
+         * The next event, waiting for it up to the heartbeat interval: null when none came in time
+         * (the connection should be probed), or when the subscription is closed and drained.
+         */
+        public Change next() throws InterruptedException {
+            if (closed) {
+                return queue.poll();
+            }
+            return queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
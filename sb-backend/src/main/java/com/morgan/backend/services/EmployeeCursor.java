@@ -0,0 +1,51 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.exceptions.BadRequestException.InvalidCursorException;
+import com.morgan.backend.services.EmployeeService.SortField;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Opaque keyset cursor: the sort field, the id and the sort value of the last row of a page,
+ * Base64url-encoded so that clients just echo it back in {@code ?after=}.
+ */
+final class EmployeeCursor {
+
+    private static final String SEPARATOR = ":";
+    private static final String ID = "id";
+
+    private EmployeeCursor() {}
+
+    static String encode(SortField sortField, KeysetScrollPosition position) {
+        Map<String, ?> keys = position.getKeys();
+        String raw = sortField.property() + SEPARATOR + keys.get(ID);
+        if (sortField != SortField.ID) {
+            raw += SEPARATOR + keys.get(sortField.property());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetScrollPosition decode(SortField sortField, String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // the sort value comes last and may itself contain the separator
+            String[] parts = raw.split(SEPARATOR, 3);
+            if (!sortField.property().equals(parts[0])) {
+                throw new InvalidCursorException(cursor); // cursor issued for another sort order
+            }
+            Long id = Long.valueOf(parts[1]);
+            return sortField == SortField.ID
+                ? ScrollPosition.forward(Map.of(ID, id))
+                : ScrollPosition.forward(Map.of(sortField.property(), parts[2], ID, id));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
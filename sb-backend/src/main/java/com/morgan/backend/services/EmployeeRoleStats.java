@@ -0,0 +1,134 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.cache.CacheInvalidationBus;
+import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.repositories.EmployeeRepository.RoleCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.morgan.backend.services.EmployeeService.CACHE_EMPLOYEES_BY_ID;
+
+/**
+ * Number of employees per role, held in memory: loaded with one {@code GROUP BY} once the application is ready,
+ * then adjusted by {@link EmployeeService} after each committed write, one counter per written role.
+ * Each adjustment is passed on to the other nodes over the {@link CacheInvalidationBus}, which apply it the same way;
+ * a new {@code GROUP BY} is only run when they may have missed some (a cleared {@code employeesById}, a reconnect).
+ */
+@Slf4j
+@Component
+public class EmployeeRoleStats implements CacheInvalidationBus.Listener {
+
+    static final String COUNTER_ROLES = "employeesByRole";
+
+    private final EmployeeRepository employeeRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    // swapped whole by rebuild(); writes are serialized on this
+    private volatile Map<String, Long> countsByRole = new ConcurrentHashMap<>();
+
+    public record RoleStats(long total, List<RoleStat> roles) {}
+
+    public record RoleStat(String role, long count) {}
+
+    public EmployeeRoleStats(EmployeeRepository employeeRepository, CacheInvalidationBus cacheInvalidationBus) {
+        this.employeeRepository = employeeRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        cacheInvalidationBus.addListener(this);
+    }
+
+    /**
+     * Most common roles first.
+     */
+    public RoleStats stats() {
+        List<RoleStat> roles = countsByRole.entrySet().stream()
+            .map(entry -> new RoleStat(entry.getKey(), entry.getValue()))
+            .sorted(Comparator.comparingLong(RoleStat::count).reversed().thenComparing(RoleStat::role))
+            .toList();
+        return new RoleStats(roles.stream().mapToLong(RoleStat::count).sum(), roles);
+    }
+
+    public void added(String role) {
+        apply(Map.of(key(role), 1L));
+    }
+
+    public void removed(String role) {
+        apply(Map.of(key(role), -1L));
+    }
+
+    public void changed(String oldRole, String newRole) {
+        if (!Objects.equals(key(oldRole), key(newRole))) {
+            apply(Map.of(key(oldRole), -1L, key(newRole), 1L));
+        }
+    }
+
+    /**
+     * Adds {@code deltaByRole} to the counters, as built with {@link #delta(Map, String, long)}, here and on the other nodes.
+     */
+    public void apply(Map<String, Long> deltaByRole) {
+        Map<String, Long> moved = new HashMap<>(deltaByRole);
+        moved.values().removeIf(delta -> delta == 0);
+        if (!moved.isEmpty()) {
+            add(moved);
+            cacheInvalidationBus.adjust(COUNTER_ROLES, moved);
+        }
+    }
+
+    private synchronized void add(Map<String, Long> deltaByRole) {
+        Map<String, Long> counts = countsByRole;
+        deltaByRole.forEach((role, delta) -> counts.compute(role, (r, count) -> {
+            long updated = (count == null ? 0 : count) + delta;
+            return updated > 0 ? updated : null;
+        }));
+    }
+
+    /**
+     * Accumulates one role change into {@code deltaByRole}, for a single {@link #apply(Map)} per bulk write.
+     */
+    public static void delta(Map<String, Long> deltaByRole, String role, long delta) {
+        deltaByRole.merge(key(role), delta, Long::sum);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Map<String, Long> counts = new ConcurrentHashMap<>();
+        for (RoleCount roleCount : employeeRepository.countByRole()) {
+            counts.put(key(roleCount.getRole()), roleCount.getCount());
+        }
+        countsByRole = counts;
+        log.info("Role stats loaded: {} roles", counts.size());
+    }
+
+    // Employees written on another node: their roles come as adjustments, unless they were too many to send
+    @Override
+    public void adjusted(String counterName, Map<String, Long> deltas) {
+        if (COUNTER_ROLES.equals(counterName)) {
+            if (deltas.isEmpty()) {
+                rebuild();
+            } else {
+                add(deltas);
+            }
+        }
+    }
+
+    // A cleared cache means adjustments may have been missed (an import, a reconnect); evictions by id are ignored
+    @Override
+    public void invalidated(String cacheName, List<Long> keys) {
+        if (CACHE_EMPLOYEES_BY_ID.equals(cacheName) && keys.isEmpty()) {
+            rebuild();
+        }
+    }
+
+    // role is mandatory through the API, but ConcurrentHashMap cannot hold a null key from older rows
+    private static String key(String role) {
+        return Objects.requireNonNullElse(role, "");
+    }
+}
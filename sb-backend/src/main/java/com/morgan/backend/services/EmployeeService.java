@@ -1,66 +1,460 @@
 package com.morgan.backend.services;
 
+import com.morgan.backend.cache.CacheInvalidationBus;
 import com.morgan.backend.entities.Employee;
+import com.morgan.backend.exceptions.BadRequestException.InvalidSortFieldException;
 import com.morgan.backend.exceptions.NotFoundException.EmployeeNotFoundException;
 import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.repositories.EmployeeRepository.EmployeeView;
+import com.morgan.backend.repositories.EmployeeRepository.IdAndRole;
+import com.morgan.backend.repositories.EmployeeWrites.EmployeeWrite;
+import com.morgan.backend.search.EmployeeSearch;
+import com.morgan.backend.services.EmployeeRoleStats.RoleStats;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class EmployeeService {
 
-    public static final String CACHE_EMPLOYEES_ALL = "employeesAll";
+    public static final String CACHE_EMPLOYEES_PAGES = "employeesPages";
     public static final String CACHE_EMPLOYEES_BY_ID = "employeesById";
+    // Pre-serialized responses of the two read endpoints, see EmployeeJsonCache; invalidated along with the entities
+    public static final String CACHE_EMPLOYEES_PAGES_JSON = "employeesPagesJson";
+    public static final String CACHE_EMPLOYEES_BY_ID_JSON = "employeesByIdJson";
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+
+    public static final int MAX_BATCH_SIZE = 10_000;
+    // rows per transaction; Hibernate sends them in JDBC batches of hibernate.jdbc.batch_size
+    static final int BATCH_CHUNK_SIZE = 500;
 
     private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final EmployeeSearch employeeSearch;
+    private final EmployeeRoleStats employeeRoleStats;
+    private final EmployeeChangeFeed employeeChangeFeed;
+
+    /**
+     * Part of every page cache key. Any write can shift rows between pages, so instead of clearing the page
+     * cache, a write bumps the version: older pages simply stop being looked up and age out of the cache,
+     * while employeesById entries are maintained one key at a time.
+     */
+    private final AtomicLong pagesVersion = new AtomicLong();
+
+    public enum SortField {
+        ID("id"),
+        FIRST_NAME("firstName"),
+        LAST_NAME("lastName"),
+        ROLE("role");
+
+        private final String property;
+
+        SortField(String property) {
+            this.property = property;
+        }
+
+        public String property() {
+            return property;
+        }
+
+        public static SortField fromProperty(String property) {
+            return Arrays.stream(values())
+                .filter(sortField -> sortField.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new InvalidSortFieldException(property));
+        }
+
+        // id is unique, so it is the tiebreak that makes the keyset order total
+        Sort toSort(Sort.Direction direction) {
+            return this == ID
+                ? Sort.by(direction, ID.property)
+                : Sort.by(direction, property, ID.property);
+        }
+    }
+
+    /**
+     * A page request; being a record, it is also the cache key of its page.
+     * {@code role} restricts the list to one role (null for all of them);
+     * {@code after} is the opaque cursor returned with the previous page (null for the first page).
+     */
+    public record PageQuery(SortField sortField, Sort.Direction direction, String role, String after, int limit) {
+        public PageQuery {
+            limit = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        }
+
+        public PageQuery(SortField sortField, Sort.Direction direction, String after, int limit) {
+            this(sortField, direction, null, after, limit);
+        }
+    }
+
+    /**
+     * {@code version} identifies the page content: it changes as soon as one of its employees is updated,
+     * or the page gains or loses an employee. It is computed once, when the page is loaded.
+     */
+    public record EmployeePage(List<EmployeeView> employees, String nextCursor, String version) {
+        public EmployeePage(List<EmployeeView> employees, String nextCursor) {
+            this(employees, nextCursor, versionOf(employees, nextCursor));
+        }
+
+        private static String versionOf(List<EmployeeView> employees, String nextCursor) {
+            StringBuilder content = new StringBuilder(employees.size() * 16);
+            employees.forEach(employee -> content.append(employee.id()).append(':').append(employee.version()).append(','));
+            content.append(nextCursor);
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(digest, 0, 16);
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex); // every JVM ships SHA-256
+            }
+        }
+    }
+
+    public enum BatchItemStatus { CREATED, UPDATED, DELETED, NOT_FOUND, INVALID, FAILED }
+
+    /**
+     * Outcome of one item of a bulk write; {@code index} is the item's position in the submitted list.
+     */
+    public record BatchItemResult(int index, Long id, BatchItemStatus status, String error) {
+        public boolean succeeded() {
+            return status == BatchItemStatus.CREATED || status == BatchItemStatus.UPDATED || status == BatchItemStatus.DELETED;
+        }
+    }
 
-    // Cache for read operations
-    @Cacheable(CACHE_EMPLOYEES_ALL)
-    public List<Employee> findAll() {
-        log.info("DB hit for findAll");
-        return employeeRepository.findAll();
+    public long getPagesVersion() {
+        return pagesVersion.get();
     }
 
-    @Cacheable(cacheNames = CACHE_EMPLOYEES_BY_ID, key = "#id")
-    public Employee findById(Long id) {
+    // Cache for read operations: one entry per page and pages version, loaded once however many readers miss it
+    @Cacheable(cacheNames = CACHE_EMPLOYEES_PAGES, key = "{#root.target.pagesVersion, #query}", sync = true)
+    public EmployeePage findPage(PageQuery query) {
+        log.info("DB hit for findPage {}", query);
+        return loadPage(query);
+    }
+
+    /**
+     * Reloads a cached page ahead of its expiry (see CacheConfig); null, to drop it, once writes have retired its version.
+     */
+    public EmployeePage reloadPage(long version, PageQuery query) {
+        if (version != pagesVersion.get()) {
+            return null;
+        }
+        log.info("DB refresh for findPage {}", query);
+        return loadPage(query);
+    }
+
+    private EmployeePage loadPage(PageQuery query) {
+        SortField sortField = query.sortField();
+        ScrollPosition position = EmployeeCursor.decode(sortField, query.after());
+        Sort sort = sortField.toSort(query.direction());
+        Window<EmployeeView> window = query.role() == null
+            ? employeeRepository.findViewsBy(position, sort, Limit.of(query.limit()))
+            : employeeRepository.findViewsByRole(query.role(), position, sort, Limit.of(query.limit()));
+
+        String nextCursor = window.hasNext()
+            ? EmployeeCursor.encode(sortField, (KeysetScrollPosition) window.positionAt(window.size() - 1))
+            : null;
+        return new EmployeePage(window.getContent(), nextCursor);
+    }
+
+    /**
+     * Streams every employee, in id order, to {@code action} without ever holding the table in memory:
+     * rows come from a database cursor and are detached once handed over, so the persistence context stays empty.
+     * Deliberately not cached.
+     */
+    @Transactional(readOnly = true)
+    public long streamAll(Consumer<Employee> action) {
+        log.info("DB cursor for streamAll");
+        long count = 0;
+        try (Stream<Employee> employees = employeeRepository.streamAllByOrderByIdAsc()) {
+            for (Employee employee : (Iterable<Employee>) employees::iterator) {
+                action.accept(employee);
+                entityManager.detach(employee);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Cacheable(cacheNames = CACHE_EMPLOYEES_BY_ID, key = "#id", sync = true)
+    public EmployeeView findById(Long id) {
         log.info("DB hit for findById {}", id);
-        return employeeRepository.findById(id)
+        return employeeRepository.findViewById(id)
             .orElseThrow(() -> new EmployeeNotFoundException(id));
     }
 
-    // Evict for write operations
-    @CacheEvict(cacheNames = {CACHE_EMPLOYEES_ALL, CACHE_EMPLOYEES_BY_ID}, allEntries = true)
+    /**
+     * Reloads a cached employee ahead of its expiry (see CacheConfig); null, to drop it, once deleted.
+     */
+    public EmployeeView reloadById(Long id) {
+        log.info("DB refresh for findById {}", id);
+        return employeeRepository.findViewById(id).orElse(null);
+    }
+
+    /**
+     * Employees per role, from the in-memory counters: no database access.
+     */
+    public RoleStats stats() {
+        return employeeRoleStats.stats();
+    }
+
+    /**
+     * Best matches first; not cached, the in-memory index answers without touching the database.
+     */
+    public List<Employee> search(String query, int limit) {
+        return employeeSearch.search(query, Math.clamp(limit, 1, MAX_SEARCH_LIMIT));
+    }
+
+    // Write operations: write through to employeesById, evict only the deleted key, invalidate pages by version
+
+    /**
+     * Creates the employee under a generated id; an id given with it is ignored, it never overwrites an existing row.
+     */
     public Employee create(Employee employee) {
-        return employeeRepository.save(employee);
+        employee.setId(null); // an id would make save merge it
+        Employee saved = employeeRepository.save(employee);
+        employeeRoleStats.added(saved.getRole());
+        employeeChangeFeed.created(List.of(saved));
+        return afterWrite(saved);
     }
 
-    @CacheEvict(cacheNames = {CACHE_EMPLOYEES_ALL, CACHE_EMPLOYEES_BY_ID}, allEntries = true)
+    /**
+     * Replaces the employee {@code id}, or creates it with a generated id when there is none, as {@link #upsertAll} does:
+     * one statement, without loading it first.
+     */
     public Employee upsert(Long id, Employee employeeEntity) {
-        return employeeRepository.findById(id)
-            .map(existing -> {
-                existing.setFirstName(employeeEntity.getFirstName());
-                existing.setLastName(employeeEntity.getLastName());
-                existing.setRole(employeeEntity.getRole());
-                return employeeRepository.save(existing);
-            })
-            .orElseGet(() -> {
-                employeeEntity.setId(id);
-                return employeeRepository.save(employeeEntity);
-            });
-    }
-
-    @CacheEvict(cacheNames = {CACHE_EMPLOYEES_ALL, CACHE_EMPLOYEES_BY_ID}, allEntries = true)
+        employeeEntity.setId(id);
+        EmployeeWrite written = employeeRepository.upsertById(employeeEntity);
+        if (written.created()) {
+            employeeRoleStats.added(written.employee().getRole());
+            employeeChangeFeed.created(List.of(written.employee()));
+        } else {
+            employeeRoleStats.changed(written.previousRole(), written.employee().getRole());
+            employeeChangeFeed.updated(List.of(written.employee()));
+        }
+        return afterWrite(written.employee());
+    }
+
+    /**
+     * Sets the non-null fields of {@code changes} on the employee: one statement, without loading it first.
+     */
+    public Employee patch(Long id, Employee changes) {
+        EmployeeWrite written = employeeRepository.patchById(id, changes)
+            .orElseThrow(() -> new EmployeeNotFoundException(id));
+        employeeRoleStats.changed(written.previousRole(), written.employee().getRole());
+        employeeChangeFeed.updated(List.of(written.employee()));
+        return afterWrite(written.employee());
+    }
+
+    @CacheEvict(cacheNames = CACHE_EMPLOYEES_BY_ID, key = "#id")
     public void delete(Long id) {
-        if (!employeeRepository.existsById(id)) {
-            throw new EmployeeNotFoundException(id);
+        // the statement returns the deleted row: its role is needed, and existsById would be a second round trip
+        Employee deleted = employeeRepository.deleteByIdReturning(id)
+            .orElseThrow(() -> new EmployeeNotFoundException(id));
+        employeeSearch.deleted(id);
+        employeeRoleStats.removed(deleted.getRole());
+        employeeChangeFeed.deleted(List.of(id));
+        invalidateAfterWrite(List.of(id));
+    }
+
+    // the cache holds views, like the reads fill it, so the write-through is done here rather than with @CachePut
+    private Employee afterWrite(Employee written) {
+        employeeSearch.saved(written);
+        invalidateAfterWrite(List.of(written.getId()));
+        Cache cache = cacheManager.getCache(CACHE_EMPLOYEES_BY_ID);
+        if (cache != null) {
+            cache.put(written.getId(), EmployeeView.of(written));
+        }
+        return written;
+    }
+
+    // Bulk writes: one transaction per chunk; the caches are maintained once per batch, not once per row
+
+    /**
+     * Creates the employees under generated ids; an id given with one is ignored, it never overwrites an existing row.
+     */
+    public List<BatchItemResult> createAll(List<Employee> employees) {
+        return writeInChunks(employees, (chunk, roleDeltas) -> {
+            chunk.forEach(employee -> employee.setId(null)); // an id would make saveAll merge it
+            List<Employee> saved = employeeRepository.saveAll(chunk);
+            saved.forEach(employee -> EmployeeRoleStats.delta(roleDeltas, employee.getRole(), 1));
+            employeeChangeFeed.created(saved); // published if the chunk commits
+            return saved.stream()
+                .map(employee -> new BatchItemResult(0, employee.getId(), BatchItemStatus.CREATED, null))
+                .toList();
+        });
+    }
+
+    /**
+     * Replaces the employees by id. Existing rows are loaded with one query per chunk and updated through
+     * dirty checking (batched UPDATEs); unknown ids are inserted as new employees, with a generated id.
+     */
+    public List<BatchItemResult> upsertAll(List<Employee> employees) {
+        return writeInChunks(employees, (chunk, roleDeltas) -> {
+            Map<Long, Employee> existingById = employeeRepository
+                .findAllById(chunk.stream().map(Employee::getId).toList()).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+            List<BatchItemResult> results = new ArrayList<>(chunk.size());
+            List<Employee> updated = new ArrayList<>();
+            List<Employee> created = new ArrayList<>();
+            for (Employee employee : chunk) {
+                Employee existing = existingById.get(employee.getId());
+                if (existing != null) {
+                    EmployeeRoleStats.delta(roleDeltas, existing.getRole(), -1);
+                    EmployeeRoleStats.delta(roleDeltas, employee.getRole(), 1);
+                    existing.setFirstName(employee.getFirstName());
+                    existing.setLastName(employee.getLastName());
+                    existing.setRole(employee.getRole());
+                    updated.add(existing);
+                    results.add(new BatchItemResult(0, existing.getId(), BatchItemStatus.UPDATED, null));
+                } else {
+                    employee.setId(null);
+                    entityManager.persist(employee);
+                    EmployeeRoleStats.delta(roleDeltas, employee.getRole(), 1);
+                    created.add(employee);
+                    results.add(new BatchItemResult(0, employee.getId(), BatchItemStatus.CREATED, null));
+                }
+            }
+            employeeChangeFeed.updated(updated);
+            employeeChangeFeed.created(created);
+            return results;
+        });
+    }
+
+    /**
+     * Deletes the employees by id with a single {@code DELETE ... WHERE id IN (...)} per chunk,
+     * reporting the unknown ids as NOT_FOUND.
+     */
+    public List<BatchItemResult> deleteAll(List<Long> ids) {
+        return writeInChunks(ids, (chunk, roleDeltas) -> {
+            Set<Long> existingIds = new HashSet<>();
+            for (IdAndRole existing : employeeRepository.findRolesByIdIn(chunk)) {
+                existingIds.add(existing.getId());
+                EmployeeRoleStats.delta(roleDeltas, existing.getRole(), -1);
+            }
+            employeeRepository.deleteAllByIdInBatch(existingIds);
+            employeeChangeFeed.deleted(existingIds);
+            return chunk.stream()
+                .map(id -> existingIds.contains(id)
+                    ? new BatchItemResult(0, id, BatchItemStatus.DELETED, null)
+                    : new BatchItemResult(0, id, BatchItemStatus.NOT_FOUND, null))
+                .toList();
+        });
+    }
+
+    /**
+     * After a bulk import that went around the repository: the role counters and search index are rebuilt
+     * from the table, once, and every node drops what it cached of the employees.
+     */
+    public void refreshAfterImport() {
+        pagesVersion.incrementAndGet();
+        employeeRoleStats.rebuild();
+        employeeSearch.rebuild();
+        employeeChangeFeed.reset();
+        // a cleared employeesById also makes the peers rebuild their counters and index
+        cacheInvalidationBus.clear(CACHE_EMPLOYEES_BY_ID, CACHE_EMPLOYEES_BY_ID_JSON, CACHE_EMPLOYEES_PAGES, CACHE_EMPLOYEES_PAGES_JSON);
+    }
+
+    /**
+     * Runs {@code chunkWriter} on consecutive chunks of {@code items}, each chunk in its own transaction.
+     * A failing chunk is rolled back and all its items are reported as FAILED; the other chunks still commit.
+     * {@code chunkWriter} returns one result per item, in order; the item index is filled in here. It also adds
+     * the role changes of the chunk to the map it is given (see {@link EmployeeRoleStats#delta}), counted if the chunk commits.
+     * Once all chunks are written, the role counters are adjusted, the written ids are evicted and reindexed,
+     * and the pages version is bumped.
+     */
+    private <T> List<BatchItemResult> writeInChunks(List<T> items,
+                                                    BiFunction<List<T>, Map<String, Long>, List<BatchItemResult>> chunkWriter) {
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        Map<String, Long> roleDeltas = new HashMap<>();
+        for (int from = 0; from < items.size(); from += BATCH_CHUNK_SIZE) {
+            int start = from;
+            List<T> chunk = items.subList(start, Math.min(start + BATCH_CHUNK_SIZE, items.size()));
+            Map<String, Long> chunkRoleDeltas = new HashMap<>();
+            try {
+                List<BatchItemResult> chunkResults = transactionTemplate.execute(status -> chunkWriter.apply(chunk, chunkRoleDeltas));
+                chunkRoleDeltas.forEach((role, delta) -> roleDeltas.merge(role, delta, Long::sum));
+                for (int i = 0; i < chunkResults.size(); i++) {
+                    BatchItemResult result = chunkResults.get(i);
+                    results.add(new BatchItemResult(start + i, result.id(), result.status(), result.error()));
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Batch chunk [{}..{}] rolled back", start, start + chunk.size() - 1, ex);
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(new BatchItemResult(start + i, null, BatchItemStatus.FAILED, "Chunk rolled back: " + ex.getClass().getSimpleName()));
+                }
+            }
+        }
+
+        List<Long> writtenIds = results.stream()
+            .filter(BatchItemResult::succeeded)
+            .map(BatchItemResult::id)
+            .toList();
+        // sent before the invalidations, so that a peer recounting on a cleared cache does not count these writes twice
+        employeeRoleStats.apply(roleDeltas);
+        evictLocally(CACHE_EMPLOYEES_BY_ID, writtenIds);
+        employeeSearch.changed(writtenIds);
+        invalidateAfterWrite(writtenIds);
+        return results;
+    }
+
+    /**
+     * Invalidates the local pages (by version) and serialized copies of the {@code writtenIds} employees,
+     * then tells the other nodes to drop their pages and their copies of those employees.
+     * Created ids are sent too: peers have nothing cached for them, but their search index must learn about them.
+     */
+    private void invalidateAfterWrite(Collection<Long> writtenIds) {
+        pagesVersion.incrementAndGet();
+        evictLocally(CACHE_EMPLOYEES_BY_ID_JSON, writtenIds);
+        cacheInvalidationBus.evict(writtenIds, CACHE_EMPLOYEES_BY_ID, CACHE_EMPLOYEES_BY_ID_JSON);
+        cacheInvalidationBus.clear(CACHE_EMPLOYEES_PAGES, CACHE_EMPLOYEES_PAGES_JSON);
+    }
+
+    private void evictLocally(String cacheName, Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            ids.forEach(cache::evict);
         }
-        employeeRepository.deleteById(id);
     }
 }
@@ -0,0 +1,110 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.entities.EmployeeTombstone;
+import com.morgan.backend.repositories.EmployeeChangeTracking;
+import com.morgan.backend.repositories.EmployeeChangeTracking.ChangePosition;
+import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.repositories.EmployeeTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delta sync, for the clients keeping their own copy of the directory (offline, mobile): given the token
+ * of their last sync, they get the employees written and the ids deleted since, in change order, and the
+ * token to pass next time. The cost is that of the changes, not of the table: both come from a range of
+ * a {@code (change_xid, change_seq)} index (see {@link EmployeeChangeTracking}).
+ * <p>Without a token, or with one older than the tombstone retention, the sync is full: every employee, and
+ * the client drops what it had. A sync of more than {@code limit} changes comes in pages, each with the
+ * token of the next.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class EmployeeSync {
+
+    public static final int DEFAULT_SYNC_LIMIT = 500;
+    public static final int MAX_SYNC_LIMIT = 5000;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeTombstoneRepository employeeTombstoneRepository;
+    private final EmployeeChangeTracking employeeChangeTracking;
+    private final Duration tombstoneRetention;
+    private final Clock clock;
+
+    /**
+     * {@code full}: the client must drop its copy first. {@code hasMore}: more changes are waiting, to be
+     * fetched right away with {@code token}.
+     */
+    public record SyncPage(List<Employee> changed, List<Long> deleted, String token, boolean full, boolean hasMore) {}
+
+    /**
+     * Not read-only: it runs on the primary, as a replica may not have the changes settled there yet.
+     */
+    @Transactional
+    public SyncPage changesSince(String token, int limit) {
+        limit = Math.clamp(limit, 1, MAX_SYNC_LIMIT);
+        Instant now = clock.instant();
+        SyncToken since = token == null || token.isEmpty() ? null : SyncToken.decode(token);
+        boolean full = since == null || since.horizon().isBefore(now.minus(tombstoneRetention));
+        if (full) {
+            since = new SyncToken(ChangePosition.START, now); // deletions are no news to a client starting over
+        }
+
+        ChangePosition upTo = employeeChangeTracking.settledPosition();
+        List<Employee> rows = employeeRepository.findChanged(since.position(), upTo, Limit.of(limit));
+        List<EmployeeTombstone> tombstones = full
+            ? List.of()
+            : employeeTombstoneRepository.findChanged(since.position(), upTo, Limit.of(limit));
+
+        // the first `limit` changes of both, in change order
+        int takenRows = 0;
+        int takenTombstones = 0;
+        ChangePosition last = since.position();
+        while (takenRows + takenTombstones < limit && (takenRows < rows.size() || takenTombstones < tombstones.size())) {
+            if (takenTombstones == tombstones.size()
+                || takenRows < rows.size() && position(rows.get(takenRows)).compareTo(position(tombstones.get(takenTombstones))) < 0) {
+                last = position(rows.get(takenRows++));
+            } else {
+                last = position(tombstones.get(takenTombstones++));
+            }
+        }
+        // a full result may have stopped short of the others
+        boolean hasMore = takenRows < rows.size() || takenTombstones < tombstones.size()
+            || rows.size() == limit || tombstones.size() == limit;
+
+        // an employee deleted and re-created (or the other way round) only counts for its latest change
+        Map<Long, Long> latestChange = new HashMap<>();
+        rows.subList(0, takenRows).forEach(row -> latestChange.merge(row.getId(), row.getChangeSeq(), Math::max));
+        tombstones.subList(0, takenTombstones).forEach(tombstone -> latestChange.merge(tombstone.getId(), tombstone.getChangeSeq(), Math::max));
+        List<Employee> changed = rows.subList(0, takenRows).stream()
+            .filter(row -> latestChange.get(row.getId()) == row.getChangeSeq().longValue())
+            .toList();
+        List<Long> deleted = tombstones.subList(0, takenTombstones).stream()
+            .filter(tombstone -> latestChange.get(tombstone.getId()) == tombstone.getChangeSeq())
+            .map(EmployeeTombstone::getId)
+            .toList();
+
+        // Once caught up, the client has every change up to `upTo` (a full sync skips the older deletions on purpose),
+        // and anything after is recorded from now on; until then, the deletions still to fetch date back to the previous horizon
+        SyncToken next = hasMore ? new SyncToken(last, since.horizon()) : new SyncToken(upTo, now);
+        log.info("Sync since {}: {} changed, {} deleted, full={}, hasMore={}", since.position(), changed.size(), deleted.size(), full, hasMore);
+        return new SyncPage(changed, deleted, next.encode(), full, hasMore);
+    }
+
+    private static ChangePosition position(Employee row) {
+        return new ChangePosition(row.getChangeXid(), row.getChangeSeq());
+    }
+
+    private static ChangePosition position(EmployeeTombstone tombstone) {
+        return new ChangePosition(tombstone.getChangeXid(), tombstone.getChangeSeq());
+    }
+}
@@ -0,0 +1,43 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.repositories.EmployeeTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Deletes the tombstones older than {@code retention}, every {@code pruneInterval} on Spring's task scheduler
+ * (see SyncConfig).
+ * The sync tokens older than that have expired (see {@link EmployeeSync}), so no client needs them any more.
+ * Every node prunes: the deletes are the same.
+ */
+@Slf4j
+public class EmployeeTombstonePruner {
+
+    private final EmployeeTombstoneRepository employeeTombstoneRepository;
+    private final Duration retention;
+    private final Duration pruneInterval;
+    private final Clock clock;
+
+    public EmployeeTombstonePruner(EmployeeTombstoneRepository employeeTombstoneRepository, Duration retention,
+                                   Duration pruneInterval, Clock clock) {
+        this.employeeTombstoneRepository = employeeTombstoneRepository;
+        this.retention = retention;
+        this.pruneInterval = pruneInterval;
+        this.clock = clock;
+    }
+
+    public int prune() {
+        try {
+            int pruned = employeeTombstoneRepository.deleteDeletedBefore(clock.instant().minus(retention));
+            if (pruned > 0) {
+                log.info("Pruned {} employee tombstones older than {}", pruned, retention);
+            }
+            return pruned;
+        } catch (RuntimeException ex) {
+            log.warn("Employee tombstone pruning failed, retried in {}", pruneInterval, ex);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.exceptions.BadRequestException.InvalidSyncTokenException;
+import com.morgan.backend.repositories.EmployeeChangeTracking.ChangePosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque delta sync token: the last change a client has, and the instant from which the deletions it has not
+ * seen were recorded. Past the tombstone retention, those may have been pruned: the token has expired.
+ * Base64url-encoded so that clients just echo it back in {@code ?since=}.
+ * <p>The tokens handed out before the changes recorded their transaction ({@code seq:horizon}) stand for
+ * transaction 0, that of the changes they cover.</p>
+ */
+record SyncToken(ChangePosition position, Instant horizon) {
+
+    private static final String SEPARATOR = ":";
+
+    String encode() {
+        // the horizon rounded down: expires early rather than late
+        String raw = position.xid() + SEPARATOR + position.seq() + SEPARATOR + horizon.getEpochSecond();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 3);
+            ChangePosition position = parts.length == 3
+                ? new ChangePosition(Long.parseLong(parts[0]), Long.parseLong(parts[1]))
+                : new ChangePosition(0, Long.parseLong(parts[0]));
+            return new SyncToken(position, Instant.ofEpochSecond(Long.parseLong(parts[parts.length - 1])));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeException ex) {
+            throw new InvalidSyncTokenException(token);
+        }
+    }
+}
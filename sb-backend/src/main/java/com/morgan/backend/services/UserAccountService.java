@@ -0,0 +1,74 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.cache.CacheInvalidationBus;
+import com.morgan.backend.entities.UserAccount;
+import com.morgan.backend.repositories.UserAccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * User accounts as seen by authentication: every login and every current-user check looks one up,
+ * so lookups are cached by username. Accounts rarely change; when one is saved or deleted, the whole cache is
+ * dropped on every node, a rename leaving no stale entry behind. A password rehash only evicts its username.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserAccountService {
+
+    public static final String CACHE_USERS_BY_USERNAME = "usersByUsername";
+
+    private final UserAccountRepository userAccountRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    /**
+     * An immutable copy of the {@link UserAccount} entity, safe to share between requests.
+     */
+    public record Account(Long id, String username, String email, String passwordHash) {
+        static Account of(UserAccount user) {
+            return new Account(user.getId(), user.getUsername(), user.getEmail(), user.getPasswordHash());
+        }
+    }
+
+    // unknown usernames are not cached: anyone can make them up
+    @Cacheable(cacheNames = CACHE_USERS_BY_USERNAME, key = "#username", unless = "#result == null")
+    public Optional<Account> findByUsername(String username) {
+        log.info("DB hit for findByUsername {}", username);
+        return userAccountRepository.findByUsername(username).map(Account::of);
+    }
+
+    @CacheEvict(cacheNames = CACHE_USERS_BY_USERNAME, allEntries = true)
+    public Account save(UserAccount user) {
+        Account saved = Account.of(userAccountRepository.save(user));
+        cacheInvalidationBus.clear(CACHE_USERS_BY_USERNAME);
+        return saved;
+    }
+
+    /**
+     * Replaces the password hash of {@code username}, e.g. with a stronger one after a login; empty if the account is gone.
+     * Only that username is evicted, here and on the other nodes: after a BCrypt strength change, every login rehashes once.
+     */
+    @CacheEvict(cacheNames = CACHE_USERS_BY_USERNAME, key = "#username")
+    public Optional<Account> updatePasswordHash(String username, String passwordHash) {
+        Optional<Account> updated = userAccountRepository.findByUsername(username)
+            .map(user -> {
+                user.setPasswordHash(passwordHash);
+                log.info("Password hash of [{}] upgraded", username);
+                return Account.of(userAccountRepository.save(user));
+            });
+        cacheInvalidationBus.evictStringKeys(List.of(username), CACHE_USERS_BY_USERNAME);
+        return updated;
+    }
+
+    @CacheEvict(cacheNames = CACHE_USERS_BY_USERNAME, allEntries = true)
+    public void delete(Long id) {
+        userAccountRepository.deleteById(id);
+        cacheInvalidationBus.clear(CACHE_USERS_BY_USERNAME);
+    }
+}
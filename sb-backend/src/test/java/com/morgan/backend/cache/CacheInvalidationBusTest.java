@@ -0,0 +1,142 @@
+package com.morgan.backend.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationBusTest {
+
+    // Two "nodes", each with its own caches, sharing one in-JVM channel
+    ConcurrentMapCacheManager cachesA;
+    ConcurrentMapCacheManager cachesB;
+    InJvmCacheInvalidationBus busA;
+    InJvmCacheInvalidationBus busB;
+
+    @BeforeEach
+    void setUp() {
+        cachesA = new ConcurrentMapCacheManager("employeesById", "employeesPages");
+        cachesB = new ConcurrentMapCacheManager("employeesById", "employeesPages");
+        Set<InJvmCacheInvalidationBus> channel = ConcurrentHashMap.newKeySet();
+        busA = new InJvmCacheInvalidationBus(cachesA, channel);
+        busB = new InJvmCacheInvalidationBus(cachesB, channel);
+
+        for (var caches : List.of(cachesA, cachesB)) {
+            caches.getCache("employeesById").put(1L, "John");
+            caches.getCache("employeesById").put(2L, "Jane");
+            caches.getCache("employeesPages").put("page", "John, Jane");
+        }
+    }
+
+    @Test
+    void testEvict_dropsOnlyTheKeysOnOtherNodes() {
+        // When
+        busA.evict(List.of(1L), "employeesById");
+
+        // Then node B drops key 1 only, node A (the writer) is left alone
+        Cache byIdB = cachesB.getCache("employeesById");
+        assertThat(byIdB.get(1L)).isNull();
+        assertThat(byIdB.get(2L)).isNotNull();
+        assertThat(cachesA.getCache("employeesById").get(1L)).isNotNull();
+    }
+
+    @Test
+    void testClear_andTooManyKeys_clearTheCacheOnOtherNodes() {
+        // When
+        busA.clear("employeesPages");
+        busA.evict(LongStream.rangeClosed(1, AbstractCacheInvalidationBus.MAX_KEYS_PER_MESSAGE + 1).boxed().toList(), "employeesById");
+
+        // Then
+        assertThat(cachesB.getCache("employeesPages").get("page")).isNull();
+        assertThat(cachesB.getCache("employeesById").get(2L)).isNull();
+    }
+
+    @Test
+    void testListeners_hearOnlyAboutOtherNodesInvalidations() {
+        // Given
+        List<String> heardByA = new ArrayList<>();
+        List<String> heardByB = new ArrayList<>();
+        busA.addListener((cacheName, keys) -> heardByA.add(cacheName + keys));
+        busB.addListener((cacheName, keys) -> heardByB.add(cacheName + keys));
+
+        // When
+        busA.evict(List.of(1L, 2L), "employeesById", "employeesPages");
+        busA.clear("employeesPages");
+
+        // Then
+        assertThat(heardByA).isEmpty();
+        assertThat(heardByB).containsExactly("employeesById[1, 2]", "employeesPages[1, 2]", "employeesPages[]");
+    }
+
+    @Test
+    void testEvictStringKeys_dropsOnlyThoseKeysOnOtherNodes_withoutTellingTheListeners() {
+        // Given
+        List<String> heardByB = new ArrayList<>();
+        busB.addListener(new RecordingListener(heardByB));
+        cachesB.getCache("employeesPages").put("other, page", "Mark");
+
+        // When
+        busA.evictStringKeys(List.of("page"), "employeesPages");
+
+        // Then
+        assertThat(cachesB.getCache("employeesPages").get("page")).isNull();
+        assertThat(cachesB.getCache("employeesPages").get("other, page")).isNotNull();
+        assertThat(cachesA.getCache("employeesPages").get("page")).isNotNull();
+        assertThat(heardByB).isEmpty();
+    }
+
+    @Test
+    void testAdjust_reachesOnlyOtherNodes_orAsUnknownWhenTooLong() {
+        // Given
+        List<String> heardByA = new ArrayList<>();
+        List<String> heardByB = new ArrayList<>();
+        busA.addListener(new RecordingListener(heardByA));
+        busB.addListener(new RecordingListener(heardByB));
+
+        // When
+        busA.adjust("employeesByRole", Map.of("Dev, Ops; QA=1", 2L));
+        busA.adjust("employeesByRole", Map.of("x".repeat(AbstractCacheInvalidationBus.MAX_PAYLOAD_BYTES), 1L));
+
+        // Then
+        assertThat(heardByA).isEmpty();
+        assertThat(heardByB).containsExactly("employeesByRole{Dev, Ops; QA=1=2}", "employeesByRole{}");
+    }
+
+    @Test
+    void testMessageRoundTrip() {
+        var message = new CacheInvalidationMessage("node", List.of("employeesById", "employeesByIdJson"), List.of(1L, 2L));
+        assertThat(CacheInvalidationMessage.decode(message.encode())).isEqualTo(message);
+        assertThat(CacheInvalidationMessage.decode("node;employeesPages;*").isClear()).isTrue();
+
+        var eviction = new StringKeyEvictionMessage("node", List.of("usersByUsername"), List.of("Ada; Lovelace", ""));
+        assertThat(StringKeyEvictionMessage.matches(message.encode())).isFalse();
+        assertThat(StringKeyEvictionMessage.decode(eviction.encode())).isEqualTo(eviction);
+
+        var adjustment = new CounterAdjustmentMessage("node", "employeesByRole", Map.of("", -1L, "Développeur", 3L));
+        assertThat(CounterAdjustmentMessage.matches(message.encode())).isFalse();
+        assertThat(CounterAdjustmentMessage.matches(adjustment.encode())).isTrue();
+        assertThat(CounterAdjustmentMessage.decode(adjustment.encode())).isEqualTo(adjustment);
+        assertThat(CounterAdjustmentMessage.decode("node;#employeesByRole;*").isUnknown()).isTrue();
+    }
+
+    private record RecordingListener(List<String> heard) implements CacheInvalidationBus.Listener {
+        @Override
+        public void invalidated(String cacheName, List<Long> keys) {
+            heard.add(cacheName + keys);
+        }
+
+        @Override
+        public void adjusted(String counterName, Map<String, Long> deltas) {
+            heard.add(counterName + deltas);
+        }
+    }
+}
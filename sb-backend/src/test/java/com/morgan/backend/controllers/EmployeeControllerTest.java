@@ -1,13 +1,37 @@
 package com.morgan.backend.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+import com.morgan.backend.cache.CacheInvalidationBus;
+import com.morgan.backend.cache.EmployeeJsonCache;
+import com.morgan.backend.config.EncodingConfig;
 import com.morgan.backend.dtos.EmployeeDto;
 import com.morgan.backend.entities.Employee;
+import com.morgan.backend.exceptions.BadRequestException.InvalidSyncTokenException;
 import com.morgan.backend.exceptions.NotFoundException.EmployeeNotFoundException;
+import com.morgan.backend.imports.EmployeeCsvImporter;
+import com.morgan.backend.imports.EmployeeCsvImporter.ImportResult;
+import com.morgan.backend.imports.EmployeeCsvImporter.RejectedRow;
+import com.morgan.backend.exceptions.ServiceUnavailableException.DatabaseSaturatedException;
 import com.morgan.backend.mappers.EmployeeMapper;
 import com.morgan.backend.mappers.EmployeeMapperImpl;
+import com.morgan.backend.repositories.EmployeeRepository.EmployeeView;
+import com.morgan.backend.services.EmployeeRoleStats.RoleStat;
+import com.morgan.backend.services.EmployeeRoleStats.RoleStats;
+import com.morgan.backend.services.EmployeeChangeFeed;
+import com.morgan.backend.services.EmployeeChangeFeed.Subscription;
 import com.morgan.backend.services.EmployeeService;
+import com.morgan.backend.services.EmployeeService.BatchItemResult;
+import com.morgan.backend.services.EmployeeService.BatchItemStatus;
+import com.morgan.backend.services.EmployeeService.EmployeePage;
+import com.morgan.backend.services.EmployeeService.PageQuery;
+import com.morgan.backend.services.EmployeeService.SortField;
+import com.morgan.backend.services.EmployeeSync;
+import com.morgan.backend.services.EmployeeSync.SyncPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
@@ -16,32 +40,56 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
-
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(EmployeeController.class)
-@Import(EmployeeMapperImpl.class)
+@Import({EmployeeMapperImpl.class, EmployeeJsonCache.class, EncodingConfig.class})
 @AutoConfigureMockMvc(addFilters = false)  // ⟵ disable Spring Security filters
 @TestInstance(Lifecycle.PER_CLASS) // for non-static @BeforeAll method
 class EmployeeControllerTest {
@@ -72,6 +120,15 @@ class EmployeeControllerTest {
     @MockitoBean
     CacheManager cacheManager;
 
+    @MockitoBean
+    EmployeeCsvImporter employeeCsvImporter;
+
+    @MockitoBean
+    EmployeeChangeFeed employeeChangeFeed;
+
+    @MockitoBean
+    EmployeeSync employeeSync;
+
     Employee employee;
     EmployeeDto employeeDto;
 
@@ -87,31 +144,299 @@ class EmployeeControllerTest {
         employeeDto = employeeMapper.toDto(employee);
     }
 
+    @BeforeEach
+    void setUp() {
+        // EmployeeJsonCache is @Cacheable: let every call through, so each test sees its own stubs
+        when(cacheManager.getCache(anyString())).thenAnswer(invocation -> new NoOpCache(invocation.getArgument(0)));
+    }
+
     @Test
-    void testGetAllEmployees() throws Exception {
+    void testGetEmployeesPage() throws Exception {
         // Given
-        when(employeeService.findAll()).thenReturn(List.of(employee));
+        var query = new PageQuery(SortField.LAST_NAME, Sort.Direction.ASC, null, 1);
+        when(employeeService.findPage(query)).thenReturn(new EmployeePage(List.of(EmployeeView.of(employee)), "nextCursor"));
 
         // When/Then
-        mockMvc.perform(get("/api/employees"))
+        mockMvc.perform(get("/api/employees?sort=lastName&limit=1"))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.length()").value(1))
-            .andExpect(jsonPath("$[0].firstName").value("John"));
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.items[0].firstName").value("John"))
+            .andExpect(jsonPath("$.nextCursor").value("nextCursor"))
+            .andExpect(jsonPath("$.next").value("http://localhost/api/employees?sort=lastName&limit=1&after=nextCursor"));
+
+        verify(employeeService, times(2)).findPage(query); // ETag check, then serialization (caches are no-ops here)
+    }
+
+    @Test
+    void testGetEmployeesPage_isGzippedWhenAccepted() throws Exception {
+        // Given a page large enough to be compressed
+        var query = new PageQuery(SortField.ID, Sort.Direction.ASC, null, 50);
+        when(employeeService.findPage(query)).thenReturn(new EmployeePage(Collections.nCopies(50, EmployeeView.of(employee)), null));
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/employees").header("Accept-Encoding", "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andExpect(header().stringValues("Vary", hasItem(containsString("Accept-Encoding"))))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            var page = objectMapper.readTree(in);
+            assertThat(page.get("items")).hasSize(50);
+            assertThat(page.get("next").isNull()).isTrue();
+        }
+    }
+
+    @Test
+    void testGetEmployeesPage_isZstdCompressedWhenAccepted() throws Exception {
+        // Given a page large enough to be compressed
+        var query = new PageQuery(SortField.ID, Sort.Direction.ASC, null, 50);
+        when(employeeService.findPage(query)).thenReturn(new EmployeePage(Collections.nCopies(50, EmployeeView.of(employee)), null));
+
+        // When
+        var response = mockMvc.perform(get("/api/employees").header("Accept-Encoding", "gzip, deflate, br, zstd"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "zstd"))
+            .andExpect(header().string("ETag", endsWith("-zst\"")))
+            .andReturn().getResponse();
+
+        // Then
+        byte[] body = response.getContentAsByteArray();
+        var page = objectMapper.readTree(Zstd.decompress(body, (int) Zstd.getFrameContentSize(body)));
+        assertThat(page.get("items")).hasSize(50);
+    }
+
+    @Test
+    void testGetEmployeeById_asCbor() throws Exception {
+        // Given
+        when(employeeService.findById(1L)).thenReturn(EmployeeView.of(employee));
+
+        // When
+        var response = mockMvc.perform(get("/api/employees/{id}", 1L).header("Accept", "application/cbor, application/json;q=0.9"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "application/cbor"))
+            .andExpect(header().string("ETag", "\"1-0-cbor\""))
+            .andExpect(header().stringValues("Vary", hasItem("Accept, Accept-Encoding")))
+            .andReturn().getResponse();
+
+        // Then
+        var dto = CBORMapper.builder().build().readValue(response.getContentAsByteArray(), EmployeeDto.class);
+        assertThat(dto.firstName()).isEqualTo("John");
+
+        // And the CBOR representation is revalidated on its own ETag
+        mockMvc.perform(get("/api/employees/{id}", 1L).header("Accept", "application/cbor").header("If-None-Match", "\"1-0-cbor\""))
+            .andExpect(status().isNotModified());
+    }
 
-        verify(employeeService, times(1)).findAll();
+    @Test
+    void testGetEmployeesPage_InvalidSortField() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/employees").param("sort", "salary"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.title").value("Bad Request"));
+    }
+
+    @Test
+    void testSyncEmployees() throws Exception {
+        // Given
+        when(employeeSync.changesSince("token1", EmployeeSync.DEFAULT_SYNC_LIMIT))
+            .thenReturn(new SyncPage(List.of(employee), List.of(7L), "token2", false, false));
+
+        // When/Then
+        mockMvc.perform(get("/api/employees/sync").param("since", "token1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changed[0].firstName").value("John"))
+            .andExpect(jsonPath("$.deleted[0]").value(7))
+            .andExpect(jsonPath("$.token").value("token2"))
+            .andExpect(jsonPath("$.full").value(false))
+            .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void testSyncEmployees_InvalidToken() throws Exception {
+        // Given
+        when(employeeSync.changesSince("garbage", 10)).thenThrow(new InvalidSyncTokenException("garbage"));
+
+        // When/Then
+        mockMvc.perform(get("/api/employees/sync").param("since", "garbage").param("limit", "10"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.title").value("Bad Request"));
+    }
+
+    @Test
+    void testExportEmployeesAsCsv() throws Exception {
+        // Given
+        Employee quoted = new Employee("Anna", "O\"Neil, Jr", "Developer");
+        quoted.setId(2L);
+        doAnswer(invocation -> {
+            Consumer<Employee> action = invocation.getArgument(0);
+            action.accept(employee);
+            action.accept(quoted);
+            return 2L;
+        }).when(employeeService).streamAll(any());
+
+        // When/Then
+        mockMvc.perform(get("/api/employees/export").param("format", "CSV"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andExpect(content().string("""
+                id,firstName,lastName,role
+                1,John,Doe,Developer
+                2,Anna,"O""Neil, Jr",Developer
+                """));
+    }
+
+    @Test
+    void testExportEmployeesAsGzippedNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<Employee> action = invocation.getArgument(0);
+            action.accept(employee);
+            action.accept(employee);
+            return 2L;
+        }).when(employeeService).streamAll(any());
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/employees/export").header("Accept-Encoding", "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String line = "{\"id\":1,\"firstName\":\"John\",\"lastName\":\"Doe\",\"role\":\"Developer\"}\n";
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(line + line);
+        }
+    }
+
+    @Test
+    void testExportEmployees_isZstdCompressedWhenAccepted() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<Employee> action = invocation.getArgument(0);
+            action.accept(employee);
+            return 1L;
+        }).when(employeeService).streamAll(any());
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/employees/export").header("Accept-Encoding", "gzip, deflate, br, zstd"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "zstd"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        try (var in = new ZstdInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"id\":1,\"firstName\":\"John\",\"lastName\":\"Doe\",\"role\":\"Developer\"}\n");
+        }
+    }
+
+    @Test
+    void testExportEmployees_isNotCompressedWhenGzipIsRefused() throws Exception {
+        // Given
+        doAnswer(invocation -> 0L).when(employeeService).streamAll(any());
+
+        // When/Then
+        mockMvc.perform(get("/api/employees/export").param("format", "CSV").header("Accept-Encoding", "gzip;q=0"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andExpect(content().string("id,firstName,lastName,role\n"));
     }
 
     @Test
     void testGetEmployeeById() throws Exception {
         // Given
-        when(employeeService.findById(1L)).thenReturn(employee);
+        when(employeeService.findById(1L)).thenReturn(EmployeeView.of(employee));
 
         // When/Then
         mockMvc.perform(get("/api/employees/{id}", 1L))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.firstName").value("John"));
 
-        verify(employeeService, times(1)).findById(1L);
+        verify(employeeService, times(2)).findById(1L); // ETag check, then serialization (caches are no-ops here)
+    }
+
+    @Test
+    void testGetEmployeeById_NotModified() throws Exception {
+        // Given
+        when(employeeService.findById(1L)).thenReturn(EmployeeView.of(employee));
+        String etag = mockMvc.perform(get("/api/employees/{id}", 1L))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"1-0\""))
+            .andReturn().getResponse().getHeader("ETag");
+
+        // When/Then the same version is revalidated without a body
+        mockMvc.perform(get("/api/employees/{id}", 1L).header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", etag))
+            .andExpect(header().stringValues("Vary", hasItem("Accept, Accept-Encoding")))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void testGetEmployeesPage_NotModifiedUntilThePageChanges() throws Exception {
+        // Given
+        var query = new PageQuery(SortField.ID, Sort.Direction.ASC, null, EmployeeService.DEFAULT_PAGE_SIZE);
+        when(employeeService.findPage(query)).thenReturn(new EmployeePage(List.of(EmployeeView.of(employee)), null));
+        String etag = mockMvc.perform(get("/api/employees"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        // When/Then
+        mockMvc.perform(get("/api/employees").header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+
+        // When the employee is updated, its new version changes the page ETag
+        var updated = new Employee("John", "Doe", "Lead");
+        updated.setId(1L);
+        updated.setVersion(1L);
+        when(employeeService.findPage(query)).thenReturn(new EmployeePage(List.of(EmployeeView.of(updated)), null));
+
+        // Then
+        mockMvc.perform(get("/api/employees").header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].role").value("Lead"));
+    }
+
+    @Test
+    void testSearchEmployees() throws Exception {
+        // Given
+        when(employeeService.search("john dev", EmployeeService.DEFAULT_SEARCH_LIMIT)).thenReturn(List.of(employee));
+
+        // When/Then
+        mockMvc.perform(get("/api/employees/search").param("q", "john dev"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].lastName").value("Doe"));
+    }
+
+    @Test
+    void testGetEmployeesPage_FilteredByRole() throws Exception {
+        // Given
+        var query = new PageQuery(SortField.ID, Sort.Direction.ASC, "Developer", null, 20);
+        when(employeeService.findPage(query)).thenReturn(new EmployeePage(List.of(EmployeeView.of(employee)), null));
+
+        // When/Then
+        mockMvc.perform(get("/api/employees").param("role", "Developer").param("limit", "20"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].role").value("Developer"))
+            .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void testGetEmployeeStats() throws Exception {
+        // Given
+        when(employeeService.stats()).thenReturn(new RoleStats(3, List.of(new RoleStat("Developer", 2), new RoleStat("Manager", 1))));
+
+        // When/Then
+        mockMvc.perform(get("/api/employees/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(3))
+            .andExpect(jsonPath("$.roles[0].role").value("Developer"))
+            .andExpect(jsonPath("$.roles[0].count").value(2))
+            .andExpect(jsonPath("$.roles[1].role").value("Manager"));
     }
 
     @Test
@@ -127,6 +452,18 @@ class EmployeeControllerTest {
         verify(employeeService, times(1)).findById(99L);
     }
 
+    @Test
+    void testGetEmployeeById_DatabaseSaturated() throws Exception {
+        // Given
+        when(employeeService.findById(1L)).thenThrow(new DatabaseSaturatedException(Duration.ofSeconds(3)));
+
+        // When/Then
+        mockMvc.perform(get("/api/employees/{id}", 1L))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "3"))
+            .andExpect(jsonPath("$.title").value("Service Unavailable"));
+    }
+
     @Test
     void testCreateEmployee() throws Exception {
         // Given
@@ -165,6 +502,30 @@ class EmployeeControllerTest {
             .andExpect(jsonPath("$.fieldErrors.role").value("Role is required"));
     }
 
+    @Test
+    void testCreateEmployeesBatch_ReportsInvalidItems() throws Exception {
+        // Given one valid and one invalid item
+        EmployeeDto invalidDto = new EmployeeDto(null, "Jane", "Doe", "");
+        when(employeeService.createAll(any())).thenReturn(
+            List.of(new BatchItemResult(0, 1L, BatchItemStatus.CREATED, null)));
+
+        // When/Then
+        mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(invalidDto, employeeDto))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(1))
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.items[0].status").value("INVALID"))
+            .andExpect(jsonPath("$.items[0].errors.role").value("Role is required"))
+            .andExpect(jsonPath("$.items[1].index").value(1))
+            .andExpect(jsonPath("$.items[1].id").value(1))
+            .andExpect(jsonPath("$.items[1].status").value("CREATED"));
+
+        // only the valid item reaches the service
+        verify(employeeService, times(1)).createAll(List.of(employeeMapper.toEntity(employeeDto)));
+    }
+
     @Test
     void testDeleteEmployee() throws Exception {
         // Given
@@ -215,4 +576,118 @@ class EmployeeControllerTest {
 
         verify(employeeService, times(1)).upsert(eq(1L), any(Employee.class));
     }
+
+    @Test
+    void testReplaceUnknownEmployee_isCreatedUnderAGeneratedId() throws Exception {
+        // Given
+        Employee created = new Employee("Jane", "Doe", "Developer");
+        created.setId(51L);
+        when(employeeService.upsert(eq(7L), any(Employee.class))).thenReturn(created);
+
+        // When/Then
+        mockMvc.perform(put("/api/employees/{id}", 7L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EmployeeDto(7L, "Jane", "Doe", "Developer"))))
+            .andExpect(status().isCreated())
+            .andExpect(header().string("Location", "/api/employees/51"))
+            .andExpect(jsonPath("$.id").value(51));
+    }
+
+    @Test
+    void testPatchEmployee_ChangesOnlyTheSentFields() throws Exception {
+        // Given
+        Employee patched = new Employee("Jane", "Doe", "Architect");
+        patched.setId(1L);
+        when(employeeService.patch(eq(1L), any(Employee.class))).thenReturn(patched);
+
+        // When/Then
+        mockMvc.perform(patch("/api/employees/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"role\": \"Architect\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(1))
+            .andExpect(jsonPath("$.firstName").value("Jane"))
+            .andExpect(jsonPath("$.role").value("Architect"));
+
+        verify(employeeService, times(1)).patch(1L, new Employee(null, null, "Architect"));
+    }
+
+    @Test
+    void testPatchNonExistentEmployee() throws Exception {
+        // Given
+        when(employeeService.patch(eq(99L), any(Employee.class))).thenThrow(new EmployeeNotFoundException(99L));
+
+        // When/Then
+        mockMvc.perform(patch("/api/employees/{id}", 99L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"role\": \"Architect\"}"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.title").value("Resource Not Found"));
+    }
+
+    @Test
+    void testPatchEmployee_BlankField() throws Exception {
+        // When/Then
+        mockMvc.perform(patch("/api/employees/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\": \" \"}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.fieldErrors.lastName").value("Last name must not be blank"));
+
+        verify(employeeService, times(0)).patch(any(), any());
+    }
+
+    @Test
+    void testImportEmployees_ReportsTheRejectedRows() throws Exception {
+        // Given
+        String csv = "firstName,lastName,role\nJane,Doe,Architect\n,Doe,Architect\n";
+        when(employeeCsvImporter.importCsv(any(Reader.class))).thenAnswer(invocation -> {
+            String read = new BufferedReader(invocation.<Reader>getArgument(0)).lines().reduce("", (a, b) -> a + b + "\n");
+            assertThat(read).isEqualTo(csv);
+            return new ImportResult(1, 1, true, List.of(new RejectedRow(3, Map.of("firstName", "First name is required"))));
+        });
+
+        // When/Then
+        mockMvc.perform(post("/api/employees/import")
+                .contentType("text/csv")
+                .content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.complete").value(true))
+            .andExpect(jsonPath("$.rejectedRows[0].line").value(3))
+            .andExpect(jsonPath("$.rejectedRows[0].errors.firstName").value("First name is required"));
+
+        verify(employeeCsvImporter).importCsv(any(Reader.class));
+    }
+
+    @Test
+    void testImportEmployees_AsAFormUpload_IsUnsupported() throws Exception {
+        // When/Then: a multipart body would be spooled whole before the import reads it
+        mockMvc.perform(multipart("/api/employees/import")
+                .file(new MockMultipartFile("file", "employees.csv", "text/csv", "firstName,lastName,role\n".getBytes(StandardCharsets.UTF_8))))
+            .andExpect(status().isUnsupportedMediaType());
+
+        verify(employeeCsvImporter, times(0)).importCsv(any(Reader.class));
+    }
+
+    @Test
+    void testStreamChanges_WritesTheEventsAsServerSentEvents() throws Exception {
+        // Given a real feed, with a subscription holding one event and closed (as a dropped one), so the stream ends
+        EmployeeChangeFeed feed = new EmployeeChangeFeed(employeeMapper, 10, Duration.ofSeconds(1), 10,
+            mock(CacheInvalidationBus.class), new SimpleMeterRegistry());
+        Subscription subscription = feed.subscribe(null);
+        feed.created(List.of(employee));
+        subscription.close();
+        when(employeeChangeFeed.subscribe(null)).thenReturn(subscription);
+
+        // When/Then
+        mockMvc.perform(get("/api/employees/changes").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", containsString(MediaType.TEXT_EVENT_STREAM_VALUE)))
+            .andExpect(header().string("Cache-Control", "no-cache"))
+            .andExpect(content().string(containsString("retry: ")))
+            .andExpect(content().string(containsString(
+                "event: created\ndata: {\"id\":1,\"firstName\":\"John\",\"lastName\":\"Doe\",\"role\":\"Developer\"}\n\n")));
+    }
 }
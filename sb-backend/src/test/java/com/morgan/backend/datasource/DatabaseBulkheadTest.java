@@ -0,0 +1,98 @@
+package com.morgan.backend.datasource;
+
+import com.morgan.backend.exceptions.ServiceUnavailableException.DatabaseSaturatedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DatabaseBulkheadTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testBusyPermits_turnAwayTheConnectionAfterTheWaitTimeout() throws SQLException {
+        // Given one connection holding the only permit
+        DataSource dataSource = new DatabaseBulkhead(1, Duration.ofMillis(100), Duration.ofSeconds(2), meterRegistry).wrap(pool());
+        Connection held = dataSource.getConnection();
+
+        // When/Then
+        assertThatThrownBy(dataSource::getConnection)
+            .isInstanceOf(DatabaseSaturatedException.class)
+            .extracting("retryAfter").isEqualTo(Duration.ofSeconds(2));
+        assertThat(meterRegistry.get("db.bulkhead.rejected").counter().count()).isEqualTo(1);
+
+        // When the connection goes back to the pool
+        held.close();
+
+        // Then
+        assertThat(meterRegistry.get("db.bulkhead.active").gauge().value()).isZero();
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+        assertThat(meterRegistry.get("db.bulkhead.wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testPermit_isGivenBackOnce_andWhenThePoolFails() throws SQLException {
+        // Given
+        DataSource pool = mock(DataSource.class);
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled).thenThrow(new SQLException("pool exhausted"));
+        DataSource dataSource = new DatabaseBulkhead(1, Duration.ofMillis(100), Duration.ofSeconds(1), meterRegistry).wrap(pool);
+
+        // When a connection is closed twice
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        // Then the pool's own is closed each time, but one permit only is given back
+        assertThat(DataSourceUtils.getTargetConnection(connection)).isSameAs(pooled);
+        verify(pooled, times(2)).close();
+        assertThat(meterRegistry.get("db.bulkhead.active").gauge().value()).isZero();
+
+        // When/Then the pool fails: its permit is given back too
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+        assertThat(meterRegistry.get("db.bulkhead.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void testTransaction_takesItsPermitWithItsConnection() {
+        // Given a single permit
+        DataSource dataSource = new DatabaseBulkhead(1, Duration.ofMillis(100), Duration.ofSeconds(1), meterRegistry).wrap(pool());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        // When the transaction runs several statements
+        Integer sum = transactionTemplate.execute(status -> {
+            assertThat(meterRegistry.get("db.bulkhead.active").gauge().value()).isEqualTo(1);
+            return jdbcTemplate.queryForObject("SELECT 1", Integer.class) + jdbcTemplate.queryForObject("SELECT 2", Integer.class);
+        });
+
+        // Then they all used the connection it began with, and its permit
+        assertThat(sum).isEqualTo(3);
+        assertThat(meterRegistry.get("db.bulkhead.wait").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("db.bulkhead.active").gauge().value()).isZero();
+    }
+
+    private static DataSource pool() {
+        JdbcDataSource pool = new JdbcDataSource();
+        pool.setURL("jdbc:h2:mem:bulkhead");
+        return pool;
+    }
+}
@@ -0,0 +1,161 @@
+package com.morgan.backend.datasource;
+
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.entities.UserAccount;
+import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.repositories.UserAccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two H2 databases stand for the primary and its replica. Nothing replicates between them, so the rows seeded
+ * with different contents in each tell which one answered.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + ReadReplicaRoutingIT.PRIMARY_URL,
+    "app.database.replica.url=" + ReadReplicaRoutingIT.REPLICA_URL,
+    "app.database.replica.lag-query=SELECT seconds FROM replica_lag",
+    "app.database.replica.max-lag=1s",
+    "app.database.replica.check-interval=1h" // checked by the test
+})
+class ReadReplicaRoutingIT {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1";
+    static final long SEEDED_ID = 900_001L;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    UserAccountRepository userAccountRepository;
+
+    @Autowired
+    ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "")) {
+            copySchema(primary, replica);
+            execute(primary, "MERGE INTO employees (id, first_name, last_name, role, version) KEY (id) VALUES (%d, 'Primary', 'Row', 'Dev', 0)".formatted(SEEDED_ID));
+            execute(replica, "MERGE INTO employees (id, first_name, last_name, role, version) KEY (id) VALUES (%d, 'Replica', 'Row', 'Dev', 0)".formatted(SEEDED_ID));
+            execute(replica, "MERGE INTO users (id, username, email, password_hash) KEY (username) VALUES (1, 'Morgan', 'replica@email.com', 'hash')");
+            execute(replica, "CREATE TABLE IF NOT EXISTS replica_lag (seconds DOUBLE)");
+            execute(replica, "DELETE FROM replica_lag");
+            execute(replica, "INSERT INTO replica_lag VALUES (0)");
+        }
+        replicaLagMonitor.check();
+        waitForTheReplicaToCatchUp();
+    }
+
+    @Test
+    void testReadOnlyTransactions_goToTheReplica() {
+        // When/Then: the repositories' finders run in read-only transactions
+        assertThat(employeeRepository.findById(SEEDED_ID)).get().extracting(Employee::getFirstName).isEqualTo("Replica");
+        assertThat(userAccountRepository.findByUsername("Morgan")).get().extracting(UserAccount::getEmail).isEqualTo("replica@email.com");
+        assertThat(meterRegistry.get("db.replica.usable").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testAfterAWrite_theWritersReadsGoToThePrimaryForTheMaxLag() throws Exception {
+        // When a request writes
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        Employee saved = employeeRepository.save(new Employee("Written", "Row", "Dev"));
+
+        // Then the write went to the primary, and so do its reads for a while
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "")) {
+            assertThat(count(primary, "SELECT COUNT(*) FROM employees WHERE id = " + saved.getId())).isEqualTo(1);
+        }
+        assertThat(employeeRepository.findById(SEEDED_ID)).get().extracting(Employee::getFirstName).isEqualTo("Primary");
+        assertThat(employeeRepository.findById(saved.getId())).isPresent();
+
+        // When/Then the reads of another request still use the replica
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(employeeRepository.findById(SEEDED_ID)).get().extracting(Employee::getFirstName).isEqualTo("Replica");
+
+        // When the replica had the time to replay it
+        waitForTheReplicaToCatchUp();
+
+        // Then
+        assertThat(employeeRepository.findById(SEEDED_ID)).get().extracting(Employee::getFirstName).isEqualTo("Replica");
+        employeeRepository.deleteById(saved.getId());
+    }
+
+    @Test
+    void testLaggingReplica_readsFallBackToThePrimary() throws Exception {
+        // Given
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "")) {
+            execute(replica, "UPDATE replica_lag SET seconds = 5");
+        }
+
+        // When
+        replicaLagMonitor.check();
+
+        // Then
+        assertThat(replicaLagMonitor.isUsable()).isFalse();
+        assertThat(meterRegistry.get("db.replica.lag").gauge().value()).isEqualTo(5);
+        assertThat(employeeRepository.findById(SEEDED_ID)).get().extracting(Employee::getFirstName).isEqualTo("Primary");
+    }
+
+    private void waitForTheReplicaToCatchUp() throws InterruptedException {
+        Thread.sleep(replicaLagMonitor.getMaxLag().toMillis() + 50);
+    }
+
+    // Hibernate created the tables in the primary only
+    private static void copySchema(Connection primary, Connection replica) throws SQLException {
+        List<String> statements = new ArrayList<>();
+        try (Statement statement = primary.createStatement();
+             ResultSet script = statement.executeQuery("SCRIPT NODATA")) {
+            while (script.next()) {
+                statements.add(script.getString(1));
+            }
+        }
+        if (count(replica, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'EMPLOYEES'") == 0) {
+            for (String sql : statements) {
+                execute(replica, sql);
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
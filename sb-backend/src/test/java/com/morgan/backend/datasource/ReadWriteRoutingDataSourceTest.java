@@ -0,0 +1,116 @@
+package com.morgan.backend.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    DataSource primary = mock(DataSource.class);
+    DataSource replica = mock(DataSource.class);
+    Connection primaryConnection = mock(Connection.class);
+    Connection replicaConnection = mock(Connection.class);
+    ReplicaLagMonitor replicaLagMonitor = new ReplicaLagMonitor(replica, null, Duration.ofSeconds(1), Duration.ofSeconds(1), meterRegistry);
+    ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.isValid(1)).thenReturn(true);
+        when(replicaConnection.createStatement()).thenReturn(mock(Statement.class));
+        replicaLagMonitor.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testReadOnly_goesToTheReplica_andWritesToThePrimary() throws SQLException {
+        // When/Then
+        readOnly(true);
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+        readOnly(false);
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(connections("replica", "read")).isEqualTo(1);
+        assertThat(connections("primary", "write")).isEqualTo(1);
+    }
+
+    @Test
+    void testFailingReplica_fallsBackToThePrimary_untilTheNextCheck() throws SQLException {
+        // Given
+        readOnly(true);
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // When/Then
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(replicaLagMonitor.isUsable()).isFalse();
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(connections("primary", "replica-failed")).isEqualTo(1);
+        assertThat(connections("primary", "replica-unavailable")).isEqualTo(1);
+    }
+
+    @Test
+    void testAfterAWrite_theReadsOfItsRequestGoToThePrimary() throws SQLException {
+        // Given
+        readOnly(true);
+        inRequest();
+
+        // When
+        routingDataSource.written();
+
+        // Then
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(connections("primary", "recent-write")).isEqualTo(1);
+
+        // When/Then the other requests, and the reads outside any, still use the replica
+        inRequest();
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+        RequestContextHolder.resetRequestAttributes();
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void testConnectionWithCredentials_isRoutedTheSameWay() throws SQLException {
+        // Given
+        when(replica.getConnection("reader", "secret")).thenReturn(replicaConnection);
+        when(primary.getConnection("writer", "secret")).thenReturn(primaryConnection);
+
+        // When/Then
+        readOnly(true);
+        assertThat(routingDataSource.getConnection("reader", "secret")).isSameAs(replicaConnection);
+        readOnly(false);
+        assertThat(routingDataSource.getConnection("writer", "secret")).isSameAs(primaryConnection);
+    }
+
+    private static void inRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    private static void readOnly(boolean readOnly) {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private double connections(String target, String reason) {
+        return meterRegistry.get("db.routing.connections").tag("target", target).tag("reason", reason).counter().count();
+    }
+}
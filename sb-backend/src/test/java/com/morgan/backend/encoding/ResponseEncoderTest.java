@@ -0,0 +1,173 @@
+package com.morgan.backend.encoding;
+
+import com.github.luben.zstd.Zstd;
+import com.google.protobuf.CodedInputStream;
+import com.morgan.backend.dtos.EmployeeDto;
+import com.morgan.backend.dtos.EmployeePageDto;
+import com.morgan.backend.dtos.EmployeeSyncDto;
+import com.morgan.backend.encoding.ResponseEncoder.Variant;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseEncoderTest {
+
+    ResponseCompressor responseCompressor = new ResponseCompressor(1024, 6, 3, 2);
+    ResponseEncoder responseEncoder = new ResponseEncoder(JsonMapper.builder().build(), responseCompressor);
+
+    EmployeeDto employee = new EmployeeDto(1L, "John", "Doe", "Developer");
+
+    @Test
+    void testNegotiateFormat() {
+        assertThat(PayloadFormat.negotiate(null)).isEqualTo(PayloadFormat.JSON);
+        assertThat(PayloadFormat.negotiate("*/*")).isEqualTo(PayloadFormat.JSON);
+        assertThat(PayloadFormat.negotiate("not a media type")).isEqualTo(PayloadFormat.JSON);
+        assertThat(PayloadFormat.negotiate("application/cbor")).isEqualTo(PayloadFormat.CBOR);
+        assertThat(PayloadFormat.negotiate("application/json;q=0.5, application/x-protobuf")).isEqualTo(PayloadFormat.PROTOBUF);
+        assertThat(PayloadFormat.negotiate("application/x-jackson-smile, application/cbor")).isEqualTo(PayloadFormat.SMILE);
+        assertThat(PayloadFormat.negotiate("application/cbor;q=0, text/html")).isEqualTo(PayloadFormat.JSON);
+    }
+
+    @Test
+    void testNegotiateCoding() {
+        assertThat(ContentCoding.negotiate(null)).isEqualTo(ContentCoding.IDENTITY);
+        assertThat(ContentCoding.negotiate("gzip, deflate, br")).isEqualTo(ContentCoding.GZIP);
+        assertThat(ContentCoding.negotiate("gzip, deflate, br, zstd")).isEqualTo(ContentCoding.ZSTD);
+        assertThat(ContentCoding.negotiate("zstd;q=0.5, gzip")).isEqualTo(ContentCoding.GZIP);
+        assertThat(ContentCoding.negotiate("*")).isEqualTo(ContentCoding.ZSTD);
+        assertThat(ContentCoding.negotiate("zstd;q=0, *")).isEqualTo(ContentCoding.GZIP);
+        assertThat(ContentCoding.negotiate("identity")).isEqualTo(ContentCoding.IDENTITY);
+    }
+
+    @Test
+    void testETag_differsPerFormatAndCoding() {
+        assertThat(ContentCoding.IDENTITY.etag(PayloadFormat.JSON.etag("\"1-0\""))).isEqualTo("\"1-0\"");
+        assertThat(ContentCoding.GZIP.etag(PayloadFormat.JSON.etag("\"1-0\""))).isEqualTo("\"1-0-gz\"");
+        assertThat(ContentCoding.ZSTD.etag(PayloadFormat.CBOR.etag("\"1-0\""))).isEqualTo("\"1-0-cbor-zst\"");
+    }
+
+    @Test
+    void testCompress_roundTrips_andSkipsSmallBodies() throws IOException {
+        // Given a body larger than the pooled buffers, and a small one
+        byte[] large = employees(5000).toString().getBytes();
+        byte[] small = new byte[100];
+
+        // When/Then, twice to reuse the pooled compressors
+        for (int i = 0; i < 2; i++) {
+            try (var in = new GZIPInputStream(new ByteArrayInputStream(responseCompressor.compress(large, ContentCoding.GZIP)))) {
+                assertThat(in.readAllBytes()).isEqualTo(large);
+            }
+            byte[] zstd = responseCompressor.compress(large, ContentCoding.ZSTD);
+            assertThat(Zstd.decompress(zstd, large.length)).isEqualTo(large);
+        }
+        assertThat(responseCompressor.compress(small, ContentCoding.GZIP)).isNull();
+        assertThat(responseCompressor.compress(large, ContentCoding.IDENTITY)).isNull();
+    }
+
+    @Test
+    void testEncode_cachesEachVariant() {
+        // Given
+        var response = new EncodedResponse("\"1\"", new EmployeePageDto(employees(50), null, null));
+
+        // When
+        Variant cbor = responseEncoder.encode(response, PayloadFormat.CBOR, ContentCoding.ZSTD);
+        Variant again = responseEncoder.encode(response, PayloadFormat.CBOR, ContentCoding.ZSTD);
+
+        // Then
+        assertThat(cbor.coding()).isEqualTo(ContentCoding.ZSTD);
+        assertThat(again.body()).isSameAs(cbor.body());
+        byte[] identity = responseEncoder.encode(response, PayloadFormat.CBOR, ContentCoding.IDENTITY).body();
+        assertThat(Zstd.decompress(cbor.body(), identity.length)).isEqualTo(identity);
+        JsonNode page = CBORMapper.builder().build().readTree(identity);
+        assertThat(page.get("items")).hasSize(50);
+        assertThat(page.get("items").get(0).get("firstName").asString()).isEqualTo("John");
+    }
+
+    @Test
+    void testEncode_leavesSmallBodiesUncompressed() {
+        // Given
+        var response = new EncodedResponse("\"1-0\"", employee);
+
+        // When
+        Variant variant = responseEncoder.encode(response, PayloadFormat.JSON, ContentCoding.GZIP);
+
+        // Then
+        assertThat(variant.coding()).isEqualTo(ContentCoding.IDENTITY);
+        assertThat(variant.body()).isSameAs(responseEncoder.encode(response, PayloadFormat.JSON, ContentCoding.IDENTITY).body());
+    }
+
+    @Test
+    void testProtobuf_followsTheSchema() throws IOException {
+        // Given
+        var sync = new EmployeeSyncDto(List.of(employee), List.of(7L, 300L), "token", false, true);
+
+        // When
+        byte[] bytes = responseEncoder.serialize(sync, PayloadFormat.PROTOBUF);
+
+        // Then read back field by field, as a client generated from employees.proto would
+        CodedInputStream in = CodedInputStream.newInstance(bytes);
+        List<EmployeeDto> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        String token = null;
+        boolean full = false;
+        boolean hasMore = false;
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag >>> 3) {
+                case 1 -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    changed.add(readEmployee(in));
+                    in.popLimit(limit);
+                }
+                case 2 -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    while (in.getBytesUntilLimit() > 0) {
+                        deleted.add(in.readInt64());
+                    }
+                    in.popLimit(limit);
+                }
+                case 3 -> token = in.readString();
+                case 4 -> full = in.readBool();
+                case 5 -> hasMore = in.readBool();
+                default -> in.skipField(tag);
+            }
+        }
+        assertThat(changed).containsExactly(employee);
+        assertThat(deleted).containsExactly(7L, 300L);
+        assertThat(token).isEqualTo("token");
+        assertThat(full).isFalse();
+        assertThat(hasMore).isTrue();
+    }
+
+    private static EmployeeDto readEmployee(CodedInputStream in) throws IOException {
+        Long id = null;
+        String firstName = "";
+        String lastName = "";
+        String role = "";
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag >>> 3) {
+                case 1 -> id = in.readInt64();
+                case 2 -> firstName = in.readString();
+                case 3 -> lastName = in.readString();
+                case 4 -> role = in.readString();
+                default -> in.skipField(tag);
+            }
+        }
+        return new EmployeeDto(id, firstName, lastName, role);
+    }
+
+    private List<EmployeeDto> employees(int count) {
+        return Collections.nCopies(count, employee);
+    }
+}
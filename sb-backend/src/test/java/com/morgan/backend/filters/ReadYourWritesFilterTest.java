@@ -0,0 +1,53 @@
+package com.morgan.backend.filters;
+
+import com.morgan.backend.datasource.ReadWriteRoutingDataSource;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesFilterTest {
+
+    final ReadYourWritesFilter filter = new ReadYourWritesFilter();
+
+    @Test
+    void testWrite_sendsTheWindowBackBeforeTheBody() throws Exception {
+        // Given
+        long until = System.currentTimeMillis() + 1000;
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When the request writes, then answers with a body
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/employees/1"), response, (req, res) -> {
+            req.setAttribute(ReadWriteRoutingDataSource.PRIMARY_READS_UNTIL, until);
+            res.getWriter().write("{}");
+            res.flushBuffer();
+        });
+
+        // Then
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE)).isNotNull()
+            .extracting(Cookie::getValue).isEqualTo(String.valueOf(until));
+    }
+
+    @Test
+    void testCookie_sendsTheNextRequestsToThePrimary_untilItExpires() throws Exception {
+        // Given
+        MockHttpServletRequest next = new MockHttpServletRequest("GET", "/api/employees/1");
+        long until = System.currentTimeMillis() + 1000;
+        next.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, String.valueOf(until)));
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/employees/1");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, String.valueOf(System.currentTimeMillis() - 1)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(next, response, new MockFilterChain());
+        filter.doFilter(expired, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then the read is routed, and the window is not sent back again
+        assertThat(next.getAttribute(ReadWriteRoutingDataSource.PRIMARY_READS_UNTIL)).isEqualTo(until);
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE)).isNull();
+        assertThat(expired.getAttribute(ReadWriteRoutingDataSource.PRIMARY_READS_UNTIL)).isNull();
+    }
+}
@@ -0,0 +1,49 @@
+package com.morgan.backend.filters;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingFilterTest {
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final RequestTimingFilter filter = new RequestTimingFilter(meterRegistry, false);
+
+    @Test
+    void testRecords_onTheStatusClass() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/employees/{id}");
+
+        // When two requests answer differently within the same class
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> ((MockHttpServletResponse) res).setStatus(201));
+
+        // Then they share the timer
+        Timer total = meterRegistry.get(RequestTimingFilter.METRIC)
+            .tags("uri", "/api/employees/{id}", "phase", "total", "outcome", "SUCCESS")
+            .timer();
+        assertThat(total.count()).isEqualTo(2);
+        assertThat(meterRegistry.find(RequestTimingFilter.METRIC).tagKeys("status").timers()).isEmpty();
+    }
+
+    @Test
+    void testEventStream_isNotRecorded() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/changes");
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(),
+            (req, res) -> res.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE));
+
+        // Then
+        assertThat(meterRegistry.find(RequestTimingFilter.METRIC).timers()).isEmpty();
+    }
+}
@@ -0,0 +1,136 @@
+package com.morgan.backend.filters;
+
+import com.morgan.backend.cache.StaticAssetCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The assets come from src/test/resources/static, precompressed by angular-frontend/employees-ui/scripts/precompress.mjs
+class StaticAssetFilterTest {
+
+    static final StaticAssetCache CACHE =
+        new StaticAssetCache(new PathMatchingResourcePatternResolver(), List.of("classpath*:static/"));
+
+    final StaticAssetFilter filter = new StaticAssetFilter(CACHE);
+
+    @Test
+    void testHashedBundle_isImmutable_andSentPrecompressed() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/main-ABCD2345.js");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br, zstd");
+
+        // When
+        MockHttpServletResponse response = serve(request);
+
+        // Then
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(StaticAssetFilter.IMMUTABLE);
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+        assertThat(response.getContentType()).startsWith("text/javascript");
+        assertThat(response.getContentAsByteArray()).isEqualTo(CACHE.get("/main-ABCD2345.js").brotli());
+        assertThat(CACHE.get("/main-ABCD2345.js.br")).isNull(); // the copies are not served on their own
+    }
+
+    @Test
+    void testEncoding_followsAcceptEncoding() throws Exception {
+        // Given brotli refused
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/main-ABCD2345.js");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br;q=0, gzip");
+
+        // When
+        MockHttpServletResponse gzipped = serve(request);
+        MockHttpServletResponse identity = serve(new MockHttpServletRequest("GET", "/main-ABCD2345.js"));
+
+        // Then
+        assertThat(gzipped.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(gzipped.getContentAsByteArray())).isEqualTo(identity.getContentAsByteArray());
+        assertThat(identity.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(identity.getContentLength()).isEqualTo(CACHE.get("/main-ABCD2345.js").content().length);
+    }
+
+    @Test
+    void testUnhashedFiles_areRevalidated_andGzippedWhenLargeEnough() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/assets/i18n/fr.json");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // When
+        MockHttpServletResponse large = serve(request);
+        MockHttpServletResponse small = serve(new MockHttpServletRequest("GET", "/assets/i18n/en.json"));
+
+        // Then
+        assertThat(large.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(StaticAssetFilter.REVALIDATE);
+        assertThat(large.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip"); // compressed at startup
+        assertThat(small.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(small.getHeader(HttpHeaders.VARY)).isNull();
+        assertThat(small.getContentAsString()).contains("Employees");
+    }
+
+    @Test
+    void testSpaRoutes_getIndexHtml_whichIsRevalidatedWithItsETag() throws Exception {
+        // Given
+        MockHttpServletResponse first = serve(new MockHttpServletRequest("GET", "/employees/123"));
+        MockHttpServletRequest revalidation = new MockHttpServletRequest("GET", "/");
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+
+        // When
+        MockHttpServletResponse second = serve(revalidation);
+
+        // Then
+        assertThat(first.getContentAsString()).contains("<app-root>");
+        assertThat(first.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(StaticAssetFilter.REVALIDATE);
+        assertThat(first.getHeader("X-Frame-Options")).isEqualTo("SAMEORIGIN");
+        assertThat(second.getStatus()).isEqualTo(304);
+        assertThat(second.getContentLength()).isZero();
+    }
+
+    @Test
+    void testBackendPaths_missingFilesAndWrites_goDownTheChain() throws Exception {
+        for (MockHttpServletRequest request : List.of(
+            new MockHttpServletRequest("GET", "/api/employees"),
+            new MockHttpServletRequest("GET", "/swagger-ui/index.html"),
+            new MockHttpServletRequest("GET", "/missing-ABCD2345.js"),
+            new MockHttpServletRequest("POST", "/employees"))) {
+            // Given
+            MockFilterChain chain = new MockFilterChain();
+
+            // When
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+            // Then
+            assertThat(chain.getRequest()).as(request.getRequestURI()).isSameAs(request);
+        }
+    }
+
+    @Test
+    void testAccepts_honoursQualityZero() {
+        assertThat(StaticAssetFilter.accepts("gzip, br", "br")).isTrue();
+        assertThat(StaticAssetFilter.accepts("gzip;q=1.0, br;q=0", "br")).isFalse();
+        assertThat(StaticAssetFilter.accepts("gzip;q=0.5", "gzip")).isTrue();
+        assertThat(StaticAssetFilter.accepts(null, "gzip")).isFalse();
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        assertThat(chain.getRequest()).as("served by the filter").isNull();
+        return response;
+    }
+
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
+}
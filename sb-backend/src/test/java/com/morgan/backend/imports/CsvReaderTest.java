@@ -0,0 +1,55 @@
+package com.morgan.backend.imports;
+
+import com.morgan.backend.exceptions.BadRequestException.InvalidCsvException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void testNext_readsQuotedFieldsAndLineEndings() throws IOException {
+        // Given quotes holding a comma, a doubled quote and a line break, and CRLF line endings
+        CsvReader csv = new CsvReader(new StringReader(
+            "a,\"b, c\",\"\"\r\n"
+                + "\"say \"\"hi\"\"\",\"two\nlines\",\n"
+                + "last"));
+
+        // When/Then each record comes with the line it starts on
+        assertThat(csv.next()).containsExactly("a", "b, c", "");
+        assertThat(csv.recordLine()).isEqualTo(1);
+        assertThat(csv.next()).containsExactly("say \"hi\"", "two\nlines", "");
+        assertThat(csv.recordLine()).isEqualTo(2);
+        assertThat(csv.next()).containsExactly("last");
+        assertThat(csv.recordLine()).isEqualTo(4);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void testNext_rejectsAnUnterminatedQuote() throws IOException {
+        // Given
+        CsvReader csv = new CsvReader(new StringReader("ok\n\"never closed,x\ny\n"));
+        assertThat(csv.next()).isEqualTo(List.of("ok"));
+
+        // When/Then
+        assertThatThrownBy(csv::next)
+            .isInstanceOf(InvalidCsvException.class)
+            .hasMessageContaining("line [=2]");
+    }
+
+    @Test
+    void testNext_boundsTheFieldLength() {
+        // Given a stray quote that would swallow the rest of a large file
+        CsvReader csv = new CsvReader(new StringReader("\"" + "x".repeat(CsvReader.MAX_FIELD_LENGTH + 1)));
+
+        // When/Then
+        assertThatThrownBy(csv::next)
+            .isInstanceOf(InvalidCsvException.class)
+            .hasMessageContaining("field longer than");
+    }
+}
@@ -0,0 +1,110 @@
+package com.morgan.backend.imports;
+
+import com.morgan.backend.exceptions.BadRequestException.InvalidCsvException;
+import com.morgan.backend.imports.EmployeeCsvImporter.ImportResult;
+import com.morgan.backend.imports.EmployeeCsvImporter.RejectedRow;
+import com.morgan.backend.mappers.EmployeeMapper;
+import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.services.EmployeeRoleStats.RoleStat;
+import com.morgan.backend.services.EmployeeService;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class EmployeeCsvImportIT {
+
+    @Autowired
+    EmployeeLoader employeeLoader;
+
+    @Autowired
+    EmployeeMapper employeeMapper;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    EmployeeCsvImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        // chunks of 2 rows, and a single rejection reported, to go through several chunks with a small file
+        importer = new EmployeeCsvImporter(employeeLoader, employeeMapper, validator, transactionTemplate, employeeService, 2, 1);
+    }
+
+    @Test
+    void testImport_loadsTheValidRows_andReportsTheOthers() throws IOException {
+        // Given an export-like file: extra id column, columns in another order, a blank line and two invalid rows
+        long total = employeeRepository.count();
+        String csv = """
+            id,ROLE,firstName,lastName
+            7,Importer,Ivy,Csvson
+            8,Importer,,Csvson
+
+            9,Importer,"Ike, Jr",Csvson
+            10,Importer,Ida
+            11,Importer,Iris,"Csv""son"
+            """;
+
+        // When
+        ImportResult result = importer.importCsv(new StringReader(csv));
+
+        // Then the valid rows are imported under new ids, the invalid ones reported by line
+        assertThat(result.imported()).isEqualTo(3);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.complete()).isTrue();
+        assertThat(result.rejectedRows()).containsExactly(new RejectedRow(3, Map.of("firstName", "First name is required")));
+        assertThat(employeeRepository.count()).isEqualTo(total + 3);
+
+        // And the role stats and search index were refreshed
+        assertThat(employeeService.stats().roles()).contains(new RoleStat("Importer", 3));
+        assertThat(employeeService.search("ike csvson", 10)).singleElement()
+            .satisfies(employee -> assertThat(employee.getFirstName()).isEqualTo("Ike, Jr"));
+        assertThat(employeeService.search("iris", 10)).singleElement()
+            .satisfies(employee -> assertThat(employee.getLastName()).isEqualTo("Csv\"son"));
+    }
+
+    @Test
+    void testImport_keepsTheRowsBeforeAMalformedRecord() throws IOException {
+        // Given
+        long total = employeeRepository.count();
+        String csv = "firstName,lastName,role\nMal,Formed,Tester\n\"Mal,Formed,Tester\n";
+
+        // When
+        ImportResult result = importer.importCsv(new StringReader(csv));
+
+        // Then
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.complete()).isFalse();
+        assertThat(result.rejectedRows()).singleElement().extracting(RejectedRow::line).isEqualTo(3L);
+        assertThat(employeeRepository.count()).isEqualTo(total + 1);
+    }
+
+    @Test
+    void testImport_requiresTheColumns() {
+        // When/Then
+        assertThatThrownBy(() -> importer.importCsv(new StringReader("firstName,lastName\nNo,Role\n")))
+            .isInstanceOf(InvalidCsvException.class)
+            .hasMessageContaining("missing column role");
+    }
+}
@@ -0,0 +1,75 @@
+package com.morgan.backend.metrics;
+
+import com.morgan.backend.filters.RequestTimingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "app.metrics.server-timing=true",
+    "spring.datasource.url=jdbc:h2:mem:request_timing;DB_CLOSE_DELAY=-1", // its own database: this context is not shared
+    "app.cache.warm-up=false" // the first read must miss
+})
+@AutoConfigureMockMvc
+class RequestTimingIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void testPhases_areSentBack_andRecordedPerEndpointAndCacheOutcome() throws Exception {
+        // Given
+        MockHttpSession session = (MockHttpSession) mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"Morgan\",\"password\":\"pwd1\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getRequest().getSession();
+
+        // When/Then the first read misses the caches and queries the database
+        mockMvc.perform(get("/api/employees/{id}", 1L).session(session))
+            .andExpect(status().isOk())
+            .andExpect(header().string(RequestTimingFilter.SERVER_TIMING, allOf(
+                containsString("security;dur="),
+                containsString("cache;desc=\"miss\""),
+                containsString("db;dur="),
+                containsString("json;dur="),
+                containsString("total;dur="))));
+
+        // When/Then the second one is served from the cache
+        mockMvc.perform(get("/api/employees/{id}", 1L).session(session))
+            .andExpect(status().isOk())
+            .andExpect(header().string(RequestTimingFilter.SERVER_TIMING, allOf(
+                containsString("cache;desc=\"hit\""),
+                not(containsString("db;dur=")))));
+
+        // Then
+        assertThat(meterRegistry.get(RequestTimingFilter.METRIC)
+            .tags("uri", "/api/employees/{id}", "phase", "db", "cache", "miss")
+            .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(RequestTimingFilter.METRIC)
+            .tags("uri", "/api/employees/{id}", "phase", "total", "cache", "hit")
+            .timer().takeSnapshot().percentileValues())
+            .extracting(ValueAtPercentile::percentile)
+            .containsExactly(0.5, 0.99, 0.999);
+    }
+}
@@ -0,0 +1,64 @@
+package com.morgan.backend.metrics;
+
+import com.morgan.backend.metrics.RequestTimings.Phase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testDurations_splitTheHandlerTimeBetweenItsPhases() {
+        // Given a request through the security chain and a handler that read a cache and queried the DB
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestTimings timings = RequestTimings.start(request);
+        timings.securityStarted();
+        timings.securityEnded();
+        timings.handlerStarted();
+        timings.add(Phase.DB, 2_000_000);
+        timings.cacheAccessed(true);
+        timings.cacheAccessed(false);
+        timings.handlerEnded();
+
+        // When
+        Map<Phase, Long> durations = timings.durations();
+
+        // Then
+        assertThat(durations).containsKeys(Phase.FILTERS, Phase.SECURITY, Phase.DB, Phase.APP, Phase.TOTAL)
+            .doesNotContainKeys(Phase.CACHE, Phase.MAPPING, Phase.JSON);
+        assertThat(durations.get(Phase.DB)).isEqualTo(2_000_000);
+        assertThat(durations.get(Phase.APP)).isZero(); // the handler took less than the DB time added by hand
+        assertThat(timings.cacheOutcome()).isEqualTo("miss");
+        assertThat(RequestTimings.of(request)).isSameAs(timings);
+    }
+
+    @Test
+    void testTime_addsToTheRequestOfTheCurrentThread() {
+        // Given no request being served
+        assertThat(RequestTimings.time(Phase.MAPPING, () -> "mapped")).isEqualTo("mapped");
+
+        // Given a request being served
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestTimings timings = RequestTimings.start(request);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        timings.handlerStarted();
+
+        // When
+        RequestTimings.time(Phase.MAPPING, () -> "mapped");
+
+        // Then
+        assertThat(timings.durations()).containsKey(Phase.MAPPING);
+        assertThat(timings.cacheOutcome()).isEqualTo("none");
+    }
+}
@@ -0,0 +1,92 @@
+package com.morgan.backend.repositories;
+
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.repositories.EmployeeWrites.EmployeeWrite;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class EmployeeWritesIT {
+
+    // far above what the sequence hands out in the tests
+    private static final long UNKNOWN_ID = 990_001L;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Test
+    void testUpsertPatchAndDelete_returnTheRowsWritten() {
+        // Given the id the sequence would hand out next
+        long nextId = employeeRepository.findAll().stream().mapToLong(Employee::getId).max().orElse(0) + 1;
+
+        // When upserting it while unknown
+        EmployeeWrite created = employeeRepository.upsertById(employee(nextId, "Ada", "Lovelace", "Analyst"));
+
+        // Then it is inserted under an id of its own from the sequence, not under the one given
+        long id = created.employee().getId();
+        assertThat(id).isNotEqualTo(nextId);
+        assertThat(created.created()).isTrue();
+        assertThat(created.previousRole()).isNull();
+        assertThat(created.employee().getVersion()).isZero();
+        assertThat(employeeRepository.findById(id)).get().extracting(Employee::getFirstName).isEqualTo("Ada");
+        assertThat(employeeRepository.existsById(nextId)).isFalse();
+
+        // When creating employees the usual way afterwards
+        List<Employee> saved = employeeRepository.saveAllAndFlush(List.of(
+            new Employee("Grace", "Hopper", "Admiral"), new Employee("Alan", "Turing", "Mathematician")));
+
+        // Then their ids do not collide with it
+        assertThat(saved).extracting(Employee::getId).doesNotContain(id).doesNotHaveDuplicates();
+
+        // When upserting it again
+        EmployeeWrite replaced = employeeRepository.upsertById(employee(id, "Ada", "King", "Mathematician"));
+
+        // Then it is replaced, and the previous role is returned
+        assertThat(replaced.created()).isFalse();
+        assertThat(replaced.previousRole()).isEqualTo("Analyst");
+        assertThat(replaced.employee().getId()).isEqualTo(id);
+        assertThat(replaced.employee().getVersion()).isEqualTo(1);
+
+        // When patching its role only
+        Optional<EmployeeWrite> patched = employeeRepository.patchById(id, new Employee(null, null, "Countess"));
+
+        // Then the names are kept, and the result matches the row
+        assertThat(patched).get().extracting(EmployeeWrite::previousRole).isEqualTo("Mathematician");
+        Employee stored = employeeRepository.findById(id).orElseThrow();
+        assertThat(stored).isEqualTo(patched.get().employee());
+        assertThat(stored.getLastName()).isEqualTo("King");
+        assertThat(stored.getRole()).isEqualTo("Countess");
+        assertThat(stored.getVersion()).isEqualTo(2);
+
+        // When deleting it, twice
+        Optional<Employee> deleted = employeeRepository.deleteByIdReturning(id);
+        Optional<Employee> deletedAgain = employeeRepository.deleteByIdReturning(id);
+
+        // Then the first delete returns the row, the second finds nothing
+        assertThat(deleted).contains(stored);
+        assertThat(deletedAgain).isEmpty();
+        assertThat(employeeRepository.existsById(id)).isFalse();
+        employeeRepository.deleteAll(saved);
+    }
+
+    @Test
+    void testPatchUnknownId_writesNothing() {
+        // When/Then
+        assertThat(employeeRepository.patchById(UNKNOWN_ID, new Employee("Nobody", null, null))).isEmpty();
+        assertThat(employeeRepository.existsById(UNKNOWN_ID)).isFalse();
+    }
+
+    private static Employee employee(long id, String firstName, String lastName, String role) {
+        Employee employee = new Employee(firstName, lastName, role);
+        employee.setId(id);
+        return employee;
+    }
+}
@@ -0,0 +1,17 @@
+package com.morgan.backend.repositories;
+
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+// The same writes with the Postgres statements, on a throwaway database; skipped without Docker
+@ActiveProfiles({"test", "postgres"})
+@Testcontainers(disabledWithoutDocker = true)
+class EmployeeWritesPostgresIT extends EmployeeWritesIT {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:17-alpine");
+}
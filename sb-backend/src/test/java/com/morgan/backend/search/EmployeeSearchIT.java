@@ -0,0 +1,70 @@
+package com.morgan.backend.search;
+
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.services.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class EmployeeSearchIT {
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Test
+    void testIndex_isBuiltAtStartup_andFollowsTheWrites() {
+        // Given the employees preloaded by AppConfig.initDatabase
+        assertThat(employeeService.search("shirley senior", 10)).extracting(Employee::getFirstName).containsExactly("Morgan");
+
+        // When creating, replacing then deleting
+        Employee created = employeeService.create(new Employee("Zoé", "Zimmermann", "Data engineer"));
+        assertThat(employeeService.search("zoe zim", 10)).extracting(Employee::getId).containsExactly(created.getId());
+
+        employeeService.upsert(created.getId(), new Employee("Zoé", "Zimmermann", "Data scientist"));
+        assertThat(employeeService.search("zimmermann engineer", 10)).isEmpty();
+        assertThat(employeeService.search("zimmermann scientist", 10)).extracting(Employee::getId).containsExactly(created.getId());
+
+        employeeService.delete(created.getId());
+        assertThat(employeeService.search("zimmermann", 10)).isEmpty();
+    }
+
+    @Test
+    void testIndex_followsTheBulkWrites() {
+        // When
+        List<Long> ids = employeeService.createAll(List.of(
+                new Employee("Yann", "Yellowstone", "Ranger"),
+                new Employee("Yasmine", "Yellowstone", "Ranger")))
+            .stream().map(EmployeeService.BatchItemResult::id).toList();
+
+        // Then
+        assertThat(employeeService.search("yellowstone ranger", 10)).extracting(Employee::getId).containsExactlyInAnyOrderElementsOf(ids);
+
+        // When
+        employeeService.deleteAll(ids);
+
+        // Then
+        assertThat(employeeService.search("yellowstone", 10)).isEmpty();
+    }
+
+    @Test
+    void testDatabaseFallback_matchesTheStartOfEachField() {
+        // Given
+        DatabaseEmployeeSearch databaseSearch = new DatabaseEmployeeSearch(employeeRepository);
+
+        // When/Then
+        assertThat(databaseSearch.search("SHIR sen", 10)).extracting(Employee::getFirstName).containsExactly("Morgan");
+        assertThat(databaseSearch.search("backend", 10)).extracting(Employee::getLastName).contains("Martin");
+        assertThat(databaseSearch.search("developer", 10)).isEmpty(); // not at the start of a field
+    }
+}
@@ -0,0 +1,84 @@
+package com.morgan.backend.search;
+
+import com.morgan.backend.entities.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryEmployeeSearchTest {
+
+    InMemoryEmployeeSearch search;
+
+    @BeforeEach
+    void setUp() {
+        // Only the incremental writes are exercised here: no repository needed
+        search = new InMemoryEmployeeSearch(null, null, null);
+        search.saved(employee(1L, "Morgan", "SHIRLEY", "Senior fullstack developer"));
+        search.saved(employee(2L, "Alex", "Martin", "Backend developer"));
+        search.saved(employee(3L, "Émilie", "Morel", "Business analyst"));
+        search.saved(employee(4L, "Mor", "Dupont", "Project manager"));
+    }
+
+    @Test
+    void testSearch_ranksExactWordsBeforePrefixes() {
+        // When
+        List<Employee> found = search.search("mor", 10);
+
+        // Then "Mor" is an exact word, "Morel" and "Morgan" are prefixed (ties by last name)
+        assertThat(found).extracting(Employee::getId).containsExactly(4L, 3L, 1L);
+    }
+
+    @Test
+    void testSearch_requiresEveryTerm_ignoringCaseAndAccents() {
+        assertThat(search.search("EMILIE  morel", 10)).extracting(Employee::getId).containsExactly(3L);
+        assertThat(search.search("dev mar", 10)).extracting(Employee::getId).containsExactly(2L);
+        assertThat(search.search("dev nobody", 10)).isEmpty();
+        assertThat(search.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void testSearch_toleratesOneTypo_afterPrefixMatches() {
+        // When
+        List<Employee> found = search.search("shrley", 10);
+        List<Employee> typedSoFar = search.search("devl", 10); // a swap in "devel..."
+
+        // Then
+        assertThat(found).extracting(Employee::getId).containsExactly(1L);
+        assertThat(typedSoFar).extracting(Employee::getId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void testSearch_isLimited() {
+        assertThat(search.search("m", 2)).hasSize(2);
+    }
+
+    @Test
+    void testWrites_updateTheIndex() {
+        // When
+        search.saved(employee(2L, "Alex", "Martin", "Product owner"));
+        search.deleted(1L);
+
+        // Then
+        assertThat(search.search("developer", 10)).isEmpty();
+        assertThat(search.search("owner", 10)).extracting(Employee::getId).containsExactly(2L);
+    }
+
+    @Test
+    void testWithinOneEdit() {
+        assertThat(InMemoryEmployeeSearch.withinOneEdit("martin", "martin")).isTrue();
+        assertThat(InMemoryEmployeeSearch.withinOneEdit("martn", "martin")).isTrue(); // insertion
+        assertThat(InMemoryEmployeeSearch.withinOneEdit("marten", "martin")).isTrue(); // substitution
+        assertThat(InMemoryEmployeeSearch.withinOneEdit("mratin", "martin")).isTrue(); // swap
+        assertThat(InMemoryEmployeeSearch.withinOneEdit("mrtn", "martin")).isFalse();
+        assertThat(InMemoryEmployeeSearch.withinOneEdit("mratni", "martin")).isFalse();
+    }
+
+    private static Employee employee(Long id, String firstName, String lastName, String role) {
+        Employee employee = new Employee(firstName, lastName, role);
+        employee.setId(id);
+        return employee;
+    }
+}
@@ -0,0 +1,99 @@
+package com.morgan.backend.security;
+
+import com.morgan.backend.exceptions.ServiceUnavailableException.PasswordHashingSaturatedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    CountDownLatch release = new CountDownLatch(1);
+    BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void testMatches_runsOnThePool_andIsTimed() {
+        // Given
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(1), meterRegistry);
+        String hash = encoder.encode("pwd");
+
+        // When/Then
+        assertThat(encoder.matches("pwd", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("auth.password.queue.wait").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testFullQueue_rejectsAtOnce_andDefersUpgrades() throws InterruptedException {
+        // Given one thread busy hashing and one hash queued
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, Duration.ofSeconds(2), meterRegistry);
+        Thread.ofVirtual().start(() -> encoder.matches("pwd", "hash"));
+        waitUntil(() -> meterRegistry.get("auth.password.queue.wait").timer().count() == 1);
+        Thread.ofVirtual().start(() -> encoder.matches("pwd", "hash"));
+        waitUntil(() -> meterRegistry.get("auth.password.queue.size").gauge().value() == 1);
+
+        // When/Then
+        assertThatThrownBy(() -> encoder.matches("pwd", "hash"))
+            .isInstanceOf(PasswordHashingSaturatedException.class)
+            .extracting("retryAfter").isEqualTo(Duration.ofSeconds(2));
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+        assertThat(encoder.upgradeEncoding("hash")).isFalse(); // logins first
+
+        // When the storm is over
+        release.countDown();
+        waitUntil(() -> meterRegistry.get("auth.password.queue.size").gauge().value() == 0);
+
+        // Then
+        assertThat(encoder.upgradeEncoding("hash")).isTrue();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    // Blocks each hash until released; every stored hash is outdated
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    return release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return true;
+            }
+        };
+    }
+}
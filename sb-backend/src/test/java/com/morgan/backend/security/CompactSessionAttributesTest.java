@@ -0,0 +1,42 @@
+package com.morgan.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactSessionAttributesTest {
+
+    GenericConversionService conversionService = CompactSessionAttributes.conversionService(getClass().getClassLoader());
+
+    @Test
+    void testLoggedInContext_isWrittenAsUsernameAndEmail() {
+        // Given
+        var context = new SecurityContextImpl(new AccountPrincipal("Morgan", "morgan@email.com").toAuthentication());
+
+        // When
+        byte[] bytes = conversionService.convert(context, byte[].class);
+        Object restored = conversionService.convert(bytes, Object.class);
+
+        // Then
+        assertThat(bytes).hasSizeLessThan(32);
+        assertThat(restored).isInstanceOfSatisfying(SecurityContext.class, restoredContext -> {
+            assertThat(restoredContext.getAuthentication().isAuthenticated()).isTrue();
+            assertThat(((AccountPrincipal) restoredContext.getAuthentication().getPrincipal()).getEmail()).isEqualTo("morgan@email.com");
+        });
+    }
+
+    @Test
+    void testOtherAttributes_useJavaSerialization() {
+        // Given
+        List<String> attribute = new ArrayList<>(List.of("a", "b"));
+
+        // When/Then
+        assertThat(conversionService.convert(conversionService.convert(attribute, byte[].class), Object.class)).isEqualTo(attribute);
+    }
+}
@@ -0,0 +1,69 @@
+package com.morgan.backend.security;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "app.security.session.mode=cookie",
+    "app.security.session.cookie-secret=AAECAwQFBgcICQoLDA0ODxAREhMUFRYXGBkaGxwdHh8=",
+    "spring.datasource.url=jdbc:h2:mem:cookie_session;DB_CLOSE_DELAY=-1" // its own database: this context is not shared
+})
+@AutoConfigureMockMvc
+class CookieSessionModeIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void testLogin_isCarriedByTheCookieAlone_andCsrfStillApplies() throws Exception {
+        // When logging in
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"Morgan\",\"password\":\"pwd1\"}"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        // Then no server-side session exists, only the cookie
+        assertThat(login.getRequest().getSession(false)).isNull();
+        Cookie auth = login.getResponse().getCookie(EncryptedCookieSecurityContextRepository.COOKIE_NAME);
+        assertThat(auth).isNotNull();
+
+        // When/Then the cookie is enough to be recognized
+        mockMvc.perform(get("/api/auth/current-user").cookie(auth))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email").value("morgan@email.com"));
+
+        // When/Then writes still need the double-submitted CSRF token
+        String employee = "{\"firstName\":\"Cookie\",\"lastName\":\"Session\",\"role\":\"Tester\"}";
+        mockMvc.perform(post("/api/employees").cookie(auth).contentType(MediaType.APPLICATION_JSON).content(employee))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/employees")
+                .cookie(auth, new Cookie("XSRF-TOKEN", "token"))
+                .header("X-XSRF-TOKEN", "token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employee))
+            .andExpect(status().isCreated());
+
+        // When logging out
+        MvcResult logout = mockMvc.perform(post("/api/auth/logout").cookie(auth))
+            .andExpect(status().isNoContent())
+            .andReturn();
+
+        // Then the cookie is expired
+        assertThat(logout.getResponse().getCookie(EncryptedCookieSecurityContextRepository.COOKIE_NAME).getMaxAge()).isZero();
+    }
+}
@@ -0,0 +1,88 @@
+package com.morgan.backend.security;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EncryptedCookieSecurityContextRepositoryTest {
+
+    static final Instant NOW = Instant.parse("2026-01-05T08:00:00Z");
+
+    EncryptedCookieSecurityContextRepository repository = repository(new byte[32], NOW);
+
+    @Test
+    void testSavedContext_isLoadedBack() {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        repository.saveContext(new SecurityContextImpl(new AccountPrincipal("Morgan", "morgan@email.com").toAuthentication()),
+            new MockHttpServletRequest(), response);
+        SecurityContext loaded = load(repository, response.getCookie(EncryptedCookieSecurityContextRepository.COOKIE_NAME));
+
+        // Then
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).contains("HttpOnly", "Max-Age=28800");
+        assertThat(loaded.getAuthentication().isAuthenticated()).isTrue();
+        assertThat(loaded.getAuthentication().getPrincipal())
+            .isInstanceOfSatisfying(AccountPrincipal.class, principal -> {
+                assertThat(principal.getUsername()).isEqualTo("Morgan");
+                assertThat(principal.getEmail()).isEqualTo("morgan@email.com");
+            });
+    }
+
+    @Test
+    void testTamperedForeignOrExpiredCookies_areIgnored() {
+        // Given
+        String token = repository.encrypt(new AccountPrincipal("Morgan", "morgan@email.com"));
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+        bytes[bytes.length - 1] ^= 1; // the last base64 character may carry unused bits, so flip a decoded one
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        byte[] otherKey = new byte[32];
+        otherKey[0] = 1;
+
+        // When/Then
+        assertThat(repository.decrypt(token)).isNotNull();
+        assertThat(repository.decrypt(tampered)).isNull();
+        assertThat(repository.decrypt("not a token")).isNull();
+        assertThat(repository(otherKey, NOW).decrypt(token)).isNull();
+        assertThat(repository(new byte[32], NOW.plus(Duration.ofHours(8))).decrypt(token)).isNull();
+    }
+
+    @Test
+    void testSavingAnEmptyContext_expiresTheCookie() {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When logging out
+        repository.saveContext(new SecurityContextImpl(), new MockHttpServletRequest(), response);
+
+        // Then
+        assertThat(response.getCookie(EncryptedCookieSecurityContextRepository.COOKIE_NAME).getMaxAge()).isZero();
+    }
+
+    private static EncryptedCookieSecurityContextRepository repository(byte[] key, Instant now) {
+        return new EncryptedCookieSecurityContextRepository(new SecretKeySpec(key, "AES"), Duration.ofHours(8),
+            Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @SuppressWarnings("deprecation")
+    private static SecurityContext load(EncryptedCookieSecurityContextRepository repository, Cookie cookie) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(cookie);
+        return repository.loadContext(new HttpRequestResponseHolder(request, new MockHttpServletResponse()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.morgan.backend.security;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "app.security.session.mode=jdbc",
+    "spring.datasource.url=jdbc:h2:mem:jdbc_session;DB_CLOSE_DELAY=-1" // its own database: this context is not shared
+})
+@AutoConfigureMockMvc
+class JdbcSessionModeIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testSession_isStoredInTheDatabase_compactly() throws Exception {
+        // When logging in
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"Morgan\",\"password\":\"pwd1\"}"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        // Then the session is a row any node can read, holding the security context in a few bytes
+        Cookie session = login.getResponse().getCookie("JSESSIONID");
+        assertThat(session).isNotNull();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from SPRING_SESSION", Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select max(length(ATTRIBUTE_BYTES)) from SPRING_SESSION_ATTRIBUTES", Long.class))
+            .isLessThan(64);
+
+        // When/Then
+        mockMvc.perform(get("/api/auth/current-user").cookie(session))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.username").value("Morgan"));
+
+        // When logging out
+        mockMvc.perform(post("/api/auth/logout").cookie(session))
+            .andExpect(status().isNoContent());
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("select count(*) from SPRING_SESSION", Long.class)).isZero();
+        mockMvc.perform(get("/api/auth/current-user").cookie(session))
+            .andExpect(status().is4xxClientError());
+    }
+}
@@ -0,0 +1,89 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.services.EmployeeService.BatchItemResult;
+import com.morgan.backend.services.EmployeeService.BatchItemStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class EmployeeBatchIT {
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Test
+    void testCreateUpsertAndDeleteInChunks() {
+        // Given more employees than one chunk
+        int size = EmployeeService.BATCH_CHUNK_SIZE * 2 + 1;
+        List<Employee> newEmployees = IntStream.range(0, size)
+            .mapToObj(i -> new Employee("First" + i, "Last" + i, "Batch"))
+            .toList();
+
+        // When creating
+        List<BatchItemResult> created = employeeService.createAll(newEmployees);
+
+        // Then every item is created, in submission order
+        assertThat(created).hasSize(size).allMatch(result -> result.status() == BatchItemStatus.CREATED);
+        assertThat(created).extracting(BatchItemResult::index).containsExactlyElementsOf(IntStream.range(0, size).boxed().toList());
+        List<Long> ids = created.stream().map(BatchItemResult::id).toList();
+        assertThat(employeeRepository.findAllById(ids)).hasSize(size);
+
+        // When upserting one existing and one unknown employee
+        Employee renamed = new Employee("Renamed", "Last0", "Batch");
+        renamed.setId(ids.getFirst());
+        Employee unknown = new Employee("New", "Employee", "Batch");
+        unknown.setId(-1L);
+        List<BatchItemResult> upserted = employeeService.upsertAll(List.of(renamed, unknown));
+
+        // Then
+        assertThat(upserted).extracting(BatchItemResult::status).containsExactly(BatchItemStatus.UPDATED, BatchItemStatus.CREATED);
+        assertThat(employeeRepository.findById(ids.getFirst())).get()
+            .extracting(Employee::getFirstName, Employee::getVersion)
+            .containsExactly("Renamed", 1L); // the update bumped the version, hence the ETag
+        assertThat(upserted.get(1).id()).isPositive();
+
+        // When deleting all of them plus an unknown id
+        List<Long> toDelete = new ArrayList<>(ids);
+        toDelete.add(upserted.get(1).id());
+        toDelete.add(-1L);
+        List<BatchItemResult> deleted = employeeService.deleteAll(toDelete);
+
+        // Then
+        assertThat(deleted.subList(0, size + 1)).allMatch(result -> result.status() == BatchItemStatus.DELETED);
+        assertThat(deleted.getLast().status()).isEqualTo(BatchItemStatus.NOT_FOUND);
+        assertThat(employeeRepository.findAllById(ids)).isEmpty();
+    }
+
+    @Test
+    void testCreate_ignoresTheIdsGiven() {
+        // Given an existing employee
+        Employee existing = employeeRepository.save(new Employee("Existing", "Employee", "Batch"));
+        Employee withExistingId = new Employee("Other", "Employee", "Batch");
+        withExistingId.setId(existing.getId());
+
+        // When
+        List<BatchItemResult> created = employeeService.createAll(List.of(withExistingId));
+
+        // Then a new employee was created, next to the existing one
+        assertThat(created).extracting(BatchItemResult::status).containsExactly(BatchItemStatus.CREATED);
+        assertThat(created.getFirst().id()).isNotEqualTo(existing.getId());
+        assertThat(employeeRepository.findById(existing.getId())).get()
+            .extracting(Employee::getFirstName, Employee::getVersion)
+            .containsExactly("Existing", 0L);
+        employeeService.deleteAll(List.of(existing.getId(), created.getFirst().id()));
+    }
+}
@@ -0,0 +1,149 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.cache.CacheInvalidationBus;
+import com.morgan.backend.dtos.EmployeeDto;
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.mappers.EmployeeMapperImpl;
+import com.morgan.backend.services.EmployeeChangeFeed.Change;
+import com.morgan.backend.services.EmployeeChangeFeed.ChangeType;
+import com.morgan.backend.services.EmployeeChangeFeed.Subscription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class EmployeeChangeFeedTest {
+
+    EmployeeChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        // a ring of 4 events, 3 pending events per subscriber
+        feed = new EmployeeChangeFeed(new EmployeeMapperImpl(), 4, Duration.ofMillis(10), 3,
+            mock(CacheInvalidationBus.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testSubscribers_receiveTheWritesInOrder() throws InterruptedException {
+        // Given
+        Subscription subscription = feed.subscribe(null);
+
+        // When
+        feed.created(List.of(employee(1L, "Ada")));
+        feed.deleted(List.of(1L));
+
+        // Then
+        Change created = subscription.next();
+        assertThat(created.type()).isEqualTo(ChangeType.CREATED);
+        assertThat(created.data()).isEqualTo(new EmployeeDto(1L, "Ada", "Lovelace", "Analyst"));
+        Change deleted = subscription.next();
+        assertThat(deleted.type()).isEqualTo(ChangeType.DELETED);
+        assertThat(deleted.data()).isEqualTo(Map.of("id", 1L));
+        assertThat(subscription.next()).isNull(); // heartbeat
+    }
+
+    @Test
+    void testSubscribe_resumesAfterTheLastEventId_fromTheRing() throws InterruptedException {
+        // Given an event seen by a client before it disconnected, and two it missed
+        Subscription first = feed.subscribe(null);
+        feed.updated(List.of(employee(1L, "Ada")));
+        String lastEventId = first.next().id();
+        first.close();
+        feed.updated(List.of(employee(2L, "Alan")));
+        feed.updated(List.of(employee(3L, "Grace")));
+
+        // When it reconnects
+        Subscription resumed = feed.subscribe(lastEventId);
+
+        // Then it gets the two missed events, and only them
+        assertThat(drain(resumed)).extracting(change -> ((EmployeeDto) change.data()).firstName()).containsExactly("Alan", "Grace");
+    }
+
+    @Test
+    void testSubscribe_resetsWhenTheMissedEventsLeftTheRing() throws InterruptedException {
+        // Given
+        Subscription first = feed.subscribe(null);
+        feed.updated(List.of(employee(1L, "Ada")));
+        String lastEventId = first.next().id();
+        first.close();
+        for (long id = 2; id <= 6; id++) {
+            feed.updated(List.of(employee(id, "Next")));
+        }
+
+        // When/Then
+        assertThat(drain(feed.subscribe(lastEventId))).extracting(Change::type).containsExactly(ChangeType.RESET);
+        assertThat(drain(feed.subscribe("an-id-of-an-earlier-run"))).extracting(Change::type).containsExactly(ChangeType.RESET);
+    }
+
+    @Test
+    void testSlowSubscriber_isDropped_andKeepsWhatWasQueued() throws InterruptedException {
+        // Given
+        Subscription slow = feed.subscribe(null);
+
+        // When more events are published than its queue holds
+        for (long id = 1; id <= 4; id++) {
+            feed.updated(List.of(employee(id, "Next")));
+        }
+
+        // Then
+        assertThat(slow.isClosed()).isTrue();
+        assertThat(drain(slow)).hasSize(3);
+    }
+
+    @Test
+    void testWritesInATransaction_arePublishedAfterCommit() throws InterruptedException {
+        // Given
+        Subscription subscription = feed.subscribe(null);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            feed.deleted(List.of(1L));
+
+            // Then nothing before the commit
+            assertThat(subscription.next()).isNull();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(subscription.next()).extracting(Change::type).isEqualTo(ChangeType.DELETED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testWritesOfOtherNodes_arePublishedAsStaleIds() throws InterruptedException {
+        // Given
+        Subscription subscription = feed.subscribe(null);
+
+        // When
+        feed.invalidated(EmployeeService.CACHE_EMPLOYEES_BY_ID, List.of(7L, 8L));
+        feed.invalidated(EmployeeService.CACHE_EMPLOYEES_PAGES, List.of());
+        feed.invalidated(EmployeeService.CACHE_EMPLOYEES_BY_ID, List.of());
+
+        // Then
+        List<Change> changes = drain(subscription);
+        assertThat(changes).extracting(Change::type).containsExactly(ChangeType.STALE, ChangeType.RESET);
+        assertThat(changes.getFirst().data()).isEqualTo(Map.of("ids", List.of(7L, 8L)));
+    }
+
+    private static List<Change> drain(Subscription subscription) throws InterruptedException {
+        List<Change> changes = new ArrayList<>();
+        for (Change change = subscription.next(); change != null; change = subscription.next()) {
+            changes.add(change);
+        }
+        return changes;
+    }
+
+    private static Employee employee(Long id, String firstName) {
+        Employee employee = new Employee(firstName, "Lovelace", "Analyst");
+        employee.setId(id);
+        return employee;
+    }
+}
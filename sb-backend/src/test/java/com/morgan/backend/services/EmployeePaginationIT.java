@@ -0,0 +1,77 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.repositories.EmployeeRepository.EmployeeView;
+import com.morgan.backend.services.EmployeeService.EmployeePage;
+import com.morgan.backend.services.EmployeeService.PageQuery;
+import com.morgan.backend.services.EmployeeService.SortField;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class EmployeePaginationIT {
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    void testKeysetPagesCoverAllEmployeesInSortOrder() {
+        // Given the employees preloaded by AppConfig.initDatabase
+        List<Employee> expected = employeeRepository.findAll().stream()
+            .sorted(Comparator.comparing(Employee::getLastName).thenComparing(Employee::getId).reversed())
+            .toList();
+
+        // When walking the pages two by two
+        List<EmployeeView> walked = new ArrayList<>();
+        String after = null;
+        do {
+            EmployeePage page = employeeService.findPage(new PageQuery(SortField.LAST_NAME, Sort.Direction.DESC, after, 2));
+            assertThat(page.employees()).hasSizeLessThanOrEqualTo(2);
+            walked.addAll(page.employees());
+            after = page.nextCursor();
+        } while (after != null);
+
+        // Then
+        assertThat(walked).extracting(EmployeeView::id)
+            .containsExactlyElementsOf(expected.stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    void testViews_leaveThePersistenceContextEmpty() {
+        // When reading a page and an employee in one transaction
+        int managed = transactionTemplate.execute(status -> {
+            Window<EmployeeView> page = employeeRepository.findViewsBy(ScrollPosition.keyset(), Sort.by("id"), Limit.of(10));
+            employeeRepository.findViewById(page.getContent().getFirst().id());
+            return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        });
+
+        // Then no entity was hydrated
+        assertThat(managed).isZero();
+    }
+}
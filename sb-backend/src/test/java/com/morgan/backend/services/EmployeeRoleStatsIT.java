@@ -0,0 +1,109 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.services.EmployeeRoleStats.RoleStat;
+import com.morgan.backend.services.EmployeeRoleStats.RoleStats;
+import com.morgan.backend.services.EmployeeService.BatchItemResult;
+import com.morgan.backend.services.EmployeeService.EmployeePage;
+import com.morgan.backend.services.EmployeeService.PageQuery;
+import com.morgan.backend.services.EmployeeService.SortField;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class EmployeeRoleStatsIT {
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeRoleStats employeeRoleStats;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Test
+    void testCountersFollowEveryWrite() {
+        // Given the counters loaded at startup
+        employeeRoleStats.rebuild(); // other tests of this context may have written since
+        long total = employeeRepository.count();
+        assertThat(employeeService.stats().total()).isEqualTo(total);
+
+        // When creating, moving and deleting employees one by one
+        Employee first = employeeService.create(new Employee("Ada", "Stats", "Statistician"));
+        Employee second = employeeService.create(new Employee("Alan", "Stats", "Statistician"));
+        employeeService.upsert(second.getId(), new Employee("Alan", "Stats", "Statistician"));
+        employeeService.patch(second.getId(), new Employee(null, null, "Auditor"));
+        employeeService.delete(first.getId());
+
+        // Then
+        assertThat(countOf("Statistician")).isZero();
+        assertThat(countOf("Auditor")).isEqualTo(1);
+        assertThat(employeeService.stats().total()).isEqualTo(total + 1);
+
+        // When writing in bulk
+        List<BatchItemResult> created = employeeService.createAll(IntStream.range(0, EmployeeService.BATCH_CHUNK_SIZE + 1)
+            .mapToObj(i -> new Employee("First" + i, "Stats", "Statistician"))
+            .toList());
+        List<Long> ids = new ArrayList<>(created.stream().map(BatchItemResult::id).toList());
+        Employee promoted = new Employee("First0", "Stats", "Auditor");
+        promoted.setId(ids.getFirst());
+        employeeService.upsertAll(List.of(promoted));
+
+        // Then
+        assertThat(countOf("Statistician")).isEqualTo(EmployeeService.BATCH_CHUNK_SIZE);
+        assertThat(countOf("Auditor")).isEqualTo(2);
+
+        // When deleting them all
+        ids.add(second.getId());
+        employeeService.deleteAll(ids);
+
+        // Then the counters agree with a fresh GROUP BY
+        RoleStats counted = employeeService.stats();
+        employeeRoleStats.rebuild();
+        assertThat(counted).isEqualTo(employeeService.stats());
+        assertThat(counted.total()).isEqualTo(total);
+    }
+
+    @Test
+    void testKeysetPagesOfOneRole() {
+        // Given
+        List<Long> developers = employeeService.createAll(IntStream.range(0, 5)
+                .mapToObj(i -> new Employee("Dev" + i, "Paged", "Pager"))
+                .toList()).stream()
+            .map(BatchItemResult::id)
+            .toList();
+        employeeService.create(new Employee("Other", "Paged", "Not a pager"));
+
+        // When walking the pages two by two
+        List<Long> walked = new ArrayList<>();
+        String after = null;
+        do {
+            EmployeePage page = employeeService.findPage(new PageQuery(SortField.ID, Sort.Direction.ASC, "Pager", after, 2));
+            page.employees().forEach(employee -> walked.add(employee.id()));
+            after = page.nextCursor();
+        } while (after != null);
+
+        // Then
+        assertThat(walked).containsExactlyElementsOf(developers);
+    }
+
+    private long countOf(String role) {
+        return employeeService.stats().roles().stream()
+            .filter(stat -> stat.role().equals(role))
+            .mapToLong(RoleStat::count)
+            .findFirst()
+            .orElse(0);
+    }
+}
@@ -0,0 +1,94 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.cache.InJvmCacheInvalidationBus;
+import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.repositories.EmployeeRepository.RoleCount;
+import com.morgan.backend.services.EmployeeRoleStats.RoleStat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.morgan.backend.services.EmployeeService.CACHE_EMPLOYEES_BY_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeRoleStatsTest {
+
+    // Two "nodes" sharing one table and one in-JVM channel
+    EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    InJvmCacheInvalidationBus busA;
+    InJvmCacheInvalidationBus busB;
+    EmployeeRoleStats statsA;
+    EmployeeRoleStats statsB;
+
+    @BeforeEach
+    void setUp() {
+        when(employeeRepository.countByRole()).thenReturn(List.of(roleCount("Developer", 2)));
+        Set<InJvmCacheInvalidationBus> channel = ConcurrentHashMap.newKeySet();
+        busA = new InJvmCacheInvalidationBus(new ConcurrentMapCacheManager(CACHE_EMPLOYEES_BY_ID), channel);
+        busB = new InJvmCacheInvalidationBus(new ConcurrentMapCacheManager(CACHE_EMPLOYEES_BY_ID), channel);
+        statsA = new EmployeeRoleStats(employeeRepository, busA);
+        statsB = new EmployeeRoleStats(employeeRepository, busB);
+        statsA.rebuild();
+        statsB.rebuild();
+        clearInvocations(employeeRepository);
+    }
+
+    @Test
+    void testWritesOfAnotherNode_areCountedWithoutAGroupBy() {
+        // When node A writes
+        statsA.added("Tester");
+        statsA.changed("Developer", "Tester");
+        busA.evict(List.of(1L, 2L), CACHE_EMPLOYEES_BY_ID);
+
+        // Then node B follows
+        assertThat(statsB.stats()).isEqualTo(statsA.stats());
+        assertThat(statsB.stats().roles()).containsExactly(new RoleStat("Tester", 2), new RoleStat("Developer", 1));
+        verify(employeeRepository, never()).countByRole();
+    }
+
+    @Test
+    void testClearedCache_isRecounted() {
+        // Given
+        when(employeeRepository.countByRole()).thenReturn(List.of(roleCount("Developer", 5)));
+
+        // When
+        busA.clear(CACHE_EMPLOYEES_BY_ID);
+
+        // Then
+        assertThat(statsB.stats().roles()).containsExactly(new RoleStat("Developer", 5));
+    }
+
+    @Test
+    void testUnchangedRoles_areNotSent() {
+        // When
+        statsA.apply(Map.of("Developer", 0L));
+
+        // Then
+        assertThat(statsB.stats().roles()).containsExactly(new RoleStat("Developer", 2));
+        verify(employeeRepository, never()).countByRole();
+    }
+
+    private static RoleCount roleCount(String role, long count) {
+        return new RoleCount() {
+            @Override
+            public String getRole() {
+                return role;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -1,19 +1,46 @@
 package com.morgan.backend.services;
 
+import com.morgan.backend.cache.EmployeeJsonCache;
+import com.morgan.backend.encoding.ContentCoding;
+import com.morgan.backend.encoding.EncodedResponse;
+import com.morgan.backend.encoding.PayloadFormat;
+import com.morgan.backend.encoding.ResponseEncoder;
 import com.morgan.backend.entities.Employee;
 import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.repositories.EmployeeRepository.EmployeeView;
+import com.morgan.backend.repositories.EmployeeWrites.EmployeeWrite;
+import com.morgan.backend.services.EmployeeService.PageQuery;
+import com.morgan.backend.services.EmployeeService.SortField;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.morgan.backend.services.EmployeeService.CACHE_EMPLOYEES_BY_ID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -27,9 +54,19 @@ class EmployeeServiceIT {
     @MockitoBean
     EmployeeRepository employeeRepository;
 
+    @Autowired
+    EmployeeJsonCache employeeJsonCache;
+
+    @Autowired
+    ResponseEncoder responseEncoder;
+
+    @Autowired
+    CacheManager cacheManager;
+
     @BeforeEach
     void setUp() {
         clearInvocations(employeeRepository);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
     }
 
     @Test
@@ -41,18 +78,78 @@ class EmployeeServiceIT {
         john.setLastName("Doe");
         john.setRole("Dev");
 
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(john));
+        when(employeeRepository.findViewById(1L)).thenReturn(Optional.of(EmployeeView.of(john)));
 
         // When
         employeeService.findById(1L); // first call → DB hit
         employeeService.findById(1L); // second call → should be cache hit
 
         // Then
-        verify(employeeRepository, times(1)).findById(1L);
+        verify(employeeRepository, times(1)).findViewById(1L);
+    }
+
+    @Test
+    void testFindById_concurrentMissesLoadOnce() throws Exception {
+        // Given a slow load
+        var john = new Employee("John", "Doe", "Dev");
+        john.setId(1L);
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(employeeRepository.findViewById(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.of(EmployeeView.of(john));
+        });
+
+        // When 8 readers miss at once
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<EmployeeView>> found = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                found.add(readers.submit(() -> employeeService.findById(1L)));
+            }
+            loading.await();
+            Thread.sleep(100); // the other readers are waiting on the load
+            release.countDown();
+
+            // Then they all get the single load
+            for (Future<EmployeeView> employee : found) {
+                assertEquals(EmployeeView.of(john), employee.get());
+            }
+        }
+        verify(employeeRepository, times(1)).findViewById(1L);
     }
 
     @Test
-    void testFindAll_isCached_andEvictedOnCreate() {
+    @SuppressWarnings("unchecked")
+    void testFindById_isRefreshedInTheBackground() throws InterruptedException {
+        // Given a cached employee, since updated in the database
+        var john = new Employee("John", "Doe", "Dev");
+        john.setId(1L);
+        var johnny = new Employee("Johnny", "Doe", "Dev");
+        johnny.setId(1L);
+        when(employeeRepository.findViewById(1L)).thenReturn(Optional.of(EmployeeView.of(john)), Optional.of(EmployeeView.of(johnny)));
+        employeeService.findById(1L);
+
+        // When its refresh is due
+        var byId = (LoadingCache<Object, Object>) cacheManager.getCache(CACHE_EMPLOYEES_BY_ID).getNativeCache();
+        byId.refresh(1L).join();
+        // the reloaded value is installed just after the future completes
+        for (int i = 0; i < 100 && !EmployeeView.of(johnny).equals(byId.getIfPresent(1L)); i++) {
+            Thread.sleep(10);
+        }
+
+        // Then readers get the reloaded employee from the cache
+        assertEquals(EmployeeView.of(johnny), employeeService.findById(1L));
+        verify(employeeRepository, times(2)).findViewById(1L);
+
+        // And a page of a version retired by writes is dropped rather than reloaded
+        var query = new PageQuery(SortField.ID, Sort.Direction.ASC, null, 10);
+        assertNull(employeeService.reloadPage(employeeService.getPagesVersion() - 1, query));
+        verify(employeeRepository, never()).findViewsBy(any(), any(), any());
+    }
+
+    @Test
+    void testFindPage_isCached_andInvalidatedOnCreate() {
         // Given
         var john = new Employee();
         john.setId(1L);
@@ -60,7 +157,7 @@ class EmployeeServiceIT {
         john.setLastName("Doe");
         john.setRole("Dev");
 
-        var list1 = List.of(john);
+        var list1 = List.of(EmployeeView.of(john));
 
         var jane = new Employee();
         jane.setId(2L);
@@ -68,28 +165,103 @@ class EmployeeServiceIT {
         jane.setLastName("Doe");
         jane.setRole("Dev");
 
-        var list2 = List.of(john, jane);
+        var list2 = List.of(EmployeeView.of(john), EmployeeView.of(jane));
+
+        // First DB call returns [John], second DB call (after invalidation) returns [John, Jane]
+        when(employeeRepository.findViewsBy(any(), any(), any())).thenReturn(
+            Window.from(list1, ScrollPosition::offset),
+            Window.from(list2, ScrollPosition::offset));
 
-        // First DB call returns [John], second DB call (after eviction) returns [John, Jane]
-        when(employeeRepository.findAll()).thenReturn(list1, list2);
+        var query = new PageQuery(SortField.ID, Sort.Direction.ASC, null, 10);
 
         // When
-        var employees = employeeService.findAll(); // 1st → DB hit, caches [John]
-        assertEquals(list1, employees);
-        employees = employeeService.findAll(); // 2nd → cache hit, no DB call
-        assertEquals(list1, employees);
+        var page = employeeService.findPage(query); // 1st → DB hit, caches [John]
+        assertEquals(list1, page.employees());
+        page = employeeService.findPage(query); // 2nd → cache hit, no DB call
+        assertEquals(list1, page.employees());
 
-        verify(employeeRepository, times(1)).findAll();
+        verify(employeeRepository, times(1)).findViewsBy(any(), any(), any());
 
-        // create() should evict caches
+        // create() should invalidate the cached pages
         when(employeeRepository.save(any(Employee.class))).thenReturn(jane);
+        employeeService.create(new Employee("Jane", "Doe", "Dev"));
+
+        // After invalidation, findPage should hit DB again and return second value
+        page = employeeService.findPage(query);
+        assertEquals(list2, page.employees());
+
+        // Then
+        verify(employeeRepository, times(2)).findViewsBy(any(), any(), any());
+    }
+
+    @Test
+    void testCreate_writesThroughToByIdCache() {
+        // Given
+        var jane = new Employee("Jane", "Doe", "Dev");
+        var saved = new Employee("Jane", "Doe", "Dev");
+        saved.setId(2L);
+        when(employeeRepository.save(jane)).thenReturn(saved);
+
+        // When
         employeeService.create(jane);
+        var found = employeeService.findById(2L); // served from the entry written by create()
+
+        // Then
+        assertEquals(EmployeeView.of(saved), found);
+        verify(employeeRepository, never()).findViewById(2L);
+    }
+
+    @Test
+    void testDelete_evictsOnlyTheDeletedKey() {
+        // Given two cached employees
+        var john = new Employee("John", "Doe", "Dev");
+        john.setId(1L);
+        var jane = new Employee("Jane", "Doe", "Dev");
+        jane.setId(2L);
+        when(employeeRepository.findViewById(1L)).thenReturn(Optional.of(EmployeeView.of(john)));
+        when(employeeRepository.findViewById(2L)).thenReturn(Optional.of(EmployeeView.of(jane)));
+        when(employeeRepository.deleteByIdReturning(1L)).thenReturn(Optional.of(john));
+        employeeService.findById(1L);
+        employeeService.findById(2L);
 
-        // After eviction, findAll should hit DB again and return second value
-        employees = employeeService.findAll();
-        assertEquals(list2, employees);
+        // When
+        employeeService.delete(1L); // a single DELETE, nothing loaded
+        employeeService.findById(1L); // evicted → DB hit
+        employeeService.findById(2L); // still cached
+
+        // Then
+        verify(employeeRepository, times(2)).findViewById(1L);
+        verify(employeeRepository, times(1)).findViewById(2L);
+    }
+
+    @Test
+    void testEmployeeJson_isCached_andEvictedOnUpsert() {
+        // Given
+        var john = new Employee("John", "Doe", "Dev");
+        john.setId(1L);
+        when(employeeRepository.findViewById(1L)).thenReturn(Optional.of(EmployeeView.of(john)));
+
+        // When
+        EncodedResponse first = employeeJsonCache.employee(1L); // mapped once
+        EncodedResponse second = employeeJsonCache.employee(1L); // same response, no mapping
+        byte[] json = responseEncoder.encode(first, PayloadFormat.JSON, ContentCoding.IDENTITY).body(); // serialized once
 
         // Then
-        verify(employeeRepository, times(2)).findAll();
+        assertSame(first, second);
+        assertSame(json, responseEncoder.encode(second, PayloadFormat.JSON, ContentCoding.IDENTITY).body()); // same bytes
+        verify(employeeRepository, times(1)).findViewById(1L);
+
+        // When the employee is replaced
+        var johnny = new Employee("Johnny", "Doe", "Dev");
+        when(employeeRepository.upsertById(any(Employee.class)))
+            .thenAnswer(invocation -> new EmployeeWrite(invocation.getArgument(0), "Dev", false));
+        employeeService.upsert(1L, johnny);
+        EncodedResponse afterUpsert = employeeJsonCache.employee(1L);
+
+        // Then the stale JSON is gone and the new one is built from the written-through entity
+        assertNotSame(first, afterUpsert);
+        byte[] afterUpsertJson = responseEncoder.encode(afterUpsert, PayloadFormat.JSON, ContentCoding.IDENTITY).body();
+        assertTrue(new String(afterUpsertJson, StandardCharsets.UTF_8).contains("\"firstName\":\"Johnny\""));
+        verify(employeeRepository, times(1)).findViewById(1L); // the upsert does not load it either
     }
 }
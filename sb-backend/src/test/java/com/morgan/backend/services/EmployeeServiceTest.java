@@ -1,12 +1,20 @@
 package com.morgan.backend.services;
 
+import com.morgan.backend.cache.CacheInvalidationBus;
 import com.morgan.backend.entities.Employee;
 import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.search.EmployeeSearch;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.times;
@@ -19,6 +27,24 @@ class EmployeeServiceTest {
     @Mock
     EmployeeRepository employeeRepository;
 
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    CacheManager cacheManager;
+
+    @Mock
+    CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    EmployeeSearch employeeSearch;
+
+    @Mock
+    EmployeeRoleStats employeeRoleStats;
+
+    @Mock
+    EmployeeChangeFeed employeeChangeFeed;
+
     @InjectMocks
     EmployeeService employeeService;
 
@@ -27,8 +53,13 @@ class EmployeeServiceTest {
         // given
         Employee newEmployee = new Employee();
         newEmployee.setFirstName("Morgan");
+        newEmployee.setRole("Dev");
 
-        when(employeeRepository.save(newEmployee)).thenAnswer(invocation -> invocation.getArgument(0));
+        when(employeeRepository.save(newEmployee)).thenAnswer(invocation -> {
+            Employee saved = invocation.getArgument(0);
+            saved.setId(1L); // as the database would
+            return saved;
+        });
 
         // when
         Employee result = employeeService.create(newEmployee);
@@ -37,5 +68,46 @@ class EmployeeServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getFirstName()).isEqualTo(newEmployee.getFirstName());
         verify(employeeRepository, times(1)).save(newEmployee);
+        verify(employeeSearch, times(1)).saved(result);
+        verify(employeeRoleStats, times(1)).added("Dev");
+        verify(employeeChangeFeed, times(1)).created(List.of(result));
+    }
+
+    @Test
+    void testCreateEmployee_ignoresTheIdGiven() {
+        // given an employee carrying the id of another one
+        Employee newEmployee = new Employee("Morgan", "Shirley", "Dev");
+        newEmployee.setId(7L);
+        when(employeeRepository.save(newEmployee)).thenAnswer(invocation -> {
+            Employee saved = invocation.getArgument(0);
+            assertThat(saved.getId()).isNull(); // so save persists it rather than merging it over employee 7
+            saved.setId(8L);
+            return saved;
+        });
+
+        // when
+        Employee result = employeeService.create(newEmployee);
+
+        // then
+        assertThat(result.getId()).isEqualTo(8L);
+        verify(employeeRoleStats, times(1)).added("Dev");
+    }
+
+    @Test
+    void testStreamAll_detachesEachStreamedEmployee() {
+        // given
+        Employee john = new Employee("John", "Doe", "Dev");
+        Employee jane = new Employee("Jane", "Doe", "Dev");
+        when(employeeRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(john, jane));
+        List<Employee> received = new ArrayList<>();
+
+        // when
+        long count = employeeService.streamAll(received::add);
+
+        // then
+        assertThat(count).isEqualTo(2);
+        assertThat(received).containsExactly(john, jane);
+        verify(entityManager).detach(john);
+        verify(entityManager).detach(jane);
     }
 }
@@ -0,0 +1,196 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.exceptions.BadRequestException.InvalidSyncTokenException;
+import com.morgan.backend.repositories.EmployeeChangeTracking.ChangePosition;
+import com.morgan.backend.repositories.EmployeeRepository;
+import com.morgan.backend.repositories.EmployeeTombstoneRepository;
+import com.morgan.backend.services.EmployeeSync.SyncPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class EmployeeSyncIT {
+
+    @Autowired
+    EmployeeSync employeeSync;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeTombstoneRepository employeeTombstoneRepository;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ScheduledTaskHolder scheduledTaskHolder;
+
+    @Test
+    void testSyncReturnsTheChangesSinceTheToken() {
+        // Given a client up to date, then employees created, updated, patched and deleted by any write path
+        String token = caughtUpToken();
+        Employee kept = employeeService.create(new Employee("Sync", "Kept", "Syncer"));
+        Employee gone = employeeService.create(new Employee("Sync", "Gone", "Syncer"));
+        Employee renamed = new Employee("Synced", "Kept", "Syncer");
+        renamed.setId(kept.getId());
+        employeeService.upsert(kept.getId(), renamed);
+        employeeService.patch(kept.getId(), new Employee(null, null, "Architect"));
+        employeeService.delete(gone.getId());
+
+        // When
+        SyncPage page = employeeSync.changesSince(token, EmployeeSync.DEFAULT_SYNC_LIMIT);
+
+        // Then each employee comes once, as it is now
+        assertThat(page.full()).isFalse();
+        assertThat(page.hasMore()).isFalse();
+        assertThat(page.changed()).singleElement()
+            .extracting(Employee::getId, Employee::getFirstName, Employee::getRole)
+            .containsExactly(kept.getId(), "Synced", "Architect");
+        assertThat(page.deleted()).containsExactly(gone.getId());
+
+        // When syncing again with the new token
+        SyncPage next = employeeSync.changesSince(page.token(), EmployeeSync.DEFAULT_SYNC_LIMIT);
+
+        // Then nothing changed since
+        assertThat(next.changed()).isEmpty();
+        assertThat(next.deleted()).isEmpty();
+    }
+
+    @Test
+    void testSyncComesInPages() {
+        // Given
+        String token = caughtUpToken();
+        List<Long> ids = List.of(
+            employeeService.create(new Employee("Page", "One", "Syncer")).getId(),
+            employeeService.create(new Employee("Page", "Two", "Syncer")).getId(),
+            employeeService.create(new Employee("Page", "Three", "Syncer")).getId());
+
+        // When
+        SyncPage first = employeeSync.changesSince(token, 2);
+        SyncPage second = employeeSync.changesSince(first.token(), 2);
+
+        // Then
+        assertThat(first.hasMore()).isTrue();
+        assertThat(first.changed()).extracting(Employee::getId).containsExactlyElementsOf(ids.subList(0, 2));
+        assertThat(second.hasMore()).isFalse();
+        assertThat(second.changed()).extracting(Employee::getId).containsExactly(ids.get(2));
+    }
+
+    @Test
+    void testSync_neverSkipsAWriteInFlight() throws Exception {
+        // Given a write numbered, but not committed yet
+        String token = caughtUpToken();
+        CountDownLatch numbered = new CountDownLatch(1);
+        CompletableFuture<Long> inFlight = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Long id = employeeRepository.saveAndFlush(new Employee("In", "Flight", "Syncer")).getId();
+            numbered.countDown();
+            LockSupport.parkNanos(Duration.ofMillis(300).toNanos());
+            return id;
+        }));
+        numbered.await();
+
+        // When syncing meanwhile, then once it has committed
+        SyncPage during = employeeSync.changesSince(token, EmployeeSync.DEFAULT_SYNC_LIMIT);
+        long inFlightId = inFlight.get(5, TimeUnit.SECONDS);
+        SyncPage after = employeeSync.changesSince(during.token(), EmployeeSync.DEFAULT_SYNC_LIMIT);
+
+        // Then one of them has it: the first token did not move past it
+        assertThat(Stream.concat(during.changed().stream(), after.changed().stream()))
+            .extracting(Employee::getId)
+            .contains(inFlightId);
+    }
+
+    @Test
+    void testSyncIsFullWithoutTokenOrWithAnExpiredOne() {
+        // Given
+        Employee employee = employeeService.create(new Employee("Full", "Sync", "Syncer"));
+        String expired = new SyncToken(ChangePosition.START, Instant.now().minus(Duration.ofDays(365))).encode();
+
+        // When
+        SyncPage withoutToken = employeeSync.changesSince(null, EmployeeSync.MAX_SYNC_LIMIT);
+        SyncPage withExpiredToken = employeeSync.changesSince(expired, EmployeeSync.MAX_SYNC_LIMIT);
+
+        // Then
+        assertThat(withoutToken.full()).isTrue();
+        assertThat(withoutToken.deleted()).isEmpty();
+        assertThat(withExpiredToken.full()).isTrue();
+        assertThat(withoutToken.changed()).extracting(Employee::getId).contains(employee.getId());
+        assertThatThrownBy(() -> employeeSync.changesSince("not a token", 10))
+            .isInstanceOf(InvalidSyncTokenException.class);
+    }
+
+    @Test
+    void testTokenOfBeforeTheTransactionsWereRecorded_isStillValid() {
+        // Given a token without transaction, as handed out before, caught up to the last change
+        SyncToken caughtUp = SyncToken.decode(caughtUpToken());
+        String legacy = Base64.getUrlEncoder().withoutPadding().encodeToString(
+            (caughtUp.position().seq() + ":" + caughtUp.horizon().getEpochSecond()).getBytes(StandardCharsets.UTF_8));
+
+        // When
+        SyncPage page = employeeSync.changesSince(legacy, EmployeeSync.MAX_SYNC_LIMIT);
+
+        // Then it reads from the same change
+        assertThat(SyncToken.decode(legacy).position().seq()).isEqualTo(caughtUp.position().seq());
+        assertThat(page.full()).isFalse();
+    }
+
+    @Test
+    void testPrunerDeletesTheOldTombstones() {
+        // Given
+        Employee employee = employeeService.create(new Employee("Pruned", "Tombstone", "Syncer"));
+        employeeService.delete(employee.getId());
+        assertThat(employeeTombstoneRepository.existsById(employee.getId())).isTrue();
+        Clock dayAfter = Clock.offset(Clock.systemUTC(), Duration.ofDays(1));
+
+        // When
+        new EmployeeTombstonePruner(employeeTombstoneRepository, Duration.ofHours(1), Duration.ofHours(1), dayAfter).prune();
+
+        // Then
+        assertThat(employeeTombstoneRepository.existsById(employee.getId())).isFalse();
+    }
+
+    @Test
+    void testPrunerRunsOnTheTaskScheduler() {
+        // When/Then
+        assertThat(scheduledTaskHolder.getScheduledTasks())
+            .map(ScheduledTask::getTask)
+            .filteredOn(FixedDelayTask.class::isInstance)
+            .map(task -> ((FixedDelayTask) task).getIntervalDuration())
+            .contains(Duration.ofHours(1));
+    }
+
+    String caughtUpToken() {
+        SyncPage page = employeeSync.changesSince(null, EmployeeSync.MAX_SYNC_LIMIT);
+        while (page.hasMore()) {
+            page = employeeSync.changesSince(page.token(), EmployeeSync.MAX_SYNC_LIMIT);
+        }
+        return page.token();
+    }
+}
@@ -0,0 +1,68 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.entities.Employee;
+import com.morgan.backend.services.EmployeeSync.SyncPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+// The same syncs on a throwaway Postgres, where the changes record their transaction; skipped without Docker
+@ActiveProfiles({"test", "postgres"})
+@Testcontainers(disabledWithoutDocker = true)
+class EmployeeSyncPostgresIT extends EmployeeSyncIT {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:17-alpine");
+
+    private static final String INSERT = """
+        INSERT INTO employees (id, first_name, last_name, role, version)
+        VALUES (nextval('employees_seq'), 'In', 'Flight', 'Syncer', 0) RETURNING id
+        """;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Test
+    void testSync_neitherWaitsForNorSkipsTheWritesInFlight() throws Exception {
+        // Given a write still in flight, then one committed after it started
+        String token = caughtUpToken();
+        try (Connection inFlight = dataSource.getConnection()) {
+            inFlight.setAutoCommit(false);
+            long inFlightId;
+            try (PreparedStatement insert = inFlight.prepareStatement(INSERT); ResultSet id = insert.executeQuery()) {
+                id.next();
+                inFlightId = id.getLong(1);
+            }
+            Employee committed = employeeService.create(new Employee("Committed", "Meanwhile", "Syncer"));
+
+            // When syncing meanwhile
+            SyncPage during = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> employeeSync.changesSince(token, EmployeeSync.DEFAULT_SYNC_LIMIT));
+
+            // Then it does not wait for the write, and keeps both changes for later
+            assertThat(during.changed()).isEmpty();
+            assertThat(during.hasMore()).isFalse();
+
+            // When the write commits
+            inFlight.commit();
+            SyncPage after = employeeSync.changesSince(during.token(), EmployeeSync.DEFAULT_SYNC_LIMIT);
+
+            // Then the next sync has both
+            assertThat(after.changed()).extracting(Employee::getId).containsExactlyInAnyOrder(inFlightId, committed.getId());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.morgan.backend.services;
+
+import com.morgan.backend.entities.UserAccount;
+import com.morgan.backend.repositories.UserAccountRepository;
+import com.morgan.backend.security.AccountPrincipal;
+import com.morgan.backend.services.UserAccountService.Account;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class UserAccountServiceIT {
+
+    @Autowired
+    UserAccountService userAccountService;
+
+    @MockitoSpyBean
+    UserAccountRepository userAccountRepository;
+
+    @Autowired
+    AuthenticationManager authenticationManager;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(UserAccountService.CACHE_USERS_BY_USERNAME).clear();
+        clearInvocations(userAccountRepository);
+    }
+
+    @Test
+    void testLogin_loadsTheAccountOnce_andThePrincipalCarriesTheEmail() {
+        // When logging in twice (the users preloaded by AppConfig.initDatabase)
+        Authentication first = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("Morgan", "pwd1"));
+        Authentication second = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("Morgan", "pwd1"));
+
+        // Then
+        verify(userAccountRepository, times(1)).findByUsername("Morgan");
+        assertThat(second.getPrincipal()).isInstanceOf(AccountPrincipal.class);
+        assertThat(((AccountPrincipal) second.getPrincipal()).getEmail()).isEqualTo("morgan@email.com");
+        // the first login's erased password did not reach the cached account
+        assertThat(((AccountPrincipal) first.getPrincipal()).getPassword()).isNull();
+        assertThat(userAccountService.findByUsername("Morgan")).get().extracting(Account::passwordHash).isNotNull();
+    }
+
+    @Test
+    void testLogin_rehashesAWeakerPasswordHash() {
+        // Given an account hashed with a lower BCrypt strength than configured
+        userAccountService.save(new UserAccount("Weak", "weak@email.com", new BCryptPasswordEncoder(4).encode("pwd")));
+
+        // When
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("Weak", "pwd"));
+
+        // Then the stored hash was upgraded, and still matches
+        String upgraded = userAccountRepository.findByUsername("Weak").orElseThrow().getPasswordHash();
+        assertThat(upgraded).startsWith("$2a$10$");
+        assertThat(authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("Weak", "pwd")).isAuthenticated()).isTrue();
+    }
+
+    @Test
+    void testSave_evictsTheCachedAccount() {
+        // Given a cached account
+        Account created = userAccountService.save(new UserAccount("Cached", "cached@email.com", passwordEncoder.encode("pwd")));
+        userAccountService.findByUsername("Cached");
+        userAccountService.findByUsername("Cached");
+        verify(userAccountRepository, times(1)).findByUsername("Cached");
+
+        // When changing its email
+        UserAccount changed = new UserAccount("Cached", "changed@email.com", created.passwordHash());
+        changed.setId(created.id());
+        userAccountService.save(changed);
+
+        // Then the next lookup sees it
+        assertThat(userAccountService.findByUsername("Cached")).get().extracting(Account::email).isEqualTo("changed@email.com");
+        verify(userAccountRepository, times(2)).findByUsername("Cached");
+
+        // When deleting it
+        userAccountService.delete(created.id());
+
+        // Then
+        assertThat(userAccountService.findByUsername("Cached")).isEmpty();
+    }
+
+    @Test
+    void testRepositoryCalls_goThroughTheDatabaseBulkhead() {
+        // Given
+        Timer bulkheadWait = meterRegistry.get("db.bulkhead.wait").timer();
+        long waitsBefore = bulkheadWait.count();
+
+        // When
+        userAccountService.findByUsername("Mark");
+
+        // Then one permit was taken, and given back
+        assertThat(bulkheadWait.count()).isEqualTo(waitsBefore + 1);
+        assertThat(meterRegistry.get("db.bulkhead.active").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,100 @@
+console.log("employees bundle line 0");
+console.log("employees bundle line 1");
+console.log("employees bundle line 2");
+console.log("employees bundle line 3");
+console.log("employees bundle line 4");
+console.log("employees bundle line 5");
+console.log("employees bundle line 6");
+console.log("employees bundle line 7");
+console.log("employees bundle line 8");
+console.log("employees bundle line 9");
+console.log("employees bundle line 10");
+console.log("employees bundle line 11");
+console.log("employees bundle line 12");
+console.log("employees bundle line 13");
+console.log("employees bundle line 14");
+console.log("employees bundle line 15");
+console.log("employees bundle line 16");
+console.log("employees bundle line 17");
+console.log("employees bundle line 18");
+console.log("employees bundle line 19");
+console.log("employees bundle line 20");
+console.log("employees bundle line 21");
+console.log("employees bundle line 22");
+console.log("employees bundle line 23");
+console.log("employees bundle line 24");
+console.log("employees bundle line 25");
+console.log("employees bundle line 26");
+console.log("employees bundle line 27");
+console.log("employees bundle line 28");
+console.log("employees bundle line 29");
+console.log("employees bundle line 30");
+console.log("employees bundle line 31");
+console.log("employees bundle line 32");
+console.log("employees bundle line 33");
+console.log("employees bundle line 34");
+console.log("employees bundle line 35");
+console.log("employees bundle line 36");
+console.log("employees bundle line 37");
+console.log("employees bundle line 38");
+console.log("employees bundle line 39");
+console.log("employees bundle line 40");
+console.log("employees bundle line 41");
+console.log("employees bundle line 42");
+console.log("employees bundle line 43");
+console.log("employees bundle line 44");
+console.log("employees bundle line 45");
+console.log("employees bundle line 46");
+console.log("employees bundle line 47");
+console.log("employees bundle line 48");
+console.log("employees bundle line 49");
+console.log("employees bundle line 50");
+console.log("employees bundle line 51");
+console.log("employees bundle line 52");
+console.log("employees bundle line 53");
+console.log("employees bundle line 54");
+console.log("employees bundle line 55");
+console.log("employees bundle line 56");
+console.log("employees bundle line 57");
+console.log("employees bundle line 58");
+console.log("employees bundle line 59");
+console.log("employees bundle line 60");
+console.log("employees bundle line 61");
+console.log("employees bundle line 62");
+console.log("employees bundle line 63");
+console.log("employees bundle line 64");
+console.log("employees bundle line 65");
+console.log("employees bundle line 66");
+console.log("employees bundle line 67");
+console.log("employees bundle line 68");
+console.log("employees bundle line 69");
+console.log("employees bundle line 70");
+console.log("employees bundle line 71");
+console.log("employees bundle line 72");
+console.log("employees bundle line 73");
+console.log("employees bundle line 74");
+console.log("employees bundle line 75");
+console.log("employees bundle line 76");
+console.log("employees bundle line 77");
+console.log("employees bundle line 78");
+console.log("employees bundle line 79");
+console.log("employees bundle line 80");
+console.log("employees bundle line 81");
+console.log("employees bundle line 82");
+console.log("employees bundle line 83");
+console.log("employees bundle line 84");
+console.log("employees bundle line 85");
+console.log("employees bundle line 86");
+console.log("employees bundle line 87");
+console.log("employees bundle line 88");
+console.log("employees bundle line 89");
+console.log("employees bundle line 90");
+console.log("employees bundle line 91");
+console.log("employees bundle line 92");
+console.log("employees bundle line 93");
+console.log("employees bundle line 94");
+console.log("employees bundle line 95");
+console.log("employees bundle line 96");
+console.log("employees bundle line 97");
+console.log("employees bundle line 98");
+console.log("employees bundle line 99");